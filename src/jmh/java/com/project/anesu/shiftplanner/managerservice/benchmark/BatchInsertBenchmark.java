@@ -0,0 +1,117 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.project.anesu.shiftplanner.managerservice.ManagerServiceApplication;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmarks multi-row inserts through the repositories against the embedded H2 database. {@link
+ * #insertShiftRequests()} saves {@code rows} shift requests in one transaction, {@link
+ * #insertSchedules()} saves {@code rows} shift entries spread over schedules of five shifts each.
+ * The tables are emptied after every iteration so they do not grow across the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchInsertBenchmark {
+
+  private static final int SHIFTS_PER_SCHEDULE = 5;
+  private static final LocalDateTime FIRST_SHIFT = LocalDateTime.of(2026, 1, 5, 8, 0);
+
+  @Param({"100", "1000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private ShiftRequestRepository shiftRequestRepository;
+  private ScheduleRepository scheduleRepository;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(ManagerServiceApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--logging.level.root=WARN");
+    shiftRequestRepository = context.getBean(ShiftRequestRepository.class);
+    scheduleRepository = context.getBean(ScheduleRepository.class);
+  }
+
+  @TearDown(Level.Iteration)
+  public void emptyTables() {
+    scheduleRepository.deleteAll();
+    shiftRequestRepository.deleteAllInBatch();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<ShiftRequest> insertShiftRequests() {
+    List<ShiftRequest> shiftRequests = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      ShiftRequest shiftRequest = new ShiftRequest();
+      shiftRequest.setEmployeeId((long) i);
+      shiftRequest.setOfficeLocationId(1L);
+      shiftRequest.setShiftDate(FIRST_SHIFT.plusDays(i % 365));
+      shiftRequest.setShiftType(ShiftType.MORNING_SHIFT);
+      shiftRequest.setShiftLengthInHours(8L);
+      shiftRequest.setStatus(ShiftRequestStatus.PENDING);
+      shiftRequests.add(shiftRequest);
+    }
+    return shiftRequestRepository.saveAll(shiftRequests);
+  }
+
+  @Benchmark
+  public List<Schedule> insertSchedules() {
+    List<Schedule> schedules = new ArrayList<>(rows / SHIFTS_PER_SCHEDULE);
+    for (int i = 0; i < rows / SHIFTS_PER_SCHEDULE; i++) {
+      List<ShiftEntry> shifts = new ArrayList<>(SHIFTS_PER_SCHEDULE);
+      for (int day = 0; day < SHIFTS_PER_SCHEDULE; day++) {
+        shifts.add(
+            ShiftEntry.builder()
+                .shiftDate(FIRST_SHIFT.plusDays(day))
+                .shiftType(ShiftType.MORNING_SHIFT)
+                .workingHours(8L)
+                .build());
+      }
+      schedules.add(
+          Schedule.builder()
+              .employeeId((long) i)
+              .startDate(FIRST_SHIFT)
+              .endDate(FIRST_SHIFT.plusDays(SHIFTS_PER_SCHEDULE))
+              .totalWorkingHours(8L * SHIFTS_PER_SCHEDULE)
+              .shifts(shifts)
+              .build());
+    }
+    return scheduleRepository.saveAll(schedules);
+  }
+}
@@ -0,0 +1,103 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds deterministic test data for the benchmarks. Shifts are one per day and vacations two days
+ * long, one per week, so the generated data stays within every working hour and vacation limit.
+ */
+final class BenchmarkData {
+
+  static final LocalDateTime FIRST_DAY = LocalDateTime.of(2025, 1, 6, 7, 0);
+  static final long SHIFT_LENGTH_IN_HOURS = 4;
+  static final int VACATION_SPACING_IN_DAYS = 7;
+
+  private BenchmarkData() {}
+
+  /** Builds a schedule with the given number of shifts and one vacation per ten shifts. */
+  static Schedule schedule(Long employeeId, int shiftCount) {
+
+    List<ShiftEntry> shifts = new ArrayList<>(shiftCount);
+    for (int day = 0; day < shiftCount; day++) {
+      shifts.add(shiftEntry(FIRST_DAY.plusDays(day)));
+    }
+
+    List<VacationEntry> vacations = new ArrayList<>();
+    for (VacationRequest vacationRequest :
+        vacationRequests(employeeId, Math.max(1, shiftCount / 10), 0)) {
+      vacations.add(VacationEntry.fromApprovedVacationRequest(vacationRequest));
+    }
+
+    return Schedule.builder()
+        .employeeId(employeeId)
+        .startDate(FIRST_DAY)
+        .endDate(FIRST_DAY.plusDays(shiftCount))
+        .shifts(shifts)
+        .vacations(vacations)
+        .build();
+  }
+
+  static ShiftEntry shiftEntry(LocalDateTime shiftDate) {
+    return ShiftEntry.builder()
+        .shiftDate(shiftDate)
+        .shiftType(ShiftType.MORNING_SHIFT)
+        .workingHours(SHIFT_LENGTH_IN_HOURS)
+        .build();
+  }
+
+  static ShiftRequest pendingShiftRequest(Long id, Long employeeId, LocalDateTime shiftDate) {
+    ShiftRequest shiftRequest = new ShiftRequest();
+    shiftRequest.setId(id);
+    shiftRequest.setEmployeeId(employeeId);
+    shiftRequest.setShiftDate(shiftDate);
+    shiftRequest.setShiftLengthInHours(SHIFT_LENGTH_IN_HOURS);
+    shiftRequest.setShiftType(ShiftType.MORNING_SHIFT);
+    shiftRequest.setStatus(ShiftRequestStatus.PENDING);
+    return shiftRequest;
+  }
+
+  /**
+   * Builds approved vacation requests of an employee, starting on every seventh day, with IDs
+   * following {@code firstId}.
+   */
+  static List<VacationRequest> vacationRequests(Long employeeId, int count, long firstId) {
+
+    List<VacationRequest> vacationRequests = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      LocalDateTime startDate = FIRST_DAY.plusDays((long) index * VACATION_SPACING_IN_DAYS);
+      vacationRequests.add(
+          vacationRequest(
+              firstId + index,
+              employeeId,
+              startDate,
+              startDate.plusDays(1),
+              VacationRequestStatus.APPROVED));
+    }
+    return vacationRequests;
+  }
+
+  static VacationRequest vacationRequest(
+      Long id,
+      Long employeeId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      VacationRequestStatus status) {
+    VacationRequest vacationRequest = new VacationRequest();
+    vacationRequest.setId(id);
+    vacationRequest.setEmployeeId(employeeId);
+    vacationRequest.setStartDate(startDate);
+    vacationRequest.setEndDate(endDate);
+    vacationRequest.setStatus(status);
+    return vacationRequest;
+  }
+}
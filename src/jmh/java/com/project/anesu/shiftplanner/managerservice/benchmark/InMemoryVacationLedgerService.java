@@ -0,0 +1,75 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationLedger;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.model.VacationLedgerService;
+import com.project.anesu.shiftplanner.managerservice.service.util.VacationDayCalculator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link VacationLedgerService} stand-in keeping the ledger in a map instead of a table. It also
+ * keeps the recorded vacation requests, which a rebuild recomputes the ledger from.
+ */
+class InMemoryVacationLedgerService implements VacationLedgerService {
+
+  private final Map<EmployeeYear, Long> usedVacationDays = new HashMap<>();
+  private final List<VacationRequest> approvedVacationRequests = new ArrayList<>();
+
+  @Override
+  public long getUsedVacationDays(Long employeeId, int year) {
+    return usedVacationDays.getOrDefault(new EmployeeYear(employeeId, year), 0L);
+  }
+
+  @Override
+  public List<VacationLedger> getVacationLedgers(
+      Collection<Long> employeeIds, int firstYear, int lastYear) {
+
+    List<VacationLedger> vacationLedgers = new ArrayList<>();
+    usedVacationDays.forEach(
+        (employeeYear, days) -> {
+          if (employeeIds.contains(employeeYear.employeeId())
+              && employeeYear.year() >= firstYear
+              && employeeYear.year() <= lastYear) {
+            vacationLedgers.add(
+                VacationLedger.builder()
+                    .employeeId(employeeYear.employeeId())
+                    .ledgerYear(employeeYear.year())
+                    .usedVacationDays(days)
+                    .build());
+          }
+        });
+    return vacationLedgers;
+  }
+
+  @Override
+  public void recordApprovedVacationRequests(Collection<VacationRequest> approvedVacationRequests) {
+    this.approvedVacationRequests.addAll(approvedVacationRequests);
+    addUsedVacationDays(approvedVacationRequests);
+  }
+
+  @Override
+  public void rebuildVacationLedger() {
+    usedVacationDays.clear();
+    addUsedVacationDays(approvedVacationRequests);
+  }
+
+  private void addUsedVacationDays(Collection<VacationRequest> vacationRequests) {
+    for (VacationRequest vacationRequest : vacationRequests) {
+      for (int year = vacationRequest.getStartDate().getYear();
+          year <= vacationRequest.getEndDate().getYear();
+          year++) {
+        usedVacationDays.merge(
+            new EmployeeYear(vacationRequest.getEmployeeId(), year),
+            VacationDayCalculator.calculateDaysInYear(
+                vacationRequest.getStartDate(), vacationRequest.getEndDate(), year),
+            Long::sum);
+      }
+    }
+  }
+
+  private record EmployeeYear(Long employeeId, int year) {}
+}
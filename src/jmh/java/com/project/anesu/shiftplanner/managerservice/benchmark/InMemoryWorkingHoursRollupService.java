@@ -0,0 +1,91 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link WorkingHoursRollupService} stand-in keeping the rollup in a map instead of a table. It
+ * also keeps the recorded shifts of each employee, which a rebuild recomputes the rollup from.
+ */
+class InMemoryWorkingHoursRollupService implements WorkingHoursRollupService {
+
+  private final Map<RollupKey, Long> workingHours = new HashMap<>();
+  private final Map<Long, List<ShiftEntry>> shiftsByEmployee = new HashMap<>();
+
+  @Override
+  public long getDailyWorkingHours(Long employeeId, LocalDate day) {
+    return workingHours.getOrDefault(new RollupKey(employeeId, WorkingHoursPeriod.DAY, day), 0L);
+  }
+
+  @Override
+  public long getWeeklyWorkingHours(Long employeeId, LocalDate dayInWeek) {
+    return workingHours.getOrDefault(
+        new RollupKey(employeeId, WorkingHoursPeriod.WEEK, dayInWeek.with(DayOfWeek.MONDAY)), 0L);
+  }
+
+  @Override
+  public List<WorkingHoursRollup> getWorkingHoursRollups(
+      Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+
+    List<WorkingHoursRollup> rollups = new ArrayList<>();
+    workingHours.forEach(
+        (rollupKey, hours) -> {
+          if (employeeIds.contains(rollupKey.employeeId())
+              && !rollupKey.periodStart().isBefore(startDate)
+              && !rollupKey.periodStart().isAfter(endDate)) {
+            rollups.add(
+                WorkingHoursRollup.builder()
+                    .employeeId(rollupKey.employeeId())
+                    .period(rollupKey.period())
+                    .periodStart(rollupKey.periodStart())
+                    .workingHours(hours)
+                    .build());
+          }
+        });
+    return rollups;
+  }
+
+  @Override
+  public void recordShiftChanges(
+      Long employeeId, Collection<ShiftEntry> addedShifts, Collection<ShiftEntry> removedShifts) {
+    List<ShiftEntry> shifts = shiftsByEmployee.computeIfAbsent(employeeId, id -> new ArrayList<>());
+    shifts.addAll(addedShifts);
+    removedShifts.forEach(shifts::remove);
+    addedShifts.forEach(shift -> addWorkingHours(employeeId, shift, 1));
+    removedShifts.forEach(shift -> addWorkingHours(employeeId, shift, -1));
+  }
+
+  @Override
+  public void recordAddedShifts(Map<Long, ? extends Collection<ShiftEntry>> addedShiftsByEmployee) {
+    addedShiftsByEmployee.forEach(
+        (employeeId, addedShifts) -> recordShiftChanges(employeeId, addedShifts, List.of()));
+  }
+
+  @Override
+  public void rebuildWorkingHoursRollups() {
+    workingHours.clear();
+    shiftsByEmployee.forEach(
+        (employeeId, shifts) -> shifts.forEach(shift -> addWorkingHours(employeeId, shift, 1)));
+  }
+
+  private void addWorkingHours(Long employeeId, ShiftEntry shift, int sign) {
+    LocalDate day = shift.getShiftDate().toLocalDate();
+    long hours = sign * shift.getWorkingHours();
+    workingHours.merge(new RollupKey(employeeId, WorkingHoursPeriod.DAY, day), hours, Long::sum);
+    workingHours.merge(
+        new RollupKey(employeeId, WorkingHoursPeriod.WEEK, day.with(DayOfWeek.MONDAY)),
+        hours,
+        Long::sum);
+  }
+
+  private record RollupKey(Long employeeId, WorkingHoursPeriod period, LocalDate periodStart) {}
+}
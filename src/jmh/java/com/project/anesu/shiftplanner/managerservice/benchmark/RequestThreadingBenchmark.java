@@ -0,0 +1,157 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.anesu.shiftplanner.managerservice.ManagerServiceApplication;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of the running service with request handling on platform threads and on virtual
+ * threads. Each fork starts the application on a random port with {@code
+ * spring.threads.virtual.enabled} set from {@code virtualThreads}, and {@code 64} client threads
+ * (override with {@code -t}) call the endpoints over HTTP. Throughput mode reports requests per
+ * millisecond, sample time mode the p50 and p99 latencies.
+ *
+ * <p>{@link #approveShiftRequest()} creates a pending shift request for a new employee and approves
+ * it, so every call writes through the whole approval path. {@link #getTeamCalendar()} reads a
+ * quarter of a team calendar with {@code vacations} approved vacations in the office.
+ *
+ * <p>The embedded H2 database answers without network round trips, so JDBC blocks for much less
+ * time than it would against a database server, which understates the benefit of virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class RequestThreadingBenchmark {
+
+  private static final long OFFICE_LOCATION_ID = 1L;
+  private static final LocalDateTime CALENDAR_START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+  @Param({"false", "true"})
+  private boolean virtualThreads;
+
+  @Param({"1000"})
+  private int vacations;
+
+  private final AtomicLong nextEmployeeId = new AtomicLong(1_000_000);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private ConfigurableApplicationContext context;
+  private HttpClient httpClient;
+  private String baseUri;
+  private URI teamCalendarUri;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(ManagerServiceApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--logging.level.root=WARN");
+    baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    teamCalendarUri =
+        URI.create(
+            baseUri
+                + "/offices/"
+                + OFFICE_LOCATION_ID
+                + "/vacations?startDate="
+                + CALENDAR_START
+                + "&endDate="
+                + CALENDAR_START.plusMonths(3));
+    httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    List<VacationRequest> approvedVacations = new ArrayList<>();
+    for (int i = 0; i < vacations; i++) {
+      VacationRequest vacationRequest = new VacationRequest();
+      vacationRequest.setEmployeeId((long) i);
+      vacationRequest.setOfficeLocationId(OFFICE_LOCATION_ID);
+      vacationRequest.setStartDate(CALENDAR_START.plusDays(i % 365));
+      vacationRequest.setEndDate(CALENDAR_START.plusDays(i % 365 + 4));
+      vacationRequest.setStatus(VacationRequestStatus.APPROVED);
+      approvedVacations.add(vacationRequest);
+    }
+    context.getBean(VacationRequestRepository.class).saveAll(approvedVacations);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    httpClient.close();
+    context.close();
+  }
+
+  @Benchmark
+  public String approveShiftRequest() throws IOException, InterruptedException {
+    long employeeId = nextEmployeeId.getAndIncrement();
+    String shiftRequest =
+        """
+        {"officeLocationId": %d, "shiftDate": "%s", "shiftLengthInHours": 8, \
+        "shiftType": "MORNING_SHIFT"}"""
+            .formatted(OFFICE_LOCATION_ID, CALENDAR_START.plusHours(8));
+
+    JsonNode created =
+        objectMapper.readTree(
+            send(
+                HttpRequest.newBuilder(URI.create(baseUri + "/employees/" + employeeId + "/shifts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(shiftRequest))));
+
+    return send(
+        HttpRequest.newBuilder(
+                URI.create(
+                    baseUri
+                        + "/employees/"
+                        + employeeId
+                        + "/shifts/"
+                        + created.get("id").asLong()
+                        + "/approve"))
+            .PUT(HttpRequest.BodyPublishers.noBody()));
+  }
+
+  @Benchmark
+  public String getTeamCalendar() throws IOException, InterruptedException {
+    return send(HttpRequest.newBuilder(teamCalendarUri).GET());
+  }
+
+  private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+    HttpResponse<String> response =
+        httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(
+          request.build().uri() + " returned " + response.statusCode() + ": " + response.body());
+    }
+    return response.body();
+  }
+}
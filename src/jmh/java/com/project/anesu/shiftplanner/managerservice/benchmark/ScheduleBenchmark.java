@@ -0,0 +1,75 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.VacationInterval;
+import com.project.anesu.shiftplanner.managerservice.service.util.ScheduleValidator;
+import com.project.anesu.shiftplanner.managerservice.service.util.ValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks schedule validation and the schedule range helpers on schedules with {@code entries}
+ * daily shifts. The queried range covers the middle third of the schedule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScheduleBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  private int entries;
+
+  private Schedule schedule;
+  private ScheduleValidator scheduleValidator;
+  private LocalDateTime rangeStart;
+  private LocalDateTime rangeEnd;
+
+  @Setup
+  public void setUp() {
+    schedule = BenchmarkData.schedule(1L, entries);
+    scheduleValidator =
+        new ScheduleValidator(
+            new InMemoryWorkingHoursRollupService(),
+            new ValidationMetrics(new SimpleMeterRegistry()));
+    rangeStart = BenchmarkData.FIRST_DAY.plusDays(entries / 3);
+    rangeEnd = BenchmarkData.FIRST_DAY.plusDays(2L * entries / 3);
+  }
+
+  @Benchmark
+  public Schedule validateSchedule() {
+    scheduleValidator.validateSchedule(schedule);
+    return schedule;
+  }
+
+  @Benchmark
+  public List<LocalDateTime> getShiftsInRange() {
+    return schedule.getShiftsInRange(rangeStart, rangeEnd);
+  }
+
+  @Benchmark
+  public List<VacationInterval> getVacationsInRange() {
+    return schedule.getVacationsInRange(rangeStart, rangeEnd);
+  }
+
+  @Benchmark
+  public BitSet getVacationDayMask() {
+    return schedule.getVacationDayMask(rangeStart.toLocalDate(), rangeEnd.toLocalDate());
+  }
+}
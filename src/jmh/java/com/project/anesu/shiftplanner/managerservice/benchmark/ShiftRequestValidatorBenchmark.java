@@ -0,0 +1,87 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.service.util.ShiftRequestValidator;
+import com.project.anesu.shiftplanner.managerservice.service.util.ValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks shift request validation against {@code entries} already scheduled shifts, spread over
+ * employees with twenty shifts each. Every employee is scheduled on even days and requests a shift
+ * on each odd day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ShiftRequestValidatorBenchmark {
+
+  private static final int SHIFTS_PER_EMPLOYEE = 20;
+
+  @Param({"10", "100", "1000", "10000"})
+  private int entries;
+
+  private ShiftRequestValidator shiftRequestValidator;
+  private ShiftRequest pendingShiftRequest;
+  private List<ShiftRequest> pendingShiftRequests;
+  private List<WorkingHoursRollup> workingHoursRollups;
+
+  @Setup
+  public void setUp() {
+    InMemoryWorkingHoursRollupService workingHoursRollupService =
+        new InMemoryWorkingHoursRollupService();
+    pendingShiftRequests = new ArrayList<>(entries);
+
+    long employeeCount = Math.max(1, entries / SHIFTS_PER_EMPLOYEE);
+    for (int index = 0; index < entries; index++) {
+      long employeeId = index % employeeCount + 1;
+      LocalDateTime scheduledDay = BenchmarkData.FIRST_DAY.plusDays(2L * (index / employeeCount));
+      ShiftEntry scheduledShift = BenchmarkData.shiftEntry(scheduledDay);
+      workingHoursRollupService.recordShiftChanges(employeeId, List.of(scheduledShift), List.of());
+      pendingShiftRequests.add(
+          BenchmarkData.pendingShiftRequest((long) index, employeeId, scheduledDay.plusDays(1)));
+    }
+
+    shiftRequestValidator =
+        new ShiftRequestValidator(
+            workingHoursRollupService, new ValidationMetrics(new SimpleMeterRegistry()));
+    pendingShiftRequest = pendingShiftRequests.get(pendingShiftRequests.size() / 2);
+    workingHoursRollups =
+        workingHoursRollupService.getWorkingHoursRollups(
+            Set.copyOf(pendingShiftRequests.stream().map(ShiftRequest::getEmployeeId).toList()),
+            BenchmarkData.FIRST_DAY.toLocalDate().minusDays(7),
+            BenchmarkData.FIRST_DAY.toLocalDate().plusDays(2L * entries + 7));
+  }
+
+  @Benchmark
+  public ShiftRequest validateShiftRequest() {
+    shiftRequestValidator.validateShiftRequest(pendingShiftRequest);
+    return pendingShiftRequest;
+  }
+
+  @Benchmark
+  public Map<Long, String> validateShiftRequests() {
+    return shiftRequestValidator.validateShiftRequests(pendingShiftRequests, workingHoursRollups);
+  }
+}
@@ -0,0 +1,118 @@
+package com.project.anesu.shiftplanner.managerservice.benchmark;
+
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationLedger;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.service.util.VacationIntervalIndex;
+import com.project.anesu.shiftplanner.managerservice.service.util.VacationRequestValidator;
+import com.project.anesu.shiftplanner.managerservice.service.util.ValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks vacation request validation against {@code entries} approved vacation requests, spread
+ * over employees with ten requests each. Every employee asks for one more vacation that fits
+ * between their approved ones. The overlap index is warmed up before measuring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VacationRequestValidatorBenchmark {
+
+  private static final int VACATION_REQUESTS_PER_EMPLOYEE = 10;
+
+  @Param({"10", "100", "1000", "10000"})
+  private int entries;
+
+  private VacationRequestValidator vacationRequestValidator;
+  private VacationRequest pendingVacationRequest;
+  private List<VacationRequest> pendingVacationRequests;
+  private List<VacationRequest> existingVacationRequests;
+  private List<VacationLedger> vacationLedgers;
+
+  @Setup
+  public void setUp() {
+    long employeeCount = Math.max(1, entries / VACATION_REQUESTS_PER_EMPLOYEE);
+    int requestsPerEmployee = (int) Math.max(1, entries / employeeCount);
+    existingVacationRequests = new ArrayList<>(entries);
+    pendingVacationRequests = new ArrayList<>();
+
+    for (long employeeId = 1; employeeId <= employeeCount; employeeId++) {
+      existingVacationRequests.addAll(
+          BenchmarkData.vacationRequests(
+              employeeId, requestsPerEmployee, employeeId * requestsPerEmployee));
+
+      LocalDateTime startDate =
+          BenchmarkData.FIRST_DAY.plusDays(
+              (long) (requestsPerEmployee / 2) * BenchmarkData.VACATION_SPACING_IN_DAYS + 3);
+      pendingVacationRequests.add(
+          BenchmarkData.vacationRequest(
+              -employeeId,
+              employeeId,
+              startDate,
+              startDate.plusDays(1),
+              VacationRequestStatus.PENDING));
+    }
+
+    InMemoryVacationLedgerService vacationLedgerService = new InMemoryVacationLedgerService();
+    vacationLedgerService.recordApprovedVacationRequests(existingVacationRequests);
+    vacationLedgers =
+        vacationLedgerService.getVacationLedgers(
+            Set.copyOf(
+                existingVacationRequests.stream().map(VacationRequest::getEmployeeId).toList()),
+            BenchmarkData.FIRST_DAY.getYear(),
+            BenchmarkData.FIRST_DAY.getYear() + 1);
+
+    // The pending requests are stored too, as the index reloads for requests it does not know.
+    Map<Long, List<VacationRequest>> storedVacationRequests =
+        Stream.concat(existingVacationRequests.stream(), pendingVacationRequests.stream())
+            .collect(Collectors.groupingBy(VacationRequest::getEmployeeId));
+    VacationIntervalIndex vacationIntervalIndex =
+        new VacationIntervalIndex(
+            employeeId -> storedVacationRequests.getOrDefault(employeeId, List.of()),
+            employeeCount,
+            Duration.ofDays(1));
+    vacationRequestValidator =
+        new VacationRequestValidator(
+            vacationIntervalIndex,
+            vacationLedgerService,
+            new ValidationMetrics(new SimpleMeterRegistry()));
+
+    pendingVacationRequest = pendingVacationRequests.get(pendingVacationRequests.size() / 2);
+    pendingVacationRequests.forEach(vacationRequestValidator::validateVacationRequest);
+  }
+
+  @Benchmark
+  public VacationRequest validateVacationRequest() {
+    vacationRequestValidator.validateVacationRequest(pendingVacationRequest);
+    return pendingVacationRequest;
+  }
+
+  @Benchmark
+  public Map<Long, String> validateVacationRequests() {
+    return vacationRequestValidator.validateVacationRequests(
+        pendingVacationRequests, existingVacationRequests, vacationLedgers);
+  }
+}
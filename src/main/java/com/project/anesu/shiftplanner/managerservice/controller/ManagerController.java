@@ -1,32 +1,84 @@
 package com.project.anesu.shiftplanner.managerservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.VacationInterval;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.dto.CacheRegionUsage;
+import com.project.anesu.shiftplanner.managerservice.model.dto.DecisionResult;
+import com.project.anesu.shiftplanner.managerservice.model.dto.KeysetPage;
+import com.project.anesu.shiftplanner.managerservice.model.dto.OptimisticRetryStatistics;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDemand;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDraft;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleImportResult;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleResponse;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleSyncStatus;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ShiftRequestSubmission;
+import com.project.anesu.shiftplanner.managerservice.model.dto.TeamCalendarEntry;
+import com.project.anesu.shiftplanner.managerservice.service.CacheStatisticsServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.RosterServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.ScheduleImportServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.ScheduleOutboxServiceImpl;
 import com.project.anesu.shiftplanner.managerservice.service.ScheduleServiceImpl;
 import com.project.anesu.shiftplanner.managerservice.service.ShiftRequestServiceImpl;
 import com.project.anesu.shiftplanner.managerservice.service.VacationRequestServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.util.ScheduleExportWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping
 @AllArgsConstructor
 public class ManagerController {
 
+  private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+  private static final MediaType TEXT_CALENDAR =
+      new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
   private final ScheduleServiceImpl scheduleService;
+  private final ScheduleImportServiceImpl scheduleImportService;
+  private final RosterServiceImpl rosterService;
   private final ShiftRequestServiceImpl shiftRequestService;
   private final VacationRequestServiceImpl vacationRequestService;
+  private final CacheStatisticsServiceImpl cacheStatisticsService;
+  private final ScheduleOutboxServiceImpl scheduleOutboxService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping(ManagerServiceRestEndpoints.CREATE_SCHEDULE)
-  public Schedule createSchedule(@RequestBody Schedule schedule) {
-    return scheduleService.createSchedule(schedule);
+  public ScheduleResponse createSchedule(@RequestBody Schedule schedule) {
+    return ScheduleResponse.from(scheduleService.createSchedule(schedule));
+  }
+
+  @PostMapping(value = ManagerServiceRestEndpoints.IMPORT_SCHEDULES, consumes = "text/csv")
+  public ScheduleImportResult importSchedulesFromCsv(InputStream csv) throws IOException {
+    return scheduleImportService.importCsv(csv);
+  }
+
+  @PostMapping(
+      value = ManagerServiceRestEndpoints.IMPORT_SCHEDULES,
+      consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ScheduleImportResult importSchedulesFromNdjson(InputStream ndjson) throws IOException {
+    return scheduleImportService.importNdjson(ndjson);
   }
 
   @PutMapping(ManagerServiceRestEndpoints.UPDATE_SCHEDULE)
@@ -42,12 +94,12 @@ public class ManagerController {
   }
 
   @GetMapping(ManagerServiceRestEndpoints.GET_SCHEDULE_BY_ID)
-  public Optional<Schedule> getScheduleById(@PathVariable Long scheduleId) {
+  public Optional<ScheduleResponse> getScheduleById(@PathVariable Long scheduleId) {
     return scheduleService.getScheduleById(scheduleId);
   }
 
   @GetMapping(ManagerServiceRestEndpoints.GET_SCHEDULES_IN_RANGE)
-  public Optional<List<Schedule>> getAllEmployeeSchedulesWithinGivenDateRange(
+  public List<ScheduleResponse> getAllEmployeeSchedulesWithinGivenDateRange(
       @PathVariable Long scheduleId,
       @RequestParam LocalDateTime startDate,
       @RequestParam LocalDateTime endDate) {
@@ -55,6 +107,15 @@ public class ManagerController {
         scheduleId, startDate, endDate);
   }
 
+  @GetMapping(ManagerServiceRestEndpoints.GET_SCHEDULED_VACATIONS_IN_RANGE)
+  public List<VacationInterval> getScheduledVacationsWithinGivenDateRange(
+      @PathVariable Long employeeId,
+      @RequestParam LocalDateTime startDate,
+      @RequestParam LocalDateTime endDate) {
+    return scheduleService.getScheduledVacationsWithinGivenDateRange(
+        employeeId, startDate, endDate);
+  }
+
   @DeleteMapping(ManagerServiceRestEndpoints.DELETE_SCHEDULE)
   public ResponseEntity<String> deleteSchedule(@PathVariable Long scheduleId) {
     scheduleService.deleteSchedule(scheduleId);
@@ -67,12 +128,23 @@ public class ManagerController {
     return shiftRequestService.sendShiftRequestToEmployee(employeeId, shiftRequest);
   }
 
+  @PostMapping(ManagerServiceRestEndpoints.SEND_SHIFT_REQUESTS)
+  public ShiftRequestSubmission sendShiftRequestsToEmployees(
+      @RequestBody List<ShiftRequest> shiftRequests) {
+    return shiftRequestService.sendShiftRequestsToEmployees(shiftRequests);
+  }
+
   @PutMapping(ManagerServiceRestEndpoints.APPROVE_SHIFT_REQUEST)
   public ShiftRequest approveShiftRequest(
       @PathVariable Long employeeId, @PathVariable Long shiftRequestId) {
     return shiftRequestService.approveShiftRequest(employeeId, shiftRequestId);
   }
 
+  @PostMapping(ManagerServiceRestEndpoints.APPROVE_SHIFT_REQUESTS)
+  public List<DecisionResult> approveShiftRequests(@RequestBody List<Long> shiftRequestIds) {
+    return shiftRequestService.approveShiftRequests(shiftRequestIds);
+  }
+
   @PutMapping(ManagerServiceRestEndpoints.DECLINE_SHIFT_REQUEST)
   public ShiftRequest declineShiftRequest(
       @PathVariable Long shiftRequestId, @RequestBody String rejectionReason) {
@@ -84,12 +156,30 @@ public class ManagerController {
     return shiftRequestService.getShiftRequestByEmployeeId(employeeId);
   }
 
+  @GetMapping(ManagerServiceRestEndpoints.GET_SHIFT_REQUEST_PAGE_BY_EMPLOYEE_ID)
+  public KeysetPage<ShiftRequest> getShiftRequestPageByEmployeeId(
+      @PathVariable Long employeeId,
+      @RequestParam(defaultValue = "100") int pageSize,
+      @RequestParam(required = false) String pageToken) {
+    return shiftRequestService.getShiftRequestPageByEmployeeId(employeeId, pageSize, pageToken);
+  }
+
   @GetMapping(ManagerServiceRestEndpoints.GET_SHIFT_REQUESTS_IN_RANGE)
   public List<ShiftRequest> getShiftRequestByDateRange(
       @RequestParam LocalDateTime startDate, @RequestParam LocalDateTime endDate) {
     return shiftRequestService.getShiftRequestByDateRange(startDate, endDate);
   }
 
+  @GetMapping(ManagerServiceRestEndpoints.GET_SHIFT_REQUEST_PAGE_IN_RANGE)
+  public KeysetPage<ShiftRequest> getShiftRequestPageByDateRange(
+      @RequestParam LocalDateTime startDate,
+      @RequestParam LocalDateTime endDate,
+      @RequestParam(defaultValue = "100") int pageSize,
+      @RequestParam(required = false) String pageToken) {
+    return shiftRequestService.getShiftRequestPageByDateRange(
+        startDate, endDate, pageSize, pageToken);
+  }
+
   @PutMapping(ManagerServiceRestEndpoints.APPROVE_VACATION_REQUEST)
   public VacationRequest approveVacationRequest(
       @PathVariable Long vacationRequestId, @RequestParam VacationRequestStatus status) {
@@ -102,11 +192,31 @@ public class ManagerController {
     return vacationRequestService.declineVacationRequest(vacationRequestId, rejectionReason);
   }
 
+  @PostMapping(ManagerServiceRestEndpoints.APPROVE_VACATION_REQUESTS)
+  public List<DecisionResult> approveVacationRequests(@RequestBody List<Long> vacationRequestIds) {
+    return vacationRequestService.approveVacationRequests(vacationRequestIds);
+  }
+
+  @PostMapping(ManagerServiceRestEndpoints.DECLINE_VACATION_REQUESTS)
+  public List<DecisionResult> declineVacationRequests(
+      @RequestBody List<Long> vacationRequestIds, @RequestParam String rejectionReason) {
+    return vacationRequestService.declineVacationRequests(vacationRequestIds, rejectionReason);
+  }
+
   @GetMapping(ManagerServiceRestEndpoints.GET_VACATIONS_BY_EMPLOYEE_ID)
   public List<VacationRequest> getVacationRequestsByEmployeeId(@PathVariable Long employeeId) {
     return vacationRequestService.getVacationRequestsByEmployeeId(employeeId);
   }
 
+  @GetMapping(ManagerServiceRestEndpoints.GET_VACATION_PAGE_BY_EMPLOYEE_ID)
+  public KeysetPage<VacationRequest> getVacationRequestPageByEmployeeId(
+      @PathVariable Long employeeId,
+      @RequestParam(defaultValue = "100") int pageSize,
+      @RequestParam(required = false) String pageToken) {
+    return vacationRequestService.getVacationRequestPageByEmployeeId(
+        employeeId, pageSize, pageToken);
+  }
+
   @GetMapping(ManagerServiceRestEndpoints.GET_EMPLOYEE_VACATIONS_IN_RANGE)
   public List<VacationRequest> getVacationByIdAndDateRange(
       @PathVariable Long employeeId,
@@ -116,10 +226,150 @@ public class ManagerController {
   }
 
   @GetMapping(ManagerServiceRestEndpoints.GET_TEAM_CALENDAR)
-  public List<VacationRequest> getTeamCalendar(
+  public List<TeamCalendarEntry> getTeamCalendar(
       @PathVariable Long officeLocationId,
       @RequestParam LocalDateTime startDate,
       @RequestParam LocalDateTime endDate) {
     return vacationRequestService.getTeamCalendar(officeLocationId, startDate, endDate);
   }
+
+  @GetMapping(
+      value = ManagerServiceRestEndpoints.STREAM_TEAM_CALENDAR,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamTeamCalendar(
+      @PathVariable Long officeLocationId,
+      @RequestParam LocalDateTime startDate,
+      @RequestParam LocalDateTime endDate) {
+    StreamingResponseBody teamCalendar =
+        outputStream ->
+            vacationRequestService.forEachTeamCalendarEntry(
+                officeLocationId,
+                startDate,
+                endDate,
+                teamCalendarEntry -> writeJsonLine(outputStream, teamCalendarEntry));
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(teamCalendar);
+  }
+
+  @GetMapping(ManagerServiceRestEndpoints.GET_AVAILABLE_EMPLOYEES)
+  public List<Long> getAvailableEmployees(
+      @PathVariable Long officeLocationId,
+      @RequestParam LocalDate date,
+      @RequestParam ShiftType shiftType) {
+    return scheduleService.getAvailableEmployees(officeLocationId, date, shiftType);
+  }
+
+  @PostMapping(ManagerServiceRestEndpoints.PROPOSE_ROSTER)
+  public RosterDraft proposeRoster(
+      @PathVariable Long officeLocationId,
+      @RequestParam LocalDate weekStart,
+      @RequestBody List<RosterDemand> demands) {
+    return rosterService.proposeRoster(officeLocationId, weekStart, demands);
+  }
+
+  @GetMapping(ManagerServiceRestEndpoints.EXPORT_SCHEDULES_CSV)
+  public ResponseEntity<StreamingResponseBody> exportSchedulesAsCsv(
+      @PathVariable Long officeLocationId,
+      @RequestParam LocalDateTime startDate,
+      @RequestParam LocalDateTime endDate,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    return exportSchedules(
+        officeLocationId,
+        startDate,
+        endDate,
+        acceptEncoding,
+        TEXT_CSV,
+        "schedules-" + officeLocationId + ".csv",
+        ScheduleExportWriter::csv);
+  }
+
+  @GetMapping(ManagerServiceRestEndpoints.EXPORT_SCHEDULES_ICALENDAR)
+  public ResponseEntity<StreamingResponseBody> exportSchedulesAsICalendar(
+      @PathVariable Long officeLocationId,
+      @RequestParam LocalDateTime startDate,
+      @RequestParam LocalDateTime endDate,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    return exportSchedules(
+        officeLocationId,
+        startDate,
+        endDate,
+        acceptEncoding,
+        TEXT_CALENDAR,
+        "schedules-" + officeLocationId + ".ics",
+        ScheduleExportWriter::iCalendar);
+  }
+
+  @GetMapping(ManagerServiceRestEndpoints.GET_CACHE_STATISTICS)
+  public List<CacheRegionUsage> getCacheStatistics() {
+    return cacheStatisticsService.getCacheRegionUsage();
+  }
+
+  @GetMapping(ManagerServiceRestEndpoints.GET_SCHEDULE_CONFLICT_STATISTICS)
+  public OptimisticRetryStatistics getScheduleConflictStatistics() {
+    return scheduleService.getOptimisticRetryStatistics();
+  }
+
+  @GetMapping(ManagerServiceRestEndpoints.GET_SCHEDULE_SYNC_STATUS)
+  public ScheduleSyncStatus getScheduleSyncStatus(@RequestParam(required = false) Long employeeId) {
+    return scheduleOutboxService.getSyncStatus(employeeId);
+  }
+
+  /**
+   * Streams an office's schedules in a file format. The body is compressed with gzip when the
+   * client accepts it, as it is written, so neither the plain nor the compressed file is buffered.
+   */
+  private ResponseEntity<StreamingResponseBody> exportSchedules(
+      Long officeLocationId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      String acceptEncoding,
+      MediaType contentType,
+      String filename,
+      Function<OutputStream, ScheduleExportWriter> format) {
+    boolean gzip = acceptsGzip(acceptEncoding);
+    StreamingResponseBody export =
+        outputStream -> {
+          OutputStream body = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+          try (ScheduleExportWriter writer = format.apply(body)) {
+            scheduleService.forEachScheduleExportEntry(
+                officeLocationId, startDate, endDate, writer::write);
+          }
+          if (body instanceof GZIPOutputStream gzipBody) {
+            gzipBody.finish();
+          }
+        };
+
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(export);
+  }
+
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parameters = coding.split(";");
+      if (parameters[0].strip().equalsIgnoreCase("gzip")) {
+        return parameters.length == 1 || !parameters[1].strip().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  private void writeJsonLine(OutputStream outputStream, Object value) {
+    try {
+      outputStream.write(objectMapper.writeValueAsBytes(value));
+      outputStream.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
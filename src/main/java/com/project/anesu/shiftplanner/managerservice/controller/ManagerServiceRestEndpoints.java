@@ -5,24 +5,46 @@ public class ManagerServiceRestEndpoints {
   public static final String LANDING_PAGE = "/api/manager";
 
   public static final String CREATE_SCHEDULE = "/schedules";
+  public static final String IMPORT_SCHEDULES = "/schedules/import";
   public static final String UPDATE_SCHEDULE = "/schedules/{scheduleId}";
   public static final String GET_SCHEDULE_BY_ID = "/schedules/{scheduleId}";
   public static final String GET_SCHEDULES_IN_RANGE = "/schedules/{scheduleId}/range";
   public static final String DELETE_SCHEDULE = "/schedules/{scheduleId}";
+  public static final String GET_SCHEDULED_VACATIONS_IN_RANGE =
+      "/employees/{employeeId}/schedules/vacations";
 
   public static final String CREATE_SHIFT_REQUEST = "/employees/{employeeId}/shifts";
   public static final String APPROVE_SHIFT_REQUEST =
       "/employees/{employeeId}/shifts/{shiftRequestId}/approve";
+  public static final String SEND_SHIFT_REQUESTS = "/shifts";
+  public static final String APPROVE_SHIFT_REQUESTS = "/shifts/approve";
   public static final String DECLINE_SHIFT_REQUEST = "/shifts/{shiftRequestId}/decline";
   public static final String GET_SHIFT_REQUEST_BY_EMPLOYEE_ID = "/employees/{employeeId}/shifts";
+  public static final String GET_SHIFT_REQUEST_PAGE_BY_EMPLOYEE_ID =
+      "/employees/{employeeId}/shifts/page";
   public static final String GET_SHIFT_REQUESTS_IN_RANGE = "/shifts/range";
+  public static final String GET_SHIFT_REQUEST_PAGE_IN_RANGE = "/shifts/range/page";
 
   public static final String APPROVE_VACATION_REQUEST = "/vacations/{vacationRequestId}/approve";
   public static final String DECLINE_VACATION_REQUEST = "/vacations/{vacationRequestId}/decline";
+  public static final String APPROVE_VACATION_REQUESTS = "/vacations/approve";
+  public static final String DECLINE_VACATION_REQUESTS = "/vacations/decline";
   public static final String GET_VACATIONS_BY_EMPLOYEE_ID = "/employees/{employeeId}/vacations";
+  public static final String GET_VACATION_PAGE_BY_EMPLOYEE_ID =
+      "/employees/{employeeId}/vacations/page";
   public static final String GET_EMPLOYEE_VACATIONS_IN_RANGE =
       "/employees/{employeeId}/vacations/range";
   public static final String GET_TEAM_CALENDAR = "/offices/{officeLocationId}/vacations";
+  public static final String STREAM_TEAM_CALENDAR = "/offices/{officeLocationId}/vacations/stream";
+  public static final String GET_AVAILABLE_EMPLOYEES = "/offices/{officeLocationId}/availability";
+  public static final String PROPOSE_ROSTER = "/offices/{officeLocationId}/roster";
+  public static final String EXPORT_SCHEDULES_CSV = "/offices/{officeLocationId}/schedules.csv";
+  public static final String EXPORT_SCHEDULES_ICALENDAR =
+      "/offices/{officeLocationId}/schedules.ics";
+
+  public static final String GET_CACHE_STATISTICS = "/cache/statistics";
+  public static final String GET_SCHEDULE_CONFLICT_STATISTICS = "/schedules/conflicts";
+  public static final String GET_SCHEDULE_SYNC_STATUS = "/schedules/sync-status";
 
   private ManagerServiceRestEndpoints() {}
 }
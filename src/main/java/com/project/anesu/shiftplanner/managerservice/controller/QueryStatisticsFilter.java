@@ -0,0 +1,76 @@
+package com.project.anesu.shiftplanner.managerservice.controller;
+
+import com.project.anesu.shiftplanner.managerservice.service.util.QueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the {@link QueryStatistics} of every HTTP request as metrics tagged with the method and
+ * the matched endpoint, and stores them in the request attribute {@link #QUERY_STATISTICS}.
+ *
+ * <p>Streaming responses write their body after the handler has returned, on another thread, so
+ * only the statements run before streaming starts are counted for them.
+ */
+@Component
+@AllArgsConstructor
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+
+  public static final String QUERY_STATISTICS = QueryStatistics.class.getName();
+
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+
+    QueryStatistics.Counts counts = QueryStatistics.start();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      QueryStatistics.stop();
+      request.setAttribute(QUERY_STATISTICS, counts);
+      record(request, counts);
+    }
+  }
+
+  private void record(HttpServletRequest request, QueryStatistics.Counts counts) {
+
+    Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    Tags tags =
+        Tags.of(
+            "method",
+            request.getMethod(),
+            "uri",
+            endpoint == null ? "UNKNOWN" : endpoint.toString());
+
+    DistributionSummary.builder("shiftplanner.request.statements")
+        .tags(tags)
+        .register(meterRegistry)
+        .record(counts.getStatements());
+    DistributionSummary.builder("shiftplanner.request.entity.loads")
+        .tags(tags)
+        .register(meterRegistry)
+        .record(counts.getEntityLoads());
+    DistributionSummary.builder("shiftplanner.request.collection.fetches")
+        .tags(tags)
+        .register(meterRegistry)
+        .record(counts.getCollectionFetches());
+    Timer.builder("shiftplanner.request.flush")
+        .tags(tags)
+        .register(meterRegistry)
+        .record(counts.getFlushNanos(), TimeUnit.NANOSECONDS);
+  }
+}
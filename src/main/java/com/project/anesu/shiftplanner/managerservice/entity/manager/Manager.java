@@ -14,7 +14,8 @@ import lombok.*;
 @AllArgsConstructor
 public class Manager {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "manager_seq")
+  @SequenceGenerator(name = "manager_seq", sequenceName = "manager_seq", allocationSize = 50)
   private Long id;
 
   private String firstName;
@@ -0,0 +1,4 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+/** An employee working at an office location, as seen on their shift or vacation requests. */
+public record OfficeMembership(Long officeLocationId, Long employeeId) {}
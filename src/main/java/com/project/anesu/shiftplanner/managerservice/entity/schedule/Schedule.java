@@ -1,14 +1,17 @@
 package com.project.anesu.shiftplanner.managerservice.entity.schedule;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationEntry;
 import jakarta.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
@@ -17,12 +20,16 @@ import lombok.*;
 @ToString
 @AllArgsConstructor
 @NoArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "schedule")
 public class Schedule {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_seq")
+  @SequenceGenerator(name = "schedule_seq", sequenceName = "schedule_seq", allocationSize = 50)
   private Long id;
 
+  @Version private Long version;
+
   private Long employeeId;
   private LocalDateTime startDate;
   private LocalDateTime endDate;
@@ -31,36 +38,88 @@ public class Schedule {
   private String rejectionReason;
 
   @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-  List<ShiftEntry> shifts;
+  @JoinColumn(name = "schedule_id")
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "schedule-shifts")
+  private List<ShiftEntry> shifts;
 
   @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
   @JoinColumn(name = "schedule_id")
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "schedule-vacations")
   private List<VacationEntry> vacations;
 
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @ToString.Exclude
+  private CachedTimeline cachedTimeline;
+
+  public void setShifts(List<ShiftEntry> shifts) {
+    this.shifts = shifts;
+    cachedTimeline = null;
+  }
+
+  public void setVacations(List<VacationEntry> vacations) {
+    this.vacations = vacations;
+    cachedTimeline = null;
+  }
+
+  /**
+   * Returns the timeline of the shifts and vacations, reusing the one built last as long as neither
+   * collection was replaced or had entries added or removed since. Entries edited in place are not
+   * noticed, so replace them instead.
+   *
+   * @return the {@link ScheduleTimeline} of this schedule
+   */
+  @JsonIgnore
+  public ScheduleTimeline getTimeline() {
+    CachedTimeline timeline = cachedTimeline;
+    if (timeline == null || !timeline.matches(shifts, vacations)) {
+      timeline = new CachedTimeline(shifts, vacations, ScheduleTimeline.of(this));
+      cachedTimeline = timeline;
+    }
+    return timeline.timeline();
+  }
+
   public List<LocalDateTime> getShiftsInRange(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
-    return shifts.stream()
-        .filter(
-            shift ->
-                !shift.getShiftDate().isBefore(rangeStart)
-                    && !shift.getShiftDate().isAfter(rangeEnd))
-        .map(ShiftEntry::getShiftDate)
-        .toList();
+    return getTimeline().getShiftDatesInRange(rangeStart, rangeEnd);
   }
 
-  public List<LocalDateTime> getVacationsInRange(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
-    return vacations.stream()
-        .filter(
-            vacation ->
-                vacation.getStartDate().isBefore(rangeEnd.plusDays(1))
-                    && vacation.getEndDate().isAfter(rangeStart.minusDays(1)))
-        .flatMap(
-            vacation -> {
-              LocalDateTime current = vacation.getStartDate();
-              LocalDateTime end = vacation.getEndDate().plusDays(1);
-              return Stream.iterate(current, date -> date.plusDays(1))
-                  .limit(ChronoUnit.DAYS.between(current, end))
-                  .filter(date -> !date.isBefore(rangeStart) && !date.isAfter(rangeEnd));
-            })
-        .collect(Collectors.toList());
+  public List<VacationInterval> getVacationsInRange(
+      LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    return getTimeline().getVacationsInRange(rangeStart, rangeEnd);
+  }
+
+  public Stream<LocalDate> getVacationDaysInRange(
+      LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    return getVacationsInRange(rangeStart, rangeEnd).stream().flatMap(VacationInterval::days);
+  }
+
+  public BitSet getVacationDayMask(LocalDate firstDay, LocalDate lastDay) {
+    return getTimeline().getVacationDayMask(firstDay, lastDay);
+  }
+
+  /** A timeline together with the collections it was built from and their sizes at the time. */
+  private record CachedTimeline(
+      List<ShiftEntry> shifts,
+      int shiftCount,
+      List<VacationEntry> vacations,
+      int vacationCount,
+      ScheduleTimeline timeline) {
+
+    CachedTimeline(
+        List<ShiftEntry> shifts, List<VacationEntry> vacations, ScheduleTimeline timeline) {
+      this(shifts, sizeOf(shifts), vacations, sizeOf(vacations), timeline);
+    }
+
+    boolean matches(List<ShiftEntry> currentShifts, List<VacationEntry> currentVacations) {
+      return shifts == currentShifts
+          && shiftCount == sizeOf(currentShifts)
+          && vacations == currentVacations
+          && vacationCount == sizeOf(currentVacations);
+    }
+
+    private static int sizeOf(List<?> entries) {
+      return entries == null ? 0 : entries.size();
+    }
   }
 }
@@ -0,0 +1,54 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * An approved shift or vacation request that still has to be added to the {@link Schedule} of its
+ * employee. Entries are written in the same transaction as the approval and deleted by the outbox
+ * worker in the transaction that applies them. An entry that fails to apply keeps a count of its
+ * failed attempts and the time it may be tried again.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "schedule_outbox")
+public class ScheduleOutboxEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_outbox_seq")
+  @SequenceGenerator(
+      name = "schedule_outbox_seq",
+      sequenceName = "schedule_outbox_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "request_type", nullable = false)
+  private ScheduleOutboxRequestType requestType;
+
+  @Column(name = "request_id", nullable = false)
+  private Long requestId;
+
+  @Column(name = "employee_id", nullable = false)
+  private Long employeeId;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  /**
+   * When the entry may be applied again after a failed attempt, {@code null} if it never failed.
+   */
+  @Column(name = "next_attempt_at")
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+}
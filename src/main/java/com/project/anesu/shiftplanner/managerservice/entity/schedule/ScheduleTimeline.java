@@ -0,0 +1,344 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationEntry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Compact, read-only view of the shifts and vacations of a {@link Schedule}, packed into primitive
+ * arrays sorted by start time. Range lookups use binary search and sums walk the arrays directly,
+ * so querying a timeline does not create any objects; only the methods returning {@link
+ * LocalDateTime}s allocate their result.
+ *
+ * <p>Times are stored as epoch seconds of the local date-time, so day and week boundaries are plain
+ * integer divisions. A timeline does not follow later changes to its schedule; {@link
+ * Schedule#getTimeline()} keeps one per schedule and builds a new one when the collections change.
+ */
+public final class ScheduleTimeline {
+
+  private static final long SECONDS_PER_DAY = 86_400;
+  private static final int DAYS_PER_WEEK = 7;
+  private static final int MONDAY_OFFSET_FROM_EPOCH = 3;
+  private static final int INDEX_BITS = 24;
+  private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+  private static final byte NO_SHIFT_TYPE = -1;
+
+  private final long[] shiftStarts;
+  private final int[] shiftWorkingHours;
+  private final byte[] shiftTypes;
+  private final LocalDateTime[] shiftDates;
+
+  private final long[] vacationStarts;
+  private final long[] vacationEnds;
+  private final long[] latestVacationEnds;
+  private final LocalDateTime[] vacationStartDates;
+  private final LocalDateTime[] vacationEndDates;
+
+  private ScheduleTimeline(List<ShiftEntry> shifts, List<VacationEntry> vacations) {
+
+    int shiftCount = shifts.size();
+    long[] sortedShifts = new long[shiftCount];
+    for (int index = 0; index < shiftCount; index++) {
+      sortedShifts[index] = toEpochSecond(shifts.get(index).getShiftDate());
+    }
+    sortByStart(sortedShifts);
+    shiftStarts = new long[shiftCount];
+    shiftWorkingHours = new int[shiftCount];
+    shiftTypes = new byte[shiftCount];
+    shiftDates = new LocalDateTime[shiftCount];
+    for (int position = 0; position < shiftCount; position++) {
+      ShiftEntry shift = shifts.get(indexOf(sortedShifts[position]));
+      shiftStarts[position] = toEpochSecond(shift.getShiftDate());
+      shiftWorkingHours[position] =
+          shift.getWorkingHours() == null ? 0 : Math.toIntExact(shift.getWorkingHours());
+      shiftTypes[position] =
+          shift.getShiftType() == null ? NO_SHIFT_TYPE : (byte) shift.getShiftType().ordinal();
+      shiftDates[position] = shift.getShiftDate();
+    }
+
+    int vacationCount = vacations.size();
+    long[] sortedVacations = new long[vacationCount];
+    for (int index = 0; index < vacationCount; index++) {
+      sortedVacations[index] = toEpochSecond(vacations.get(index).getStartDate());
+    }
+    sortByStart(sortedVacations);
+    vacationStarts = new long[vacationCount];
+    vacationEnds = new long[vacationCount];
+    latestVacationEnds = new long[vacationCount];
+    vacationStartDates = new LocalDateTime[vacationCount];
+    vacationEndDates = new LocalDateTime[vacationCount];
+    for (int position = 0; position < vacationCount; position++) {
+      VacationEntry vacation = vacations.get(indexOf(sortedVacations[position]));
+      vacationStarts[position] = toEpochSecond(vacation.getStartDate());
+      vacationEnds[position] = toEpochSecond(vacation.getEndDate());
+      latestVacationEnds[position] =
+          position == 0
+              ? vacationEnds[position]
+              : Math.max(latestVacationEnds[position - 1], vacationEnds[position]);
+      vacationStartDates[position] = vacation.getStartDate();
+      vacationEndDates[position] = vacation.getEndDate();
+    }
+  }
+
+  /**
+   * Builds the timeline of a schedule.
+   *
+   * @param schedule the {@link Schedule} to pack
+   * @return the timeline of the schedule's current shifts and vacations
+   */
+  public static ScheduleTimeline of(Schedule schedule) {
+    return new ScheduleTimeline(
+        schedule.getShifts() == null ? List.of() : schedule.getShifts(),
+        schedule.getVacations() == null ? List.of() : schedule.getVacations());
+  }
+
+  public int getShiftCount() {
+    return shiftStarts.length;
+  }
+
+  /**
+   * Counts the shifts starting within a range.
+   *
+   * @param rangeStart the start of the range, inclusive
+   * @param rangeEnd the end of the range, inclusive
+   * @return the number of shifts in the range
+   */
+  public int countShiftsInRange(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    return Math.max(
+        0,
+        firstShiftAtOrAfter(toEpochSecond(rangeEnd) + 1)
+            - firstShiftAtOrAfter(toEpochSecond(rangeStart)));
+  }
+
+  /**
+   * Lists the start dates of the shifts starting within a range, in chronological order.
+   *
+   * @param rangeStart the start of the range, inclusive
+   * @param rangeEnd the end of the range, inclusive
+   * @return the shift dates in the range
+   */
+  public List<LocalDateTime> getShiftDatesInRange(
+      LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    int from = firstShiftAtOrAfter(toEpochSecond(rangeStart));
+    int to = firstShiftAtOrAfter(toEpochSecond(rangeEnd) + 1);
+    return from >= to ? List.of() : List.of(Arrays.copyOfRange(shiftDates, from, to));
+  }
+
+  /**
+   * Counts the shifts of a type starting within a range.
+   *
+   * @param rangeStart the start of the range, inclusive
+   * @param rangeEnd the end of the range, inclusive
+   * @param shiftTypeOrdinal the ordinal of the {@link
+   *     com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType}
+   * @return the number of matching shifts in the range
+   */
+  public int countShiftsOfTypeInRange(
+      LocalDateTime rangeStart, LocalDateTime rangeEnd, int shiftTypeOrdinal) {
+    int count = 0;
+    int to = firstShiftAtOrAfter(toEpochSecond(rangeEnd) + 1);
+    for (int position = firstShiftAtOrAfter(toEpochSecond(rangeStart)); position < to; position++) {
+      if (shiftTypes[position] == shiftTypeOrdinal) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Sums the working hours of the shifts starting on a day.
+   *
+   * @param day the day
+   * @return the working hours of the day
+   */
+  public long getDailyWorkingHours(LocalDate day) {
+    long dayStart = day.toEpochDay() * SECONDS_PER_DAY;
+    return sumWorkingHours(dayStart, dayStart + SECONDS_PER_DAY);
+  }
+
+  /**
+   * Sums the working hours of the shifts starting in the ISO week (Monday to Sunday) of a day.
+   *
+   * @param dayInWeek any day of the week
+   * @return the working hours of the week
+   */
+  public long getWeeklyWorkingHours(LocalDate dayInWeek) {
+    long weekStart = weekOf(dayInWeek.toEpochDay()) * DAYS_PER_WEEK - MONDAY_OFFSET_FROM_EPOCH;
+    long weekStartSecond = weekStart * SECONDS_PER_DAY;
+    return sumWorkingHours(weekStartSecond, weekStartSecond + DAYS_PER_WEEK * SECONDS_PER_DAY);
+  }
+
+  /**
+   * Finds the longest single shift.
+   *
+   * @return the working hours of the longest shift, or {@code 0} if there are no shifts
+   */
+  public long getMaxShiftWorkingHours() {
+    long max = 0;
+    for (int workingHours : shiftWorkingHours) {
+      max = Math.max(max, workingHours);
+    }
+    return max;
+  }
+
+  /**
+   * Finds the ISO week with the most working hours in a single pass over the sorted shifts.
+   *
+   * @return the working hours of the busiest week, or {@code 0} if there are no shifts
+   */
+  public long getMaxWeeklyWorkingHours() {
+    long max = 0;
+    long currentWeek = Long.MIN_VALUE;
+    long currentWeekHours = 0;
+    for (int position = 0; position < shiftStarts.length; position++) {
+      long week = weekOf(Math.floorDiv(shiftStarts[position], SECONDS_PER_DAY));
+      if (week != currentWeek) {
+        currentWeek = week;
+        currentWeekHours = 0;
+      }
+      currentWeekHours += shiftWorkingHours[position];
+      max = Math.max(max, currentWeekHours);
+    }
+    return max;
+  }
+
+  /**
+   * Checks whether any vacation overlaps a range.
+   *
+   * @param rangeStart the start of the range, inclusive
+   * @param rangeEnd the end of the range, inclusive
+   * @return {@code true} if a vacation overlaps the range
+   */
+  public boolean overlapsVacation(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    int lastStartingBeforeEnd = firstVacationAtOrAfter(toEpochSecond(rangeEnd) + 1) - 1;
+    return lastStartingBeforeEnd >= 0
+        && latestVacationEnds[lastStartingBeforeEnd] >= toEpochSecond(rangeStart);
+  }
+
+  /**
+   * Lists the vacations overlapping a range, clipped to the range and ordered by start date.
+   *
+   * @param rangeStart the start of the range, inclusive
+   * @param rangeEnd the end of the range, inclusive
+   * @return the clipped vacations
+   */
+  public List<VacationInterval> getVacationsInRange(
+      LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    long rangeStartSecond = toEpochSecond(rangeStart);
+    int to = firstVacationAtOrAfter(toEpochSecond(rangeEnd) + 1);
+
+    List<VacationInterval> vacationIntervals = new ArrayList<>();
+    // Ends up to a position are capped by the running maximum, so no earlier vacation can overlap.
+    for (int position = lowerBound(latestVacationEnds, rangeStartSecond);
+        position < to;
+        position++) {
+      if (vacationEnds[position] >= rangeStartSecond) {
+        vacationIntervals.add(
+            new VacationInterval(
+                vacationStartDates[position].isBefore(rangeStart)
+                    ? rangeStart
+                    : vacationStartDates[position],
+                vacationEndDates[position].isAfter(rangeEnd)
+                    ? rangeEnd
+                    : vacationEndDates[position]));
+      }
+    }
+    return vacationIntervals;
+  }
+
+  /**
+   * Marks the vacation days between two days. Bit {@code i} of the result is set if the day {@code
+   * i} days after {@code firstDay} is touched by a vacation.
+   *
+   * @param firstDay the first day of the mask
+   * @param lastDay the last day of the mask, inclusive
+   * @return the vacation day mask
+   */
+  public BitSet getVacationDayMask(LocalDate firstDay, LocalDate lastDay) {
+    long firstEpochDay = firstDay.toEpochDay();
+    long lastBit = lastDay.toEpochDay() - firstEpochDay;
+
+    BitSet vacationDays = new BitSet((int) Math.max(0, lastBit + 1));
+    int to = firstVacationAtOrAfter((lastDay.toEpochDay() + 1) * SECONDS_PER_DAY);
+    for (int position = lowerBound(latestVacationEnds, firstEpochDay * SECONDS_PER_DAY);
+        position < to;
+        position++) {
+      long fromBit =
+          Math.max(0, Math.floorDiv(vacationStarts[position], SECONDS_PER_DAY) - firstEpochDay);
+      long toBit =
+          Math.min(lastBit, Math.floorDiv(vacationEnds[position], SECONDS_PER_DAY) - firstEpochDay);
+      if (fromBit <= toBit) {
+        vacationDays.set((int) fromBit, (int) toBit + 1);
+      }
+    }
+    return vacationDays;
+  }
+
+  private long sumWorkingHours(long fromSecond, long toSecondExclusive) {
+    long workingHours = 0;
+    int to = firstShiftAtOrAfter(toSecondExclusive);
+    for (int position = firstShiftAtOrAfter(fromSecond); position < to; position++) {
+      workingHours += shiftWorkingHours[position];
+    }
+    return workingHours;
+  }
+
+  private int firstShiftAtOrAfter(long epochSecond) {
+    return lowerBound(shiftStarts, epochSecond);
+  }
+
+  private int firstVacationAtOrAfter(long epochSecond) {
+    return lowerBound(vacationStarts, epochSecond);
+  }
+
+  private static int lowerBound(long[] sortedValues, long value) {
+    int low = 0;
+    int high = sortedValues.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sortedValues[middle] < value) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Sorts start times in place while remembering their original positions, by packing the position
+   * into the low bits of each value so a primitive sort can be used. Entries that are already in
+   * chronological order, the usual case, are not sorted again.
+   */
+  private static void sortByStart(long[] starts) {
+    if (starts.length > INDEX_MASK) {
+      throw new IllegalArgumentException("Too many entries for a schedule timeline.");
+    }
+    boolean sorted = true;
+    for (int index = 0; index < starts.length; index++) {
+      starts[index] = (starts[index] << INDEX_BITS) | index;
+      sorted &= index == 0 || starts[index - 1] <= starts[index];
+    }
+    if (!sorted) {
+      Arrays.sort(starts);
+    }
+  }
+
+  private static int indexOf(long packed) {
+    return (int) (packed & INDEX_MASK);
+  }
+
+  private static long weekOf(long epochDay) {
+    return Math.floorDiv(epochDay + MONDAY_OFFSET_FROM_EPOCH, DAYS_PER_WEEK);
+  }
+
+  private static long toEpochSecond(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,8 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import java.time.LocalDateTime;
+
+/** A shift of a {@link Schedule} together with the ID of the scheduled employee. */
+public record ScheduledShift(
+    Long employeeId, LocalDateTime shiftDate, ShiftType shiftType, Long workingHours) {}
@@ -0,0 +1,6 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+import java.time.LocalDateTime;
+
+/** A vacation of a {@link Schedule} together with the ID of the scheduled employee. */
+public record ScheduledVacation(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {}
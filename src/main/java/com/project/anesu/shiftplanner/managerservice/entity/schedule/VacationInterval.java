@@ -0,0 +1,23 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * A scheduled vacation, clipped to the range it was looked up for.
+ *
+ * @param startDate the start of the vacation within the range
+ * @param endDate the end of the vacation within the range
+ */
+public record VacationInterval(LocalDateTime startDate, LocalDateTime endDate) {
+
+  /**
+   * Lazily lists the calendar days of the interval, including both the start and the end day.
+   *
+   * @return the vacation days, in order
+   */
+  public Stream<LocalDate> days() {
+    return startDate.toLocalDate().datesUntil(endDate.toLocalDate().plusDays(1));
+  }
+}
@@ -0,0 +1,6 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+public enum WorkingHoursPeriod {
+  DAY,
+  WEEK;
+}
@@ -0,0 +1,39 @@
+package com.project.anesu.shiftplanner.managerservice.entity.schedule;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(
+    name = "working_hours_rollup",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "period", "period_start"}))
+public class WorkingHoursRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "working_hours_rollup_seq")
+  @SequenceGenerator(
+      name = "working_hours_rollup_seq",
+      sequenceName = "working_hours_rollup_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "employee_id", nullable = false)
+  private Long employeeId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "period", nullable = false)
+  private WorkingHoursPeriod period;
+
+  /** The day itself for {@link WorkingHoursPeriod#DAY}, the Monday of the ISO week otherwise. */
+  @Column(name = "period_start", nullable = false)
+  private LocalDate periodStart;
+
+  @Column(nullable = false)
+  private Long workingHours;
+}
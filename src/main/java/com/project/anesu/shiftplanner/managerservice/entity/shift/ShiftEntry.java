@@ -1,11 +1,16 @@
 package com.project.anesu.shiftplanner.managerservice.entity.shift;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import java.time.LocalDateTime;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
@@ -13,14 +18,22 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shift-entry")
 public class ShiftEntry {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_entry_seq")
+  @SequenceGenerator(
+      name = "shift_entry_seq",
+      sequenceName = "shift_entry_seq",
+      allocationSize = 50)
   private Long shiftId;
 
   private LocalDateTime shiftDate;
+
+  @Enumerated(EnumType.STRING)
   private ShiftType shiftType;
+
   private Long workingHours;
 
   public static ShiftEntry fromApprovedShiftEntry(ShiftRequest approvedShiftRequest) {
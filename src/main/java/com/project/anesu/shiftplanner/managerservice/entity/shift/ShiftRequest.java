@@ -14,10 +14,16 @@ import lombok.*;
 public class ShiftRequest {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_request_seq")
+  @SequenceGenerator(
+      name = "shift_request_seq",
+      sequenceName = "shift_request_seq",
+      allocationSize = 50)
   private Long id;
 
   private Long employeeId;
+
+  private Long officeLocationId;
   private LocalDateTime shiftDate;
 
   @Enumerated(EnumType.STRING)
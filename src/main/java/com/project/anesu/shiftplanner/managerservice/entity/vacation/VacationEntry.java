@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
@@ -11,10 +13,15 @@ import lombok.*;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vacation-entry")
 public class VacationEntry {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vacation_entry_seq")
+  @SequenceGenerator(
+      name = "vacation_entry_seq",
+      sequenceName = "vacation_entry_seq",
+      allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -27,6 +34,7 @@ public class VacationEntry {
 
   public static VacationEntry fromApprovedVacationRequest(VacationRequest vacationRequest) {
     return VacationEntry.builder()
+        .vacationRequest(vacationRequest)
         .startDate(vacationRequest.getStartDate())
         .endDate(vacationRequest.getEndDate())
         .vacationDuration(
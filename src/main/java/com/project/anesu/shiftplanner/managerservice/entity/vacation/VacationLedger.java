@@ -0,0 +1,33 @@
+package com.project.anesu.shiftplanner.managerservice.entity.vacation;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(
+    name = "vacation_ledger",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "ledger_year"}))
+public class VacationLedger {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vacation_ledger_seq")
+  @SequenceGenerator(
+      name = "vacation_ledger_seq",
+      sequenceName = "vacation_ledger_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "employee_id", nullable = false)
+  private Long employeeId;
+
+  @Column(name = "ledger_year", nullable = false)
+  private Integer ledgerYear;
+
+  @Column(nullable = false)
+  private Long usedVacationDays;
+}
@@ -1,5 +1,6 @@
 package com.project.anesu.shiftplanner.managerservice.entity.vacation;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.project.anesu.shiftplanner.managerservice.entity.manager.Manager;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -14,7 +15,11 @@ import lombok.*;
 public class VacationRequest {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vacation_request_seq")
+  @SequenceGenerator(
+      name = "vacation_request_seq",
+      sequenceName = "vacation_request_seq",
+      allocationSize = 50)
   private Long id;
 
   private Long employeeId;
@@ -28,7 +33,9 @@ public class VacationRequest {
 
   private String rejectionReason;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "manager_id")
+  @ToString.Exclude
+  @JsonIgnoreProperties({"hibernateLazyInitializer", "vacationRequests"})
   private Manager manager;
 }
@@ -0,0 +1,15 @@
+package com.project.anesu.shiftplanner.managerservice.model;
+
+import com.project.anesu.shiftplanner.managerservice.model.dto.CacheRegionUsage;
+import java.util.List;
+
+/** Service interface for inspecting the Hibernate second-level cache, used to size its regions. */
+public interface CacheStatisticsService {
+
+  /**
+   * Retrieves the usage of every entity and collection region of the second-level cache.
+   *
+   * @return the {@link CacheRegionUsage} per region, ordered by region name
+   */
+  List<CacheRegionUsage> getCacheRegionUsage();
+}
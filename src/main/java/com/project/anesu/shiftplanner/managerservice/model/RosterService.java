@@ -0,0 +1,35 @@
+package com.project.anesu.shiftplanner.managerservice.model;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDemand;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDraft;
+import com.project.anesu.shiftplanner.managerservice.service.exception.ShiftValidationException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for proposing the {@link ShiftRequest}s that staff an office for a week. The
+ * proposal respects the working hour limits enforced when shift requests are sent and schedules are
+ * created, the shifts the employees already have, and their approved vacations.
+ *
+ * <p>The candidates come from the in-memory office availability index rather than the database. The
+ * index learns about approvals once they commit in this instance, and about anything else only when
+ * it is next rebuilt, so a proposal can still offer an employee whose shift or vacation was
+ * approved elsewhere in the meantime. Sending the draft validates every shift request again.
+ */
+public interface RosterService {
+
+  /**
+   * Proposes shift requests for the employees of an office location that cover the required
+   * headcount of each shift, spreading the hours as evenly as possible. Nothing is saved; the draft
+   * can be sent with {@link ShiftRequestService#sendShiftRequestsToEmployees}.
+   *
+   * @param officeLocationId the ID of the office location
+   * @param dayInWeek any day of the week to staff
+   * @param demands the shifts to staff, all within the week
+   * @return the {@link RosterDraft}, with the demands that could not be staffed fully
+   * @throws ShiftValidationException if a demand lies outside the week, has a negative headcount or
+   *     a shift length the limits do not allow
+   */
+  RosterDraft proposeRoster(Long officeLocationId, LocalDate dayInWeek, List<RosterDemand> demands);
+}
@@ -0,0 +1,37 @@
+package com.project.anesu.shiftplanner.managerservice.model;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleImportResult;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing many {@link Schedule}s from an uploaded file. The file is read
+ * line by line and imported in chunks, so only one chunk is held in memory however large the file
+ * is. Each chunk is validated in parallel and created in its own transaction, so a schedule that
+ * fails does not stop the others from being created.
+ */
+public interface ScheduleImportService {
+
+  /**
+   * Imports schedules from CSV. The first line names the columns {@code employeeId}, {@code
+   * startDate}, {@code endDate}, {@code shiftDate}, {@code shiftType} and {@code workingHours}, in
+   * any order. Every following line is one shift; consecutive lines with the same employee, start
+   * date and end date form one {@link Schedule}.
+   *
+   * @param csv the CSV file, UTF-8 encoded
+   * @return how many schedules were created and which were not
+   * @throws IOException if the file cannot be read
+   */
+  ScheduleImportResult importCsv(InputStream csv) throws IOException;
+
+  /**
+   * Imports schedules from newline-delimited JSON, one {@link Schedule} per line in the format
+   * accepted when creating a single schedule. IDs in the file are ignored.
+   *
+   * @param ndjson the NDJSON file, UTF-8 encoded
+   * @return how many schedules were created and which were not
+   * @throws IOException if the file cannot be read
+   */
+  ScheduleImportResult importNdjson(InputStream ndjson) throws IOException;
+}
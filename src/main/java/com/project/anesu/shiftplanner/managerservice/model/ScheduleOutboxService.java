@@ -0,0 +1,49 @@
+package com.project.anesu.shiftplanner.managerservice.model;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleSyncStatus;
+import java.util.Collection;
+
+/**
+ * Service interface for the schedule outbox. Approvals only record the approved requests in the
+ * outbox, in the same transaction as the status change, and return. A background worker then adds
+ * them to the employees' {@link Schedule}s in batches.
+ */
+public interface ScheduleOutboxService {
+
+  /**
+   * Records approved shift requests to be added to their employees' schedules. Must be called in
+   * the transaction that approves them.
+   *
+   * @param approvedShiftRequests the approved {@link ShiftRequest}s
+   */
+  void recordApprovedShiftRequests(Collection<ShiftRequest> approvedShiftRequests);
+
+  /**
+   * Records approved vacation requests to be added to their employees' schedules. Must be called in
+   * the transaction that approves them.
+   *
+   * @param approvedVacationRequests the approved {@link VacationRequest}s
+   */
+  void recordApprovedVacationRequests(Collection<VacationRequest> approvedVacationRequests);
+
+  /**
+   * Adds all pending outbox entries to their schedules, one batch per transaction. Entries of the
+   * same employee and calendar week within a batch are applied with a single lookup and save of
+   * their {@link Schedule}. If a batch fails, its entries are applied one at a time, and entries
+   * that still fail are skipped until their next attempt is due.
+   *
+   * @return the number of applied entries
+   */
+  int applyPendingEntries();
+
+  /**
+   * Retrieves whether the schedules have caught up with the approvals.
+   *
+   * @param employeeId the ID of the employee to check, or {@code null} for all employees
+   * @return the {@link ScheduleSyncStatus}
+   */
+  ScheduleSyncStatus getSyncStatus(Long employeeId);
+}
@@ -1,12 +1,21 @@
 package com.project.anesu.shiftplanner.managerservice.model;
 
 import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.VacationInterval;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.model.dto.OptimisticRetryStatistics;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleExportEntry;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleResponse;
+import com.project.anesu.shiftplanner.managerservice.service.exception.InvalidScheduleException;
 import com.project.anesu.shiftplanner.managerservice.service.exception.ScheduleNotFoundException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface ScheduleService {
 
@@ -18,6 +27,21 @@ public interface ScheduleService {
    */
   Schedule createSchedule(Schedule schedule);
 
+  /**
+   * Creates several {@link Schedule}s in one transaction. Each schedule is checked against the
+   * weekly working hour limit, counting the hours of the schedules created before it, and skipped
+   * if it would exceed the limit. The dates and per-shift hours of the schedules are expected to be
+   * validated already. The employees' approval locks are held until the transaction commits, so
+   * approvals running at the same time cannot push an employee past the limit.
+   *
+   * @param schedules the {@link Schedule}s to be created
+   * @param rejectedSchedules called after the commit with every skipped {@link Schedule} and the
+   *     reason it was skipped
+   * @return the created {@link Schedule}s
+   */
+  List<Schedule> createSchedules(
+      List<Schedule> schedules, BiConsumer<Schedule, InvalidScheduleException> rejectedSchedules);
+
   /**
    * Updates a specific employee's schedule based on the manager's decision.
    *
@@ -28,42 +52,93 @@ public interface ScheduleService {
       throws ScheduleNotFoundException;
 
   /**
-   * Adds a new shift to an employee's schedule after approving a {@link ShiftRequest}.
+   * Adds several approved shifts to their employees' schedules at once. The shifts are grouped by
+   * employee and calendar week, so every affected {@link Schedule} is looked up and saved only
+   * once. The working hours of the shifts are expected to be booked already when they were
+   * approved.
    *
-   * @param employeeId the ID of the employee to update
-   * @param approvedShiftRequest the approved {@link ShiftRequest}
-   * @return the updated {@link Schedule}
+   * @param approvedShiftRequests the approved {@link ShiftRequest}s
+   * @return the created or updated {@link Schedule}s
    */
-  Schedule addShiftToSchedule(Long employeeId, ShiftRequest approvedShiftRequest);
+  List<Schedule> addShiftsToSchedules(List<ShiftRequest> approvedShiftRequests);
 
   /**
-   * Retrieves a schedule for a specific employee by ID.
+   * Retrieves a schedule for a specific employee by ID, with its shifts and vacations.
    *
    * @param scheduleId the ID of the {@link Schedule} to retrieve
-   * @return the found {@link Schedule}, or {@code null} if not found
+   * @return the found {@link ScheduleResponse}, or empty if not found
    */
-  Optional<Schedule> getScheduleById(Long scheduleId);
+  Optional<ScheduleResponse> getScheduleById(Long scheduleId);
 
   /**
-   * Retrieves a list of schedules for all employees within a date range.
+   * Retrieves the schedules of an employee starting within a date range, with their shifts and
+   * vacations. The schedules are read with a fixed number of queries, however many there are.
    *
    * @param startDate the start of the {@link LocalDateTime} range
    * @param endDate the end of the {@link LocalDateTime} range
-   * @return a list of {@link Schedule}s for all employees within the date range
+   * @return a list of {@link ScheduleResponse}s within the date range
    */
-  Optional<List<Schedule>> getAllEmployeeSchedulesWithinGivenDateRange(
+  List<ScheduleResponse> getAllEmployeeSchedulesWithinGivenDateRange(
       Long scheduleId, LocalDateTime startDate, LocalDateTime endDate);
 
   /**
-   * Adds approved vacation requests to an employee's schedule after approving a {@link
-   * VacationRequest}.
+   * Streams the scheduled shifts and vacations of an office location's employees in a date range
+   * row by row from read-only database cursors, so the schedules are never held in memory as a
+   * whole. The employees of an office are those who asked for a shift or a vacation there.
    *
-   * @param employeeId the ID of the employee to update
-   * @param approvedVacationRequest the approved {@link VacationRequest}
-   * @return the updated {@link Schedule}
+   * @param officeLocationId the ID of the office location
+   * @param startDate the start of the {@link LocalDateTime} range
+   * @param endDate the end of the {@link LocalDateTime} range
+   * @param action the action to perform on each {@link ScheduleExportEntry}, first on the shifts
+   *     and then on the vacations, each ordered by employee and date
+   */
+  void forEachScheduleExportEntry(
+      Long officeLocationId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      Consumer<ScheduleExportEntry> action);
+
+  /**
+   * Retrieves the scheduled vacations of an employee overlapping a date range, across all of the
+   * employee's schedules. Each vacation is clipped to the range by the database.
+   *
+   * @param employeeId the ID of the employee
+   * @param startDate the start of the {@link LocalDateTime} range
+   * @param endDate the end of the {@link LocalDateTime} range
+   * @return the clipped {@link VacationInterval}s, ordered by start date
+   */
+  List<VacationInterval> getScheduledVacationsWithinGivenDateRange(
+      Long employeeId, LocalDateTime startDate, LocalDateTime endDate);
+
+  /**
+   * Retrieves the employees of an office location who have neither a shift of the given type nor a
+   * vacation scheduled on a day.
+   *
+   * @param officeLocationId the ID of the office location
+   * @param date the day to staff
+   * @param shiftType the {@link ShiftType} to staff
+   * @return the IDs of the available employees, in ascending order
+   */
+  List<Long> getAvailableEmployees(Long officeLocationId, LocalDate date, ShiftType shiftType);
+
+  /**
+   * Retrieves how often concurrent schedule updates conflicted and had to be retried since the
+   * service started.
+   *
+   * @return the {@link OptimisticRetryStatistics} of the schedule update paths
+   */
+  OptimisticRetryStatistics getOptimisticRetryStatistics();
+
+  /**
+   * Adds several approved vacation requests to their employees' schedules at once. The vacations
+   * are grouped by employee and the calendar week they start in, so every affected {@link Schedule}
+   * is looked up and saved only once.
+   *
+   * @param approvedVacationRequests the approved {@link VacationRequest}s
+   * @return the created or updated {@link Schedule}s
    */
-  Schedule addApprovedVacationRequestToSchedule(
-      Long employeeId, VacationRequest approvedVacationRequest);
+  List<Schedule> addApprovedVacationRequestsToSchedules(
+      List<VacationRequest> approvedVacationRequests);
 
   /**
    * Deletes a specific employee's schedule by ID (only if applicable to manager's permissions).
@@ -2,7 +2,11 @@ package com.project.anesu.shiftplanner.managerservice.model;
 
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.dto.DecisionResult;
+import com.project.anesu.shiftplanner.managerservice.model.dto.KeysetPage;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ShiftRequestSubmission;
 import com.project.anesu.shiftplanner.managerservice.service.exception.ShiftRequestNotFoundException;
+import com.project.anesu.shiftplanner.managerservice.service.util.KeysetPagination;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -18,6 +22,16 @@ public interface ShiftRequestService {
    */
   ShiftRequest sendShiftRequestToEmployee(Long employeeId, ShiftRequest shiftRequest);
 
+  /**
+   * Sends several shift requests at once, such as a roster draft. The requests are validated as a
+   * group against the working hours already scheduled, so requests for the same employee count
+   * towards each other, and the valid ones are saved together.
+   *
+   * @param shiftRequests the shifts to send, each with its employee ID; IDs are ignored
+   * @return the sent {@link ShiftRequest}s and the rejected ones with the reason
+   */
+  ShiftRequestSubmission sendShiftRequestsToEmployees(List<ShiftRequest> shiftRequests);
+
   /**
    * Approves a shift request submitted by an employee.
    *
@@ -27,6 +41,16 @@ public interface ShiftRequestService {
    */
   ShiftRequest approveShiftRequest(Long employeeId, Long shiftRequestId);
 
+  /**
+   * Approves several pending shift requests at once. All requests are loaded and validated as a
+   * group, and the approved ones are written together with their schedule entries in a single
+   * transaction.
+   *
+   * @param shiftRequestIds the IDs of the shift requests to approve
+   * @return one {@link DecisionResult} per distinct shift request ID, in the given order
+   */
+  List<DecisionResult> approveShiftRequests(List<Long> shiftRequestIds);
+
   /**
    * Declines a shift request submitted by an employee, providing a reason.
    *
@@ -37,13 +61,27 @@ public interface ShiftRequestService {
   ShiftRequest declineShiftRequest(Long employeeId, String rejectionReason);
 
   /**
-   * Retrieves a shift request for a specific employee.
+   * Retrieves the shift requests of an employee, ordered by shift date and ID. Deprecated in favour
+   * of {@link #getShiftRequestPageByEmployeeId}, and cut off after {@link
+   * KeysetPagination#MAX_PAGE_SIZE} shift requests.
    *
-   * @param employeeId the ID of the employee whose shift request is being retrieved
-   * @return the corresponding {@link ShiftRequest}, or {@code null} if not found
+   * @param employeeId the ID of the employee whose shift requests are being retrieved
+   * @return the first {@link ShiftRequest}s of the employee, or an empty list if none found
    */
   List<ShiftRequest> getShiftRequestByEmployeeId(Long employeeId);
 
+  /**
+   * Retrieves one page of the shift requests of an employee, ordered by shift date and ID.
+   *
+   * @param employeeId the ID of the employee whose shift requests are being retrieved
+   * @param pageSize the maximum number of shift requests on the page, capped at {@link
+   *     KeysetPagination#MAX_PAGE_SIZE}
+   * @param pageToken the token returned with the previous page, or {@code null} for the first page
+   * @return the page of {@link ShiftRequest}s
+   */
+  KeysetPage<ShiftRequest> getShiftRequestPageByEmployeeId(
+      Long employeeId, int pageSize, String pageToken);
+
   /**
    * Retrieves a list of shift requests for an employee based on their status.
    *
@@ -57,12 +95,27 @@ public interface ShiftRequestService {
       throws ShiftRequestNotFoundException;
 
   /**
-   * Retrieves shift requests within a specific date range.
+   * Retrieves shift requests within a specific date range, ordered by shift date and ID. Deprecated
+   * in favour of {@link #getShiftRequestPageByDateRange}, and cut off after {@link
+   * KeysetPagination#MAX_PAGE_SIZE} shift requests.
    *
    * @param startDate the start of the date range
    * @param endDate the end of the date range
-   * @return a list of {@link ShiftRequest} within the specified date range, or an empty list if
+   * @return the first {@link ShiftRequest}s within the specified date range, or an empty list if
    *     none found
    */
   List<ShiftRequest> getShiftRequestByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+
+  /**
+   * Retrieves one page of the shift requests within a date range, ordered by shift date and ID.
+   *
+   * @param startDate the start of the date range
+   * @param endDate the end of the date range
+   * @param pageSize the maximum number of shift requests on the page, capped at {@link
+   *     KeysetPagination#MAX_PAGE_SIZE}
+   * @param pageToken the token returned with the previous page, or {@code null} for the first page
+   * @return the page of {@link ShiftRequest}s
+   */
+  KeysetPage<ShiftRequest> getShiftRequestPageByDateRange(
+      LocalDateTime startDate, LocalDateTime endDate, int pageSize, String pageToken);
 }
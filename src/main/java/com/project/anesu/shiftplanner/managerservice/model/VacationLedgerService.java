@@ -0,0 +1,49 @@
+package com.project.anesu.shiftplanner.managerservice.model;
+
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationLedger;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for the yearly vacation ledger, which keeps the number of approved vacation
+ * days per employee and calendar year so the yearly limit can be checked without rescanning
+ * vacation requests.
+ */
+public interface VacationLedgerService {
+
+  /**
+   * Retrieves the number of approved vacation days of an employee in a calendar year.
+   *
+   * @param employeeId The ID of the employee.
+   * @param year The calendar year.
+   * @return The number of approved vacation days, or {@code 0} if none are recorded.
+   */
+  long getUsedVacationDays(Long employeeId, int year);
+
+  /**
+   * Retrieves the ledger entries of several employees for a range of calendar years.
+   *
+   * @param employeeIds The IDs of the employees.
+   * @param firstYear The first calendar year, inclusive.
+   * @param lastYear The last calendar year, inclusive.
+   * @return The matching {@link VacationLedger} entries.
+   */
+  List<VacationLedger> getVacationLedgers(
+      Collection<Long> employeeIds, int firstYear, int lastYear);
+
+  /**
+   * Adds the days of newly approved vacation requests to the ledger. Vacations spanning a year
+   * boundary are split across the years they touch. Must be called in the transaction that approves
+   * the requests.
+   *
+   * @param approvedVacationRequests The approved {@link VacationRequest}s.
+   */
+  void recordApprovedVacationRequests(Collection<VacationRequest> approvedVacationRequests);
+
+  /**
+   * Recomputes the whole ledger from the approved vacation requests. Holds the locks of all
+   * employees while it runs, so no approval adds days to a ledger that is being replaced.
+   */
+  void rebuildVacationLedger();
+}
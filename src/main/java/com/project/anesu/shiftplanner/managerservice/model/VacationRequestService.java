@@ -2,9 +2,14 @@ package com.project.anesu.shiftplanner.managerservice.model;
 
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.dto.DecisionResult;
+import com.project.anesu.shiftplanner.managerservice.model.dto.KeysetPage;
+import com.project.anesu.shiftplanner.managerservice.model.dto.TeamCalendarEntry;
 import com.project.anesu.shiftplanner.managerservice.service.exception.VacationRequestNotFoundException;
+import com.project.anesu.shiftplanner.managerservice.service.util.KeysetPagination;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing vacation requests. Provides methods for approving, declining, and
@@ -32,13 +37,47 @@ public interface VacationRequestService {
   VacationRequest declineVacationRequest(Long vacationRequestId, String rejectionReason);
 
   /**
-   * Retrieves a list of vacation requests for a specific employee.
+   * Approves several pending vacation requests at once. The requests of all affected employees are
+   * loaded with a single query and validated in memory as a group, including overlaps and the
+   * yearly limit across the group.
+   *
+   * @param vacationRequestIds The IDs of the vacation requests to approve.
+   * @return One {@link DecisionResult} per distinct vacation request ID, in the given order.
+   */
+  List<DecisionResult> approveVacationRequests(List<Long> vacationRequestIds);
+
+  /**
+   * Declines several pending vacation requests at once with the same reason.
+   *
+   * @param vacationRequestIds The IDs of the vacation requests to decline.
+   * @param rejectionReason The reason for rejecting the requests.
+   * @return One {@link DecisionResult} per distinct vacation request ID, in the given order.
+   */
+  List<DecisionResult> declineVacationRequests(
+      List<Long> vacationRequestIds, String rejectionReason);
+
+  /**
+   * Retrieves the vacation requests of an employee, ordered by start date and ID. Deprecated in
+   * favour of {@link #getVacationRequestPageByEmployeeId}, and cut off after {@link
+   * KeysetPagination#MAX_PAGE_SIZE} vacation requests.
    *
    * @param employeeId The ID of the employee.
-   * @return A list of {@link VacationRequest} objects for the given employee.
+   * @return The first {@link VacationRequest}s of the employee.
    */
   List<VacationRequest> getVacationRequestsByEmployeeId(Long employeeId);
 
+  /**
+   * Retrieves one page of the vacation requests of an employee, ordered by start date and ID.
+   *
+   * @param employeeId The ID of the employee.
+   * @param pageSize The maximum number of vacation requests on the page, capped at {@link
+   *     KeysetPagination#MAX_PAGE_SIZE}.
+   * @param pageToken The token returned with the previous page, or {@code null} for the first page.
+   * @return The page of {@link VacationRequest}s.
+   */
+  KeysetPage<VacationRequest> getVacationRequestPageByEmployeeId(
+      Long employeeId, int pageSize, String pageToken);
+
   /**
    * Retrieves vacation requests for an employee within a specified date range.
    *
@@ -51,16 +90,32 @@ public interface VacationRequestService {
       Long employeeId, LocalDateTime startDate, LocalDateTime endDate);
 
   /**
-   * Retrieves the vacation schedule for a team within a specified date range.
+   * Retrieves the vacation schedule for a team within a specified date range. The calendar is
+   * assembled from cached slices per office and month.
    *
    * @param officeLocationId The ID of the office location.
    * @param startDate The start date of the requested schedule.
    * @param endDate The end date of the requested schedule.
-   * @return A list of {@link VacationRequest} objects representing the team's calendar.
+   * @return A list of {@link TeamCalendarEntry} objects representing the team's calendar.
    */
-  List<VacationRequest> getTeamCalendar(
+  List<TeamCalendarEntry> getTeamCalendar(
       Long officeLocationId, LocalDateTime startDate, LocalDateTime endDate);
 
+  /**
+   * Streams the team calendar of an office location row by row from a read-only database cursor, so
+   * the calendar is never held in memory as a whole.
+   *
+   * @param officeLocationId The ID of the office location.
+   * @param startDate The start date of the requested schedule.
+   * @param endDate The end date of the requested schedule.
+   * @param action The action to perform on each {@link TeamCalendarEntry}, ordered by start date.
+   */
+  void forEachTeamCalendarEntry(
+      Long officeLocationId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      Consumer<TeamCalendarEntry> action);
+
   /**
    * Retrieves the vacation schedule for an employee by the id and status of the vacation request.
    *
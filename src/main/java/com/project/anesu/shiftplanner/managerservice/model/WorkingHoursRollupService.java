@@ -0,0 +1,72 @@
+package com.project.anesu.shiftplanner.managerservice.model;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for the working hours rollup, which keeps the scheduled working hours per
+ * employee and day and per employee and ISO week so working hour limits can be checked without
+ * rescanning shifts.
+ */
+public interface WorkingHoursRollupService {
+
+  /**
+   * Retrieves the scheduled working hours of an employee on a day.
+   *
+   * @param employeeId the ID of the employee
+   * @param day the day
+   * @return the scheduled working hours, or {@code 0} if none are recorded
+   */
+  long getDailyWorkingHours(Long employeeId, LocalDate day);
+
+  /**
+   * Retrieves the scheduled working hours of an employee in the ISO week containing a day.
+   *
+   * @param employeeId the ID of the employee
+   * @param dayInWeek any day of the week
+   * @return the scheduled working hours, or {@code 0} if none are recorded
+   */
+  long getWeeklyWorkingHours(Long employeeId, LocalDate dayInWeek);
+
+  /**
+   * Retrieves the daily and weekly rollups of several employees whose period starts within a date
+   * range.
+   *
+   * @param employeeIds the IDs of the employees
+   * @param startDate the first period start, inclusive
+   * @param endDate the last period start, inclusive
+   * @return the matching {@link WorkingHoursRollup}s
+   */
+  List<WorkingHoursRollup> getWorkingHoursRollups(
+      Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate);
+
+  /**
+   * Applies added and removed shifts of an employee to the rollup. Must be called in the
+   * transaction that changes the shifts.
+   *
+   * @param employeeId the ID of the employee
+   * @param addedShifts the {@link ShiftEntry}s added to the employee's schedule
+   * @param removedShifts the {@link ShiftEntry}s removed from the employee's schedule
+   */
+  void recordShiftChanges(
+      Long employeeId, Collection<ShiftEntry> addedShifts, Collection<ShiftEntry> removedShifts);
+
+  /**
+   * Applies the added shifts of several employees to the rollup at once. The rollups that exist
+   * already are looked up with one query and incremented, and the missing ones are inserted
+   * together. Must be called in the transaction that adds the shifts.
+   *
+   * @param addedShiftsByEmployee the added {@link ShiftEntry}s, by employee ID
+   */
+  void recordAddedShifts(Map<Long, ? extends Collection<ShiftEntry>> addedShiftsByEmployee);
+
+  /**
+   * Recomputes the whole rollup from the shifts of all schedules. Holds the locks of all employees
+   * while it runs, so no approval or schedule change adds hours to a rollup that is being replaced.
+   */
+  void rebuildWorkingHoursRollups();
+}
@@ -0,0 +1,11 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+/**
+ * Hit and miss counts of one second-level cache region since startup.
+ *
+ * @param region the name of the cache region
+ * @param hitCount the number of lookups answered from the cache
+ * @param missCount the number of lookups that went to the database
+ * @param putCount the number of entries stored in the cache
+ */
+public record CacheRegionUsage(String region, long hitCount, long missCount, long putCount) {}
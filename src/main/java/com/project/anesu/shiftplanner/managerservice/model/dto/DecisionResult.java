@@ -0,0 +1,25 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Outcome of approving or declining a single request as part of a bulk decision. */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DecisionResult {
+
+  private final Long requestId;
+  private final boolean succeeded;
+  private final String failureReason;
+
+  public static DecisionResult succeeded(Long requestId) {
+    return new DecisionResult(requestId, true, null);
+  }
+
+  public static DecisionResult failed(Long requestId, String failureReason) {
+    return new DecisionResult(requestId, false, failureReason);
+  }
+}
@@ -0,0 +1,12 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * @param items the items of the page, in list order
+ * @param nextPageToken the opaque token to request the following page with, or {@code null} if this
+ *     is the last page
+ */
+public record KeysetPage<T>(List<T> items, String nextPageToken) {}
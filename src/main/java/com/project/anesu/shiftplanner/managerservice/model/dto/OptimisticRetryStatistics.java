@@ -0,0 +1,10 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+/**
+ * Optimistic lock conflicts in the approval paths since startup.
+ *
+ * @param conflicts the number of attempts that failed on a conflict
+ * @param retries the number of attempts repeated after a conflict
+ * @param exhausted the number of operations that gave up after the last attempt
+ */
+public record OptimisticRetryStatistics(long conflicts, long retries, long exhausted) {}
@@ -0,0 +1,11 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+
+/**
+ * A shift request of a bulk submission that was not sent.
+ *
+ * @param shiftRequest the shift request as it was submitted
+ * @param reason why the shift request was not sent
+ */
+public record RejectedShiftRequest(ShiftRequest shiftRequest, String reason) {}
@@ -0,0 +1,20 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import java.time.LocalDateTime;
+
+/**
+ * The number of employees an office needs for a shift.
+ *
+ * @param shiftDate the start of the shift
+ * @param shiftType the type of the shift
+ * @param headcount the number of employees needed
+ * @param shiftLengthInHours the length of the shift
+ */
+public record RosterDemand(
+    LocalDateTime shiftDate, ShiftType shiftType, int headcount, long shiftLengthInHours) {
+
+  public RosterDemand withHeadcount(int headcount) {
+    return new RosterDemand(shiftDate, shiftType, headcount, shiftLengthInHours);
+  }
+}
@@ -0,0 +1,21 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A proposed roster for an office and week. The shift requests are not saved yet and can be sent as
+ * they are, or after editing, with the bulk shift request endpoint.
+ *
+ * @param officeLocationId the ID of the office location
+ * @param weekStart the Monday of the week
+ * @param shiftRequests the proposed shift requests, ordered by shift date and employee
+ * @param unfilledDemands the demands that could not be staffed fully, each with the missing
+ *     headcount
+ */
+public record RosterDraft(
+    Long officeLocationId,
+    LocalDate weekStart,
+    List<ShiftRequest> shiftRequests,
+    List<RosterDemand> unfilledDemands) {}
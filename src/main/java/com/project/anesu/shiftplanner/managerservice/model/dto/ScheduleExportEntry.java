@@ -0,0 +1,71 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import java.time.LocalDateTime;
+
+/**
+ * A shift or a vacation of a schedule, flattened into one row for exports and read straight from
+ * the database. Vacations have neither a shift type nor working hours.
+ */
+public record ScheduleExportEntry(
+    Type type,
+    Long scheduleId,
+    Long employeeId,
+    LocalDateTime scheduleStartDate,
+    LocalDateTime scheduleEndDate,
+    Long entryId,
+    LocalDateTime startDate,
+    LocalDateTime endDate,
+    ShiftType shiftType,
+    Long workingHours) {
+
+  /** Creates the row of a shift, which ends after its working hours. */
+  public ScheduleExportEntry(
+      Long scheduleId,
+      Long employeeId,
+      LocalDateTime scheduleStartDate,
+      LocalDateTime scheduleEndDate,
+      Long shiftId,
+      LocalDateTime shiftDate,
+      ShiftType shiftType,
+      Long workingHours) {
+    this(
+        Type.SHIFT,
+        scheduleId,
+        employeeId,
+        scheduleStartDate,
+        scheduleEndDate,
+        shiftId,
+        shiftDate,
+        shiftDate == null || workingHours == null ? shiftDate : shiftDate.plusHours(workingHours),
+        shiftType,
+        workingHours);
+  }
+
+  /** Creates the row of a vacation. */
+  public ScheduleExportEntry(
+      Long scheduleId,
+      Long employeeId,
+      LocalDateTime scheduleStartDate,
+      LocalDateTime scheduleEndDate,
+      Long vacationId,
+      LocalDateTime startDate,
+      LocalDateTime endDate) {
+    this(
+        Type.VACATION,
+        scheduleId,
+        employeeId,
+        scheduleStartDate,
+        scheduleEndDate,
+        vacationId,
+        startDate,
+        endDate,
+        null,
+        null);
+  }
+
+  public enum Type {
+    SHIFT,
+    VACATION
+  }
+}
@@ -0,0 +1,9 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+/**
+ * A schedule of an import that was not created.
+ *
+ * @param line the line the schedule starts on, or the line that could not be read, counting from 1
+ * @param message why the schedule was not created
+ */
+public record ScheduleImportError(long line, String message) {}
@@ -0,0 +1,13 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of importing schedules from an uploaded file.
+ *
+ * @param importedSchedules the number of schedules created
+ * @param importedShifts the number of shifts in the created schedules
+ * @param errors the schedules that were not created, in the order they appear in the file
+ */
+public record ScheduleImportResult(
+    long importedSchedules, long importedShifts, List<ScheduleImportError> errors) {}
@@ -0,0 +1,72 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationEntry;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A {@link Schedule} with its shifts and vacations, copied out of the persistence context so it can
+ * be serialized without touching lazy associations.
+ */
+public record ScheduleResponse(
+    Long id,
+    Long employeeId,
+    LocalDateTime startDate,
+    LocalDateTime endDate,
+    Long totalWorkingHours,
+    String rejectionReason,
+    List<Shift> shifts,
+    List<Vacation> vacations) {
+
+  public static ScheduleResponse from(Schedule schedule) {
+    return new ScheduleResponse(
+        schedule.getId(),
+        schedule.getEmployeeId(),
+        schedule.getStartDate(),
+        schedule.getEndDate(),
+        schedule.getTotalWorkingHours(),
+        schedule.getRejectionReason(),
+        schedule.getShifts() == null
+            ? List.of()
+            : schedule.getShifts().stream().map(Shift::from).toList(),
+        schedule.getVacations() == null
+            ? List.of()
+            : schedule.getVacations().stream().map(Vacation::from).toList());
+  }
+
+  /** A {@link ShiftEntry} of the schedule. */
+  public record Shift(
+      Long shiftId, LocalDateTime shiftDate, ShiftType shiftType, Long workingHours) {
+
+    static Shift from(ShiftEntry shiftEntry) {
+      return new Shift(
+          shiftEntry.getShiftId(),
+          shiftEntry.getShiftDate(),
+          shiftEntry.getShiftType(),
+          shiftEntry.getWorkingHours());
+    }
+  }
+
+  /** A {@link VacationEntry} of the schedule, referencing its vacation request by ID only. */
+  public record Vacation(
+      Long id,
+      Long vacationRequestId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      Long vacationDuration) {
+
+    static Vacation from(VacationEntry vacationEntry) {
+      return new Vacation(
+          vacationEntry.getId(),
+          vacationEntry.getVacationRequest() == null
+              ? null
+              : vacationEntry.getVacationRequest().getId(),
+          vacationEntry.getStartDate(),
+          vacationEntry.getEndDate(),
+          vacationEntry.getVacationDuration());
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far the schedules lag behind the approved shift and vacation requests.
+ *
+ * @param caughtUp whether every approved request has been added to its schedule
+ * @param pendingEntries the number of approved requests not yet added to their schedules
+ * @param failedEntries the number of those requests that failed to be added on every attempt and
+ *     are left for an operator
+ * @param oldestPendingSince when the oldest of those requests was approved, {@code null} if none
+ */
+public record ScheduleSyncStatus(
+    boolean caughtUp, long pendingEntries, long failedEntries, LocalDateTime oldestPendingSince) {}
@@ -0,0 +1,13 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import java.util.List;
+
+/**
+ * Outcome of sending several shift requests at once.
+ *
+ * @param sentShiftRequests the saved pending shift requests, with their IDs
+ * @param rejectedShiftRequests the shift requests that were not sent
+ */
+public record ShiftRequestSubmission(
+    List<ShiftRequest> sentShiftRequests, List<RejectedShiftRequest> rejectedShiftRequests) {}
@@ -0,0 +1,14 @@
+package com.project.anesu.shiftplanner.managerservice.model.dto;
+
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import java.time.LocalDateTime;
+
+/** A vacation request on the team calendar, read straight from the database without its manager. */
+public record TeamCalendarEntry(
+    Long id,
+    Long employeeId,
+    Long officeLocationId,
+    LocalDateTime startDate,
+    LocalDateTime endDate,
+    VacationRequestStatus status,
+    Long managerId) {}
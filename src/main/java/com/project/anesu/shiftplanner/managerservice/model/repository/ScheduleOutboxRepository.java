@@ -0,0 +1,37 @@
+package com.project.anesu.shiftplanner.managerservice.model.repository;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduleOutboxEntry;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ScheduleOutboxRepository extends JpaRepository<ScheduleOutboxEntry, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT o FROM ScheduleOutboxEntry o WHERE o.attempts < :maxAttempts"
+          + " AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now) ORDER BY o.id")
+  List<ScheduleOutboxEntry> findOldestDue(
+      @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now, Limit limit);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<ScheduleOutboxEntry> findLockedById(Long id);
+
+  Optional<ScheduleOutboxEntry> findFirstByOrderByIdAsc();
+
+  Optional<ScheduleOutboxEntry> findFirstByEmployeeIdOrderByIdAsc(Long employeeId);
+
+  long countByEmployeeId(Long employeeId);
+
+  long countByAttemptsGreaterThanEqual(int attempts);
+
+  long countByEmployeeIdAndAttemptsGreaterThanEqual(Long employeeId, int attempts);
+}
@@ -1,11 +1,19 @@
 package com.project.anesu.shiftplanner.managerservice.model.repository;
 
 import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledShift;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledVacation;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.VacationInterval;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleExportEntry;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,16 +21,149 @@ import org.springframework.stereotype.Repository;
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
 
   @Query(
-      "SELECT s FROM Schedule s WHERE s.employeeId = :employeeId AND s.startDate BETWEEN :start AND :end")
-  Optional<List<Schedule>> findByEmployeeIdAndDateRange(
+      "SELECT DISTINCT s FROM Schedule s LEFT JOIN FETCH s.shifts "
+          + "WHERE s.employeeId = :employeeId AND s.startDate BETWEEN :start AND :end")
+  List<Schedule> findByEmployeeIdAndDateRange(
       @Param("employeeId") Long employeeId,
       @Param("start") LocalDateTime start,
       @Param("end") LocalDateTime end);
 
   @Query(
-      "SELECT s FROM Schedule s WHERE s.employeeId = :employeeId AND s.startDate BETWEEN :startOfWeek AND :endOfWeek")
-  Optional<Schedule> findByEmployeeIdAndWeekRange(
+      "SELECT DISTINCT s FROM Schedule s LEFT JOIN FETCH s.shifts "
+          + "WHERE s.employeeId IN :employeeIds AND s.startDate BETWEEN :start AND :end")
+  List<Schedule> findByEmployeeIdsAndDateRange(
+      @Param("employeeIds") Collection<Long> employeeIds,
+      @Param("start") LocalDateTime start,
+      @Param("end") LocalDateTime end);
+
+  /**
+   * Initializes the vacations of schedules that are already loaded, in one query. Shifts and
+   * vacations are both lists, so they cannot be join fetched together; the lookups above fetch the
+   * shifts and this query fills in the vacations of the same managed instances.
+   */
+  @Query("SELECT DISTINCT s FROM Schedule s LEFT JOIN FETCH s.vacations WHERE s IN :schedules")
+  List<Schedule> fetchVacations(@Param("schedules") Collection<Schedule> schedules);
+
+  /**
+   * Lists the scheduled shifts together with the approved shifts that are still waiting in the
+   * schedule outbox. Both parts are read by one statement, so a shift that the outbox moves into
+   * its schedule meanwhile is counted exactly once.
+   */
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledShift("
+          + "s.employeeId, e.shiftDate, e.shiftType, e.workingHours) "
+          + "FROM Schedule s JOIN s.shifts e "
+          + "UNION ALL "
+          + "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledShift("
+          + "r.employeeId, r.shiftDate, r.shiftType, r.shiftLengthInHours) "
+          + "FROM ScheduleOutboxEntry o JOIN ShiftRequest r ON r.id = o.requestId "
+          + "WHERE o.requestType = SHIFT_REQUEST AND r.status = APPROVED")
+  List<ScheduledShift> findAllScheduledAndPendingShifts();
+
+  /**
+   * Lists the scheduled shifts of an employee together with their approved shifts that are still
+   * waiting in the schedule outbox.
+   */
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledShift("
+          + "s.employeeId, e.shiftDate, e.shiftType, e.workingHours) "
+          + "FROM Schedule s JOIN s.shifts e WHERE s.employeeId = :employeeId "
+          + "UNION ALL "
+          + "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledShift("
+          + "r.employeeId, r.shiftDate, r.shiftType, r.shiftLengthInHours) "
+          + "FROM ScheduleOutboxEntry o JOIN ShiftRequest r ON r.id = o.requestId "
+          + "WHERE o.employeeId = :employeeId AND o.requestType = SHIFT_REQUEST "
+          + "AND r.status = APPROVED")
+  List<ScheduledShift> findScheduledAndPendingShiftsByEmployeeId(
+      @Param("employeeId") Long employeeId);
+
+  /**
+   * Lists the scheduled vacations together with the approved vacations that are still waiting in
+   * the schedule outbox, read by one statement like {@link #findAllScheduledAndPendingShifts()}.
+   */
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledVacation("
+          + "s.employeeId, v.startDate, v.endDate) "
+          + "FROM Schedule s JOIN s.vacations v "
+          + "UNION ALL "
+          + "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledVacation("
+          + "r.employeeId, r.startDate, r.endDate) "
+          + "FROM ScheduleOutboxEntry o JOIN VacationRequest r ON r.id = o.requestId "
+          + "WHERE o.requestType = VACATION_REQUEST AND r.status = APPROVED")
+  List<ScheduledVacation> findAllScheduledAndPendingVacations();
+
+  /**
+   * Lists the scheduled vacations of an employee together with their approved vacations that are
+   * still waiting in the schedule outbox.
+   */
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledVacation("
+          + "s.employeeId, v.startDate, v.endDate) "
+          + "FROM Schedule s JOIN s.vacations v WHERE s.employeeId = :employeeId "
+          + "UNION ALL "
+          + "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledVacation("
+          + "r.employeeId, r.startDate, r.endDate) "
+          + "FROM ScheduleOutboxEntry o JOIN VacationRequest r ON r.id = o.requestId "
+          + "WHERE o.employeeId = :employeeId AND o.requestType = VACATION_REQUEST "
+          + "AND r.status = APPROVED")
+  List<ScheduledVacation> findScheduledAndPendingVacationsByEmployeeId(
+      @Param("employeeId") Long employeeId);
+
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.entity.schedule.VacationInterval("
+          + "greatest(v.startDate, :rangeStart), least(v.endDate, :rangeEnd)) "
+          + "FROM Schedule s JOIN s.vacations v "
+          + "WHERE s.employeeId = :employeeId AND v.startDate <= :rangeEnd AND v.endDate >= :rangeStart "
+          + "ORDER BY v.startDate")
+  List<VacationInterval> findVacationIntervalsInRange(
       @Param("employeeId") Long employeeId,
-      @Param("startOfWeek") LocalDateTime startOfWeek,
-      @Param("endOfWeek") LocalDateTime endOfWeek);
+      @Param("rangeStart") LocalDateTime rangeStart,
+      @Param("rangeEnd") LocalDateTime rangeEnd);
+
+  /**
+   * Streams the shifts in a date range of the employees who asked for a shift or a vacation at an
+   * office location, ordered by employee and shift date.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleExportEntry("
+          + "s.id, s.employeeId, s.startDate, s.endDate, e.shiftId, e.shiftDate, e.shiftType, "
+          + "e.workingHours) "
+          + "FROM Schedule s JOIN s.shifts e "
+          + "WHERE e.shiftDate BETWEEN :startDate AND :endDate "
+          + "AND s.employeeId IN (SELECT r.employeeId FROM ShiftRequest r "
+          + "WHERE r.officeLocationId = :officeLocationId "
+          + "UNION SELECT q.employeeId FROM VacationRequest q "
+          + "WHERE q.officeLocationId = :officeLocationId) "
+          + "ORDER BY s.employeeId, e.shiftDate, e.shiftId")
+  Stream<ScheduleExportEntry> streamShiftExport(
+      @Param("officeLocationId") Long officeLocationId,
+      @Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate);
+
+  /**
+   * Streams the vacations overlapping a date range of the employees who asked for a shift or a
+   * vacation at an office location, ordered by employee and start date.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleExportEntry("
+          + "s.id, s.employeeId, s.startDate, s.endDate, v.id, v.startDate, v.endDate) "
+          + "FROM Schedule s JOIN s.vacations v "
+          + "WHERE v.startDate <= :endDate AND v.endDate >= :startDate "
+          + "AND s.employeeId IN (SELECT r.employeeId FROM ShiftRequest r "
+          + "WHERE r.officeLocationId = :officeLocationId "
+          + "UNION SELECT q.employeeId FROM VacationRequest q "
+          + "WHERE q.officeLocationId = :officeLocationId) "
+          + "ORDER BY s.employeeId, v.startDate, v.id")
+  Stream<ScheduleExportEntry> streamVacationExport(
+      @Param("officeLocationId") Long officeLocationId,
+      @Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate);
 }
@@ -1,11 +1,16 @@
 package com.project.anesu.shiftplanner.managerservice.model.repository;
 
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.OfficeMembership;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,7 +21,41 @@ public interface ShiftRequestRepository extends JpaRepository<ShiftRequest, Long
 
   List<ShiftRequest> findByEmployeeId(Long employeeId);
 
-  List<ShiftRequest> findByShiftDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+  List<ShiftRequest> findByEmployeeIdOrderByShiftDateAscIdAsc(Long employeeId, Limit limit);
+
+  List<ShiftRequest> findByEmployeeIdAndShiftDateNotNullOrderByShiftDateAscIdAsc(
+      Long employeeId, Limit limit);
+
+  @Query(
+      "SELECT s FROM ShiftRequest s WHERE s.employeeId = :employeeId "
+          + "AND (s.shiftDate > :afterShiftDate OR (s.shiftDate = :afterShiftDate AND s.id > :afterId)) "
+          + "ORDER BY s.shiftDate, s.id")
+  List<ShiftRequest> findByEmployeeIdAfter(
+      @Param("employeeId") Long employeeId,
+      @Param("afterShiftDate") LocalDateTime afterShiftDate,
+      @Param("afterId") Long afterId,
+      Limit limit);
+
+  List<ShiftRequest> findByShiftDateBetweenOrderByShiftDateAscIdAsc(
+      LocalDateTime startDate, LocalDateTime endDate, Limit limit);
+
+  @Query(
+      "SELECT s FROM ShiftRequest s WHERE s.shiftDate <= :endDate "
+          + "AND (s.shiftDate > :afterShiftDate OR (s.shiftDate = :afterShiftDate AND s.id > :afterId)) "
+          + "ORDER BY s.shiftDate, s.id")
+  List<ShiftRequest> findByShiftDateBetweenAfter(
+      @Param("endDate") LocalDateTime endDate,
+      @Param("afterShiftDate") LocalDateTime afterShiftDate,
+      @Param("afterId") Long afterId,
+      Limit limit);
 
   Optional<ShiftRequest> findByIdAndStatus(Long shiftRequestId, ShiftRequestStatus status);
+
+  List<ShiftRequest> findByIdIn(Collection<Long> shiftRequestIds);
+
+  @Query(
+      "SELECT DISTINCT new com.project.anesu.shiftplanner.managerservice.entity.schedule.OfficeMembership("
+          + "s.officeLocationId, s.employeeId) FROM ShiftRequest s "
+          + "WHERE s.officeLocationId IS NOT NULL AND s.employeeId IS NOT NULL")
+  List<OfficeMembership> findOfficeMemberships();
 }
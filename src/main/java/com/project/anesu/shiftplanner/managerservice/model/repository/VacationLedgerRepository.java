@@ -0,0 +1,42 @@
+package com.project.anesu.shiftplanner.managerservice.model.repository;
+
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationLedger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VacationLedgerRepository extends JpaRepository<VacationLedger, Long> {
+
+  Optional<VacationLedger> findByEmployeeIdAndLedgerYear(Long employeeId, Integer ledgerYear);
+
+  List<VacationLedger> findByEmployeeIdInAndLedgerYearBetween(
+      Collection<Long> employeeIds, Integer firstYear, Integer lastYear);
+
+  /**
+   * Adds used vacation days to the ledger of an employee and year in one statement, creating the
+   * ledger if there is none yet, so concurrent approvals never race to insert the same row.
+   */
+  @Modifying
+  @Query(
+      value =
+          "MERGE INTO vacation_ledger l "
+              + "USING (VALUES (CAST(:employeeId AS BIGINT), CAST(:ledgerYear AS INTEGER), "
+              + "CAST(:days AS BIGINT))) d (employee_id, ledger_year, used_vacation_days) "
+              + "ON l.employee_id = d.employee_id AND l.ledger_year = d.ledger_year "
+              + "WHEN MATCHED THEN UPDATE "
+              + "SET used_vacation_days = l.used_vacation_days + d.used_vacation_days "
+              + "WHEN NOT MATCHED THEN INSERT (id, employee_id, ledger_year, used_vacation_days) "
+              + "VALUES (NEXT VALUE FOR vacation_ledger_seq, d.employee_id, d.ledger_year, "
+              + "d.used_vacation_days)",
+      nativeQuery = true)
+  void addUsedVacationDays(
+      @Param("employeeId") Long employeeId,
+      @Param("ledgerYear") Integer ledgerYear,
+      @Param("days") Long days);
+}
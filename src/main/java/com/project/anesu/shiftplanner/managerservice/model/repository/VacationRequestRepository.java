@@ -1,12 +1,20 @@
 package com.project.anesu.shiftplanner.managerservice.model.repository;
 
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.OfficeMembership;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.dto.TeamCalendarEntry;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +23,26 @@ public interface VacationRequestRepository extends JpaRepository<VacationRequest
 
   List<VacationRequest> findByEmployeeId(Long employeeId);
 
+  List<VacationRequest> findByEmployeeIdOrderByStartDateAscIdAsc(Long employeeId, Limit limit);
+
+  List<VacationRequest> findByEmployeeIdAndStartDateNotNullOrderByStartDateAscIdAsc(
+      Long employeeId, Limit limit);
+
+  @Query(
+      "SELECT v FROM VacationRequest v WHERE v.employeeId = :employeeId "
+          + "AND (v.startDate > :afterStartDate OR (v.startDate = :afterStartDate AND v.id > :afterId)) "
+          + "ORDER BY v.startDate, v.id")
+  List<VacationRequest> findByEmployeeIdAfter(
+      @Param("employeeId") Long employeeId,
+      @Param("afterStartDate") LocalDateTime afterStartDate,
+      @Param("afterId") Long afterId,
+      Limit limit);
+
+  List<VacationRequest> findByStatus(VacationRequestStatus status);
+
+  List<VacationRequest> findByEmployeeIdAndStatusIn(
+      Long employeeId, Collection<VacationRequestStatus> statuses);
+
   @Query(
       "SELECT v FROM VacationRequest v WHERE v.employeeId = :employeeId "
           + "AND v.startDate <= :endDate AND v.endDate >= :startDate")
@@ -23,8 +51,18 @@ public interface VacationRequestRepository extends JpaRepository<VacationRequest
       @Param("startDate") LocalDateTime startDate,
       @Param("endDate") LocalDateTime endDate);
 
+  @Query(
+      "SELECT v FROM VacationRequest v WHERE v.employeeId IN :employeeIds "
+          + "AND v.startDate <= :endDate AND v.endDate >= :startDate")
+  List<VacationRequest> findByEmployeeIdsAndDateRange(
+      @Param("employeeIds") Collection<Long> employeeIds,
+      @Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate);
+
   Optional<VacationRequest> findByIdAndStatus(Long vacationRequestId, VacationRequestStatus status);
 
+  List<VacationRequest> findByIdIn(Collection<Long> vacationRequestIds);
+
   @Query(
       "SELECT v FROM VacationRequest v WHERE v.employeeId = :employeeId "
           + "AND (v.startDate <= :endOfYear AND v.endDate >= :startOfYear)")
@@ -34,14 +72,42 @@ public interface VacationRequestRepository extends JpaRepository<VacationRequest
       @Param("endOfYear") LocalDateTime endDate);
 
   @Query(
-      "SELECT v FROM VacationRequest v "
+      "SELECT new com.project.anesu.shiftplanner.managerservice.model.dto.TeamCalendarEntry("
+          + "v.id, v.employeeId, v.officeLocationId, v.startDate, v.endDate, v.status, m.id) "
+          + "FROM VacationRequest v LEFT JOIN v.manager m "
+          + "WHERE v.officeLocationId = :officeLocationId "
+          + "AND v.status IN :status "
+          + "AND v.startDate >= :monthStart "
+          + "AND v.startDate < :nextMonthStart "
+          + "ORDER BY v.startDate, v.id")
+  List<TeamCalendarEntry> findTeamCalendarSlice(
+      @Param("officeLocationId") Long officeLocationId,
+      @Param("status") List<VacationRequestStatus> status,
+      @Param("monthStart") LocalDateTime monthStart,
+      @Param("nextMonthStart") LocalDateTime nextMonthStart);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.project.anesu.shiftplanner.managerservice.model.dto.TeamCalendarEntry("
+          + "v.id, v.employeeId, v.officeLocationId, v.startDate, v.endDate, v.status, m.id) "
+          + "FROM VacationRequest v LEFT JOIN v.manager m "
           + "WHERE v.officeLocationId = :officeLocationId "
           + "AND v.status IN :status "
           + "AND v.startDate >= :startDate "
-          + "AND v.endDate <= :endDate")
-  List<VacationRequest> findByOfficeLocationIdAndStatusAndDateRange(
+          + "AND v.endDate <= :endDate "
+          + "ORDER BY v.startDate, v.id")
+  Stream<TeamCalendarEntry> streamTeamCalendar(
       @Param("officeLocationId") Long officeLocationId,
       @Param("status") List<VacationRequestStatus> status,
       @Param("startDate") LocalDateTime startDate,
       @Param("endDate") LocalDateTime endDate);
+
+  @Query(
+      "SELECT DISTINCT new com.project.anesu.shiftplanner.managerservice.entity.schedule.OfficeMembership("
+          + "v.officeLocationId, v.employeeId) FROM VacationRequest v "
+          + "WHERE v.officeLocationId IS NOT NULL AND v.employeeId IS NOT NULL")
+  List<OfficeMembership> findOfficeMemberships();
 }
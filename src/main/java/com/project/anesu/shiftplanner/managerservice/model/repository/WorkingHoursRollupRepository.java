@@ -0,0 +1,48 @@
+package com.project.anesu.shiftplanner.managerservice.model.repository;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WorkingHoursRollupRepository extends JpaRepository<WorkingHoursRollup, Long> {
+
+  Optional<WorkingHoursRollup> findByEmployeeIdAndPeriodAndPeriodStart(
+      Long employeeId, WorkingHoursPeriod period, LocalDate periodStart);
+
+  List<WorkingHoursRollup> findByEmployeeIdInAndPeriodStartBetween(
+      Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate);
+
+  /**
+   * Adds working hours to the rollups of several employees and periods in one statement, creating
+   * the rollups that do not exist yet, so concurrent writers never race to insert the same row. The
+   * arrays hold one rollup per index and must not name the same rollup twice.
+   */
+  @Modifying
+  @Query(
+      value =
+          "MERGE INTO working_hours_rollup r "
+              + "USING (SELECT * FROM UNNEST(CAST(:employeeIds AS BIGINT ARRAY), "
+              + "CAST(:periods AS VARCHAR ARRAY), CAST(:periodStarts AS DATE ARRAY), "
+              + "CAST(:hours AS BIGINT ARRAY))) d (employee_id, period, period_start, working_hours) "
+              + "ON r.employee_id = d.employee_id AND r.period = d.period "
+              + "AND r.period_start = d.period_start "
+              + "WHEN MATCHED THEN UPDATE SET working_hours = r.working_hours + d.working_hours "
+              + "WHEN NOT MATCHED THEN INSERT (id, employee_id, period, period_start, working_hours) "
+              + "VALUES (NEXT VALUE FOR working_hours_rollup_seq, d.employee_id, d.period, "
+              + "d.period_start, d.working_hours)",
+      nativeQuery = true)
+  void addWorkingHours(
+      @Param("employeeIds") Long[] employeeIds,
+      @Param("periods") String[] periods,
+      @Param("periodStarts") LocalDate[] periodStarts,
+      @Param("hours") Long[] hours);
+}
@@ -0,0 +1,42 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import com.project.anesu.shiftplanner.managerservice.model.CacheStatisticsService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.CacheRegionUsage;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  @Override
+  public List<CacheRegionUsage> getCacheRegionUsage() {
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+        .sorted()
+        .map(statistics::getCacheRegionStatistics)
+        .filter(Objects::nonNull)
+        .map(this::toCacheRegionUsage)
+        .toList();
+  }
+
+  private CacheRegionUsage toCacheRegionUsage(CacheRegionStatistics regionStatistics) {
+
+    return new CacheRegionUsage(
+        regionStatistics.getRegionName(),
+        regionStatistics.getHitCount(),
+        regionStatistics.getMissCount(),
+        regionStatistics.getPutCount());
+  }
+}
@@ -0,0 +1,109 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.model.RosterService;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDemand;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDraft;
+import com.project.anesu.shiftplanner.managerservice.service.exception.ShiftValidationException;
+import com.project.anesu.shiftplanner.managerservice.service.util.OfficeAvailabilityIndex;
+import com.project.anesu.shiftplanner.managerservice.service.util.RosterSolver;
+import com.project.anesu.shiftplanner.managerservice.service.util.ScheduleValidator;
+import io.micrometer.core.annotation.Timed;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Timed("shiftplanner.service")
+public class RosterServiceImpl implements RosterService {
+
+  private final OfficeAvailabilityIndex officeAvailabilityIndex;
+  private final WorkingHoursRollupService workingHoursRollupService;
+  private final RosterSolver rosterSolver;
+
+  @Override
+  public RosterDraft proposeRoster(
+      Long officeLocationId, LocalDate dayInWeek, List<RosterDemand> demands) {
+
+    LocalDate weekStart = dayInWeek.with(DayOfWeek.MONDAY);
+    demands.forEach(demand -> validateDemand(demand, weekStart));
+
+    // The index leaves out employees on vacation or with a shift of the same type that day.
+    List<List<Long>> availableEmployees =
+        demands.stream()
+            .map(
+                demand ->
+                    officeAvailabilityIndex.getAvailableEmployees(
+                        officeLocationId, demand.shiftDate().toLocalDate(), demand.shiftType()))
+            .toList();
+    Set<Long> employeeIds = new HashSet<>();
+    availableEmployees.forEach(employeeIds::addAll);
+    List<WorkingHoursRollup> workingHoursRollups =
+        employeeIds.isEmpty()
+            ? List.of()
+            : workingHoursRollupService.getWorkingHoursRollups(
+                employeeIds, weekStart, weekStart.plusDays(6));
+
+    List<List<Long>> assignedEmployees =
+        rosterSolver.solve(demands, availableEmployees, workingHoursRollups);
+
+    List<ShiftRequest> shiftRequests = new ArrayList<>();
+    List<RosterDemand> unfilledDemands = new ArrayList<>();
+    for (int index = 0; index < demands.size(); index++) {
+      RosterDemand demand = demands.get(index);
+      List<Long> employees = assignedEmployees.get(index);
+      employees.forEach(
+          employeeId -> shiftRequests.add(shiftRequestOf(officeLocationId, demand, employeeId)));
+      if (employees.size() < demand.headcount()) {
+        unfilledDemands.add(demand.withHeadcount(demand.headcount() - employees.size()));
+      }
+    }
+    shiftRequests.sort(
+        Comparator.comparing(ShiftRequest::getShiftDate)
+            .thenComparing(ShiftRequest::getShiftType)
+            .thenComparing(ShiftRequest::getEmployeeId));
+
+    return new RosterDraft(officeLocationId, weekStart, shiftRequests, unfilledDemands);
+  }
+
+  private static void validateDemand(RosterDemand demand, LocalDate weekStart) {
+
+    if (demand.shiftDate() == null || demand.shiftType() == null) {
+      throw new ShiftValidationException("Shift date and shift type of a demand are required.");
+    }
+    LocalDate shiftDay = demand.shiftDate().toLocalDate();
+    if (shiftDay.isBefore(weekStart) || shiftDay.isAfter(weekStart.plusDays(6))) {
+      throw new ShiftValidationException(
+          "Demand on " + shiftDay + " lies outside the week starting " + weekStart + ".");
+    }
+    if (demand.headcount() < 0) {
+      throw new ShiftValidationException("Headcount of a demand must not be negative.");
+    }
+    if (demand.shiftLengthInHours() < 1
+        || !ScheduleValidator.allowsShiftWorkingHours(demand.shiftLengthInHours())) {
+      throw new ShiftValidationException(
+          "Shift length of " + demand.shiftLengthInHours() + " hours is not allowed.");
+    }
+  }
+
+  private static ShiftRequest shiftRequestOf(
+      Long officeLocationId, RosterDemand demand, Long employeeId) {
+
+    ShiftRequest shiftRequest = new ShiftRequest();
+    shiftRequest.setEmployeeId(employeeId);
+    shiftRequest.setOfficeLocationId(officeLocationId);
+    shiftRequest.setShiftDate(demand.shiftDate());
+    shiftRequest.setShiftType(demand.shiftType());
+    shiftRequest.setShiftLengthInHours(demand.shiftLengthInHours());
+    return shiftRequest;
+  }
+}
@@ -0,0 +1,359 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.model.ScheduleImportService;
+import com.project.anesu.shiftplanner.managerservice.model.ScheduleService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleImportError;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleImportResult;
+import com.project.anesu.shiftplanner.managerservice.service.exception.InvalidScheduleException;
+import com.project.anesu.shiftplanner.managerservice.service.util.ScheduleValidator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@Timed("shiftplanner.service")
+public class ScheduleImportServiceImpl implements ScheduleImportService {
+
+  private static final List<String> CSV_COLUMNS =
+      List.of("employeeId", "startDate", "endDate", "shiftDate", "shiftType", "workingHours");
+  private static final int EMPLOYEE_ID = 0;
+  private static final int START_DATE = 1;
+  private static final int END_DATE = 2;
+  private static final int SHIFT_DATE = 3;
+  private static final int SHIFT_TYPE = 4;
+  private static final int WORKING_HOURS = 5;
+
+  private final ScheduleService scheduleService;
+  private final ScheduleValidator scheduleValidator;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+  private final int chunkSize;
+
+  public ScheduleImportServiceImpl(
+      ScheduleService scheduleService,
+      ScheduleValidator scheduleValidator,
+      ObjectMapper objectMapper,
+      EntityManager entityManager,
+      @Value("${schedule.import.chunk-size:1000}") int chunkSize) {
+    this.scheduleService = scheduleService;
+    this.scheduleValidator = scheduleValidator;
+    this.objectMapper = objectMapper;
+    this.entityManager = entityManager;
+    this.chunkSize = Math.max(1, chunkSize);
+  }
+
+  @Override
+  public ScheduleImportResult importCsv(InputStream csv) throws IOException {
+
+    ScheduleImport scheduleImport = new ScheduleImport();
+    try (BufferedReader reader = readerOf(csv)) {
+      String header = reader.readLine();
+      if (header == null) {
+        return scheduleImport.finish();
+      }
+      int[] columns = csvColumns(header);
+      if (columns == null) {
+        scheduleImport.reject(1, "The header must name the columns " + CSV_COLUMNS + ".");
+        return scheduleImport.finish();
+      }
+
+      CsvSchedule csvSchedule = null;
+      long lineNumber = 1;
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+
+        String[] values = csvValues(line, columns);
+        if (values == null) {
+          scheduleImport.reject(lineNumber, "Expected " + CSV_COLUMNS.size() + " columns.");
+          continue;
+        }
+        if (csvSchedule == null || !csvSchedule.hasKeyOf(values)) {
+          scheduleImport.add(csvSchedule);
+          csvSchedule = new CsvSchedule(lineNumber, values);
+        }
+        csvSchedule.addShift(lineNumber, values);
+      }
+      scheduleImport.add(csvSchedule);
+    }
+    return scheduleImport.finish();
+  }
+
+  @Override
+  public ScheduleImportResult importNdjson(InputStream ndjson) throws IOException {
+
+    ScheduleImport scheduleImport = new ScheduleImport();
+    try (BufferedReader reader = readerOf(ndjson)) {
+      long lineNumber = 0;
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+
+        try {
+          Schedule schedule = objectMapper.readValue(line, Schedule.class);
+          if (schedule == null) {
+            scheduleImport.reject(lineNumber, "Expected a schedule object.");
+            continue;
+          }
+          scheduleImport.add(lineNumber, withoutIds(schedule));
+        } catch (JsonProcessingException e) {
+          scheduleImport.reject(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+        }
+      }
+    }
+    return scheduleImport.finish();
+  }
+
+  private Optional<String> validationFailure(Schedule schedule) {
+
+    if (schedule.getEmployeeId() == null) {
+      return Optional.of("Employee ID is missing.");
+    }
+    if (schedule.getShifts() != null) {
+      for (ShiftEntry shift : schedule.getShifts()) {
+        if (shift == null || shift.getShiftDate() == null) {
+          return Optional.of("Shift date is missing.");
+        }
+        if (shift.getShiftType() == null) {
+          return Optional.of("Shift type is missing.");
+        }
+        if (shift.getWorkingHours() == null
+            || shift.getWorkingHours() < 0
+            || !ScheduleValidator.allowsShiftWorkingHours(shift.getWorkingHours())) {
+          return Optional.of("Shift working hours are missing or out of range.");
+        }
+      }
+    }
+    if (schedule.getVacations() != null
+        && schedule.getVacations().stream()
+            .anyMatch(
+                vacation ->
+                    vacation == null
+                        || vacation.getStartDate() == null
+                        || vacation.getEndDate() == null)) {
+      return Optional.of("Vacation start date or end date is missing.");
+    }
+
+    try {
+      scheduleValidator.validateSchedule(schedule);
+      return Optional.empty();
+    } catch (InvalidScheduleException e) {
+      return Optional.of(e.getMessage());
+    }
+  }
+
+  private static Schedule withoutIds(Schedule schedule) {
+
+    schedule.setId(null);
+    schedule.setVersion(null);
+    if (schedule.getShifts() != null) {
+      schedule.getShifts().stream()
+          .filter(Objects::nonNull)
+          .forEach(shift -> shift.setShiftId(null));
+    }
+    if (schedule.getVacations() != null) {
+      schedule.getVacations().stream()
+          .filter(Objects::nonNull)
+          .forEach(vacation -> vacation.setId(null));
+    }
+    return schedule;
+  }
+
+  private static BufferedReader readerOf(InputStream inputStream) {
+
+    return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+  }
+
+  /** Maps each of {@link #CSV_COLUMNS} to its position in the file, or {@code null} if missing. */
+  private static int[] csvColumns(String header) {
+
+    List<String> names = Arrays.stream(header.split(",", -1)).map(String::strip).toList();
+    int[] columns = new int[CSV_COLUMNS.size()];
+    for (int column = 0; column < columns.length; column++) {
+      columns[column] = names.indexOf(CSV_COLUMNS.get(column));
+      if (columns[column] < 0) {
+        return null;
+      }
+    }
+    return columns;
+  }
+
+  /** Reads the values of a line in the order of {@link #CSV_COLUMNS}, {@code null} if too short. */
+  private static String[] csvValues(String line, int[] columns) {
+
+    String[] fields = line.split(",", -1);
+    String[] values = new String[columns.length];
+    for (int column = 0; column < columns.length; column++) {
+      if (columns[column] >= fields.length) {
+        return null;
+      }
+      values[column] = fields[columns[column]].strip();
+    }
+    return values;
+  }
+
+  private record ImportedSchedule(long line, Schedule schedule) {}
+
+  /** The lines of a CSV file that make up one schedule, and the first of them that was invalid. */
+  private static final class CsvSchedule {
+
+    private final long line;
+    private final String[] key;
+    private final List<ShiftEntry> shifts = new ArrayList<>();
+    private long totalWorkingHours;
+    private long invalidLine;
+    private String invalidReason;
+
+    CsvSchedule(long line, String[] values) {
+      this.line = line;
+      this.key = Arrays.copyOf(values, SHIFT_DATE);
+    }
+
+    boolean hasKeyOf(String[] values) {
+      return Arrays.equals(key, 0, SHIFT_DATE, values, 0, SHIFT_DATE);
+    }
+
+    void addShift(long lineNumber, String[] values) {
+      if (invalidReason != null) {
+        return;
+      }
+      try {
+        ShiftEntry shift =
+            ShiftEntry.builder()
+                .shiftDate(LocalDateTime.parse(values[SHIFT_DATE]))
+                .shiftType(ShiftType.valueOf(values[SHIFT_TYPE]))
+                .workingHours(Long.parseLong(values[WORKING_HOURS]))
+                .build();
+        shifts.add(shift);
+        totalWorkingHours += shift.getWorkingHours();
+      } catch (DateTimeParseException | IllegalArgumentException e) {
+        invalidLine = lineNumber;
+        invalidReason = "Invalid shift: " + e.getMessage();
+      }
+    }
+
+    Schedule toSchedule() {
+      return Schedule.builder()
+          .employeeId(Long.parseLong(key[EMPLOYEE_ID]))
+          .startDate(LocalDateTime.parse(key[START_DATE]))
+          .endDate(LocalDateTime.parse(key[END_DATE]))
+          .totalWorkingHours(totalWorkingHours)
+          .shifts(shifts)
+          .build();
+    }
+  }
+
+  /** The state of one import: the chunk being read and the outcome of the chunks before it. */
+  private final class ScheduleImport {
+
+    private final List<ImportedSchedule> chunk = new ArrayList<>();
+    private final List<ScheduleImportError> errors = new ArrayList<>();
+    private long importedSchedules;
+    private long importedShifts;
+
+    void add(long line, Schedule schedule) {
+      chunk.add(new ImportedSchedule(line, schedule));
+      if (chunk.size() >= chunkSize) {
+        importChunk();
+      }
+    }
+
+    void add(CsvSchedule csvSchedule) {
+      if (csvSchedule == null) {
+        return;
+      }
+      if (csvSchedule.invalidReason != null) {
+        reject(csvSchedule.invalidLine, csvSchedule.invalidReason);
+        return;
+      }
+      try {
+        add(csvSchedule.line, csvSchedule.toSchedule());
+      } catch (DateTimeParseException | IllegalArgumentException e) {
+        reject(csvSchedule.line, "Invalid schedule: " + e.getMessage());
+      }
+    }
+
+    void reject(long line, String message) {
+      errors.add(new ScheduleImportError(line, message));
+    }
+
+    ScheduleImportResult finish() {
+      importChunk();
+      errors.sort(Comparator.comparingLong(ScheduleImportError::line));
+      return new ScheduleImportResult(importedSchedules, importedShifts, List.copyOf(errors));
+    }
+
+    private void importChunk() {
+      if (chunk.isEmpty()) {
+        return;
+      }
+
+      List<Optional<String>> validationFailures =
+          chunk.parallelStream()
+              .map(importedSchedule -> validationFailure(importedSchedule.schedule()))
+              .toList();
+
+      List<Schedule> validSchedules = new ArrayList<>(chunk.size());
+      Map<Schedule, Long> lines = new IdentityHashMap<>();
+      for (int index = 0; index < chunk.size(); index++) {
+        ImportedSchedule importedSchedule = chunk.get(index);
+        Optional<String> validationFailure = validationFailures.get(index);
+        if (validationFailure.isPresent()) {
+          reject(importedSchedule.line(), validationFailure.get());
+        } else {
+          validSchedules.add(importedSchedule.schedule());
+          lines.put(importedSchedule.schedule(), importedSchedule.line());
+        }
+      }
+      chunk.clear();
+
+      if (validSchedules.isEmpty()) {
+        return;
+      }
+      try {
+        for (Schedule createdSchedule :
+            scheduleService.createSchedules(
+                validSchedules, (schedule, e) -> reject(lines.get(schedule), e.getMessage()))) {
+          importedSchedules++;
+          importedShifts +=
+              createdSchedule.getShifts() == null ? 0 : createdSchedule.getShifts().size();
+        }
+      } catch (RuntimeException e) {
+        // The chunk's transaction rolled back as a whole, so none of its schedules were created.
+        // Report them and carry on with the next chunk instead of failing the whole upload.
+        lines
+            .values()
+            .forEach(line -> reject(line, "Could not import schedule: " + e.getMessage()));
+      } finally {
+        // The request's persistence context outlives the chunk's transaction. Detach the created
+        // schedules, or every later flush would check them again.
+        entityManager.clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,338 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduleOutboxEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduleOutboxRequestType;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.ScheduleOutboxService;
+import com.project.anesu.shiftplanner.managerservice.model.ScheduleService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleSyncStatus;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleOutboxRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.util.OptimisticRetryExecutor;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies the schedule outbox on a single background thread. Every approval that writes outbox
+ * entries wakes the worker once it commits, and wake-ups that arrive while the worker is busy are
+ * merged into one more run. A periodic run picks up entries whose earlier run failed.
+ *
+ * <p>When a batch fails, its entries are applied again one per transaction, so a single entry that
+ * cannot be applied does not hold back the others. A failing entry is retried on later runs with a
+ * doubling delay and is left in the outbox for an operator once it runs out of attempts.
+ */
+@Slf4j
+@Service
+public class ScheduleOutboxServiceImpl implements ScheduleOutboxService {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final ScheduleOutboxRepository scheduleOutboxRepository;
+  private final ShiftRequestRepository shiftRequestRepository;
+  private final VacationRequestRepository vacationRequestRepository;
+  private final ScheduleService scheduleService;
+  private final OptimisticRetryExecutor optimisticRetryExecutor;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration retryDelay;
+
+  private final ExecutorService worker =
+      Executors.newSingleThreadExecutor(Thread.ofVirtual().name("schedule-outbox").factory());
+  private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+  private final ReentrantLock applyLock = new ReentrantLock();
+
+  public ScheduleOutboxServiceImpl(
+      ScheduleOutboxRepository scheduleOutboxRepository,
+      ShiftRequestRepository shiftRequestRepository,
+      VacationRequestRepository vacationRequestRepository,
+      ScheduleService scheduleService,
+      OptimisticRetryExecutor optimisticRetryExecutor,
+      @Value("${schedule.outbox.batch-size:500}") int batchSize,
+      @Value("${schedule.outbox.max-attempts:5}") int maxAttempts,
+      @Value("${schedule.outbox.retry-delay:1m}") Duration retryDelay) {
+    this.scheduleOutboxRepository = scheduleOutboxRepository;
+    this.shiftRequestRepository = shiftRequestRepository;
+    this.vacationRequestRepository = vacationRequestRepository;
+    this.scheduleService = scheduleService;
+    this.optimisticRetryExecutor = optimisticRetryExecutor;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.retryDelay = retryDelay;
+  }
+
+  @Override
+  public void recordApprovedShiftRequests(Collection<ShiftRequest> approvedShiftRequests) {
+
+    LocalDateTime now = LocalDateTime.now();
+    record(
+        approvedShiftRequests.stream()
+            .map(
+                shiftRequest ->
+                    outboxEntry(
+                        ScheduleOutboxRequestType.SHIFT_REQUEST,
+                        shiftRequest.getId(),
+                        shiftRequest.getEmployeeId(),
+                        now))
+            .toList());
+  }
+
+  @Override
+  public void recordApprovedVacationRequests(Collection<VacationRequest> approvedVacationRequests) {
+
+    LocalDateTime now = LocalDateTime.now();
+    record(
+        approvedVacationRequests.stream()
+            .map(
+                vacationRequest ->
+                    outboxEntry(
+                        ScheduleOutboxRequestType.VACATION_REQUEST,
+                        vacationRequest.getId(),
+                        vacationRequest.getEmployeeId(),
+                        now))
+            .toList());
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${schedule.outbox.poll-interval:30s}")
+  public int applyPendingEntries() {
+
+    applyLock.lock();
+    try {
+      int applied = 0;
+      int entriesInBatch;
+      do {
+        try {
+          entriesInBatch = optimisticRetryExecutor.execute(this::applyOldestEntries);
+          applied += entriesInBatch;
+        } catch (RuntimeException e) {
+          log.warn("Could not apply a batch of the schedule outbox, applying it entry by entry", e);
+          List<Long> outboxEntryIds =
+              optimisticRetryExecutor.execute(
+                  () -> findOldestDueEntries().stream().map(ScheduleOutboxEntry::getId).toList());
+          entriesInBatch = outboxEntryIds.size();
+          applied += applyEntriesOneByOne(outboxEntryIds);
+        }
+      } while (entriesInBatch == batchSize);
+      return applied;
+    } finally {
+      applyLock.unlock();
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ScheduleSyncStatus getSyncStatus(Long employeeId) {
+
+    long pendingEntries =
+        employeeId == null
+            ? scheduleOutboxRepository.count()
+            : scheduleOutboxRepository.countByEmployeeId(employeeId);
+    long failedEntries =
+        employeeId == null
+            ? scheduleOutboxRepository.countByAttemptsGreaterThanEqual(maxAttempts)
+            : scheduleOutboxRepository.countByEmployeeIdAndAttemptsGreaterThanEqual(
+                employeeId, maxAttempts);
+    LocalDateTime oldestPendingSince =
+        (employeeId == null
+                ? scheduleOutboxRepository.findFirstByOrderByIdAsc()
+                : scheduleOutboxRepository.findFirstByEmployeeIdOrderByIdAsc(employeeId))
+            .map(ScheduleOutboxEntry::getCreatedAt)
+            .orElse(null);
+
+    return new ScheduleSyncStatus(
+        pendingEntries == 0, pendingEntries, failedEntries, oldestPendingSince);
+  }
+
+  @PreDestroy
+  public void shutDown() {
+    worker.shutdownNow();
+  }
+
+  private void record(List<ScheduleOutboxEntry> outboxEntries) {
+
+    if (outboxEntries.isEmpty()) {
+      return;
+    }
+    scheduleOutboxRepository.saveAll(outboxEntries);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              wakeUp();
+            }
+          });
+    } else {
+      wakeUp();
+    }
+  }
+
+  private void wakeUp() {
+
+    if (!wakeUpPending.compareAndSet(false, true)) {
+      return;
+    }
+    worker.execute(
+        () -> {
+          wakeUpPending.set(false);
+          try {
+            applyPendingEntries();
+          } catch (RuntimeException e) {
+            log.error("Could not apply the schedule outbox, retrying on the next poll", e);
+          }
+        });
+  }
+
+  private List<ScheduleOutboxEntry> findOldestDueEntries() {
+
+    return scheduleOutboxRepository.findOldestDue(
+        maxAttempts, LocalDateTime.now(), Limit.of(batchSize));
+  }
+
+  private int applyOldestEntries() {
+
+    return applyEntries(findOldestDueEntries());
+  }
+
+  /** Applies each entry in its own transaction, recording the failure of any that fails. */
+  private int applyEntriesOneByOne(List<Long> outboxEntryIds) {
+
+    int applied = 0;
+    for (Long outboxEntryId : outboxEntryIds) {
+      try {
+        applied +=
+            optimisticRetryExecutor.execute(
+                () ->
+                    scheduleOutboxRepository
+                        .findLockedById(outboxEntryId)
+                        .map(outboxEntry -> applyEntries(List.of(outboxEntry)))
+                        .orElse(0));
+      } catch (RuntimeException e) {
+        optimisticRetryExecutor.execute(() -> recordFailedAttempt(outboxEntryId, e));
+      }
+    }
+    return applied;
+  }
+
+  private int recordFailedAttempt(Long outboxEntryId, RuntimeException failure) {
+
+    scheduleOutboxRepository
+        .findLockedById(outboxEntryId)
+        .ifPresent(
+            outboxEntry -> {
+              int attempts = outboxEntry.getAttempts() + 1;
+              outboxEntry.setAttempts(attempts);
+              outboxEntry.setNextAttemptAt(
+                  LocalDateTime.now()
+                      .plus(retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20))));
+              String error = String.valueOf(failure);
+              outboxEntry.setLastError(
+                  error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+              if (attempts >= maxAttempts) {
+                log.error(
+                    "Giving up on schedule outbox entry {} after {} attempts",
+                    outboxEntryId,
+                    attempts,
+                    failure);
+              } else {
+                log.warn(
+                    "Could not apply schedule outbox entry {}, attempt {} of {}",
+                    outboxEntryId,
+                    attempts,
+                    maxAttempts,
+                    failure);
+              }
+            });
+    return 0;
+  }
+
+  private int applyEntries(List<ScheduleOutboxEntry> outboxEntries) {
+
+    if (outboxEntries.isEmpty()) {
+      return 0;
+    }
+
+    scheduleService.addShiftsToSchedules(
+        findApprovedRequests(
+            outboxEntries,
+            ScheduleOutboxRequestType.SHIFT_REQUEST,
+            shiftRequestIds ->
+                shiftRequestRepository.findByIdIn(shiftRequestIds).stream()
+                    .filter(
+                        shiftRequest ->
+                            ShiftRequestStatus.APPROVED.equals(shiftRequest.getStatus()))
+                    .collect(Collectors.toMap(ShiftRequest::getId, Function.identity()))));
+    scheduleService.addApprovedVacationRequestsToSchedules(
+        findApprovedRequests(
+            outboxEntries,
+            ScheduleOutboxRequestType.VACATION_REQUEST,
+            vacationRequestIds ->
+                vacationRequestRepository.findByIdIn(vacationRequestIds).stream()
+                    .filter(
+                        vacationRequest ->
+                            VacationRequestStatus.APPROVED.equals(vacationRequest.getStatus()))
+                    .collect(Collectors.toMap(VacationRequest::getId, Function.identity()))));
+
+    scheduleOutboxRepository.deleteAllByIdInBatch(
+        outboxEntries.stream().map(ScheduleOutboxEntry::getId).toList());
+    return outboxEntries.size();
+  }
+
+  /** Loads the approved requests of one type referenced by the outbox entries, in outbox order. */
+  private <T> List<T> findApprovedRequests(
+      List<ScheduleOutboxEntry> outboxEntries,
+      ScheduleOutboxRequestType requestType,
+      Function<List<Long>, Map<Long, T>> findApprovedById) {
+
+    List<Long> requestIds =
+        outboxEntries.stream()
+            .filter(outboxEntry -> requestType.equals(outboxEntry.getRequestType()))
+            .map(ScheduleOutboxEntry::getRequestId)
+            .distinct()
+            .toList();
+    if (requestIds.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, T> approvedById = findApprovedById.apply(requestIds);
+    return requestIds.stream().filter(approvedById::containsKey).map(approvedById::get).toList();
+  }
+
+  private static ScheduleOutboxEntry outboxEntry(
+      ScheduleOutboxRequestType requestType,
+      Long requestId,
+      Long employeeId,
+      LocalDateTime createdAt) {
+
+    return ScheduleOutboxEntry.builder()
+        .requestType(requestType)
+        .requestId(requestId)
+        .employeeId(employeeId)
+        .createdAt(createdAt)
+        .build();
+  }
+}
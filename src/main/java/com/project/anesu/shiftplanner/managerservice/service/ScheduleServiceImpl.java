@@ -1,40 +1,103 @@
 package com.project.anesu.shiftplanner.managerservice.service;
 
 import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.VacationInterval;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationEntry;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
 import com.project.anesu.shiftplanner.managerservice.model.ScheduleService;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.OptimisticRetryStatistics;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleExportEntry;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleResponse;
 import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleRepository;
 import com.project.anesu.shiftplanner.managerservice.service.exception.InvalidScheduleException;
 import com.project.anesu.shiftplanner.managerservice.service.exception.ScheduleNotFoundException;
+import com.project.anesu.shiftplanner.managerservice.service.util.EmployeeLocks;
+import com.project.anesu.shiftplanner.managerservice.service.util.OfficeAvailabilityIndex;
+import com.project.anesu.shiftplanner.managerservice.service.util.OptimisticRetryExecutor;
 import com.project.anesu.shiftplanner.managerservice.service.util.ScheduleValidator;
+import io.micrometer.core.annotation.Timed;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
+@Timed("shiftplanner.service")
 public class ScheduleServiceImpl implements ScheduleService {
 
   private static final String SCHEDULE_NOT_FOUND_EXCEPTION = "Schedule not found with id ";
   private final ScheduleRepository scheduleRepository;
   private final ScheduleValidator scheduleValidator;
+  private final WorkingHoursRollupService workingHoursRollupService;
+  private final OfficeAvailabilityIndex officeAvailabilityIndex;
+  private final OptimisticRetryExecutor optimisticRetryExecutor;
+  private final EmployeeLocks employeeLocks;
 
   @Override
+  @Transactional
   public Schedule createSchedule(Schedule schedule) {
 
-    return scheduleRepository.save(schedule);
+    Schedule createdSchedule = scheduleRepository.save(schedule);
+    workingHoursRollupService.recordShiftChanges(
+        createdSchedule.getEmployeeId(), shiftsOf(createdSchedule), List.of());
+    officeAvailabilityIndex.refreshEmployee(createdSchedule.getEmployeeId());
+
+    return createdSchedule;
+  }
+
+  @Override
+  public List<Schedule> createSchedules(
+      List<Schedule> schedules, BiConsumer<Schedule, InvalidScheduleException> rejectedSchedules) {
+
+    Set<Long> employeeIds =
+        schedules.stream().map(Schedule::getEmployeeId).collect(Collectors.toSet());
+
+    // Rejections are only reported once the schedules are committed, so a retried attempt does
+    // not report the same schedule twice.
+    Map<Schedule, InvalidScheduleException> rejections = new IdentityHashMap<>();
+    List<Schedule> createdSchedules =
+        employeeLocks.callLocked(
+            employeeIds,
+            () ->
+                optimisticRetryExecutor.execute(
+                    () -> {
+                      rejections.clear();
+                      return createValidSchedules(schedules, rejections::put);
+                    }));
+    rejections.forEach(rejectedSchedules);
+
+    return createdSchedules;
   }
 
   @Override
+  @Transactional
   public Schedule updateEmployeeSchedule(Long scheduleId, Schedule updatedSchedule)
       throws ScheduleNotFoundException {
 
@@ -44,76 +107,231 @@ public class ScheduleServiceImpl implements ScheduleService {
             .orElseThrow(
                 () -> new ScheduleNotFoundException(SCHEDULE_NOT_FOUND_EXCEPTION + scheduleId));
 
+    List<ShiftEntry> previousShifts = List.copyOf(shiftsOf(existingEmployeeSchedule));
+
     Schedule newlyUpdatedSchedule =
         updateExistingEmployeeSchedule(updatedSchedule, existingEmployeeSchedule);
 
     scheduleValidator.validateSchedule(newlyUpdatedSchedule);
+    scheduleValidator.validateWeeklyWorkingHours(
+        newlyUpdatedSchedule.getEmployeeId(), shiftsOf(newlyUpdatedSchedule), previousShifts);
+
+    Schedule savedSchedule = scheduleRepository.save(newlyUpdatedSchedule);
+    workingHoursRollupService.recordShiftChanges(
+        savedSchedule.getEmployeeId(), shiftsOf(savedSchedule), previousShifts);
+    officeAvailabilityIndex.refreshEmployee(savedSchedule.getEmployeeId());
 
-    return scheduleRepository.save(newlyUpdatedSchedule);
+    return savedSchedule;
   }
 
   @Override
-  public Schedule addShiftToSchedule(Long employeeId, ShiftRequest approvedShiftRequest) {
-
-    validateShiftRequest(approvedShiftRequest);
-
-    Optional<Schedule> scheduleInApprovedShiftCalenderWeek =
-        getScheduleForApprovedShiftCalendarWeek(employeeId, approvedShiftRequest);
+  @Transactional
+  public List<Schedule> addShiftsToSchedules(List<ShiftRequest> approvedShiftRequests) {
 
-    if (scheduleInApprovedShiftCalenderWeek.isPresent()) {
+    approvedShiftRequests.forEach(this::validateShiftRequest);
 
-      return addNewShiftEntryToExistingSchedule(
-          approvedShiftRequest, scheduleInApprovedShiftCalenderWeek);
+    Map<EmployeeCalendarWeek, List<ShiftRequest>> approvedShiftsByEmployeeWeek =
+        approvedShiftRequests.stream()
+            .collect(
+                Collectors.groupingBy(
+                    shift -> EmployeeCalendarWeek.of(shift.getEmployeeId(), shift.getShiftDate()),
+                    LinkedHashMap::new,
+                    Collectors.toList()));
 
-    } else {
-      Schedule schedule = createNewScheduleForApprovedShift(employeeId, approvedShiftRequest);
-
-      return scheduleRepository.save(schedule);
+    if (approvedShiftsByEmployeeWeek.isEmpty()) {
+      return List.of();
     }
+    officeAvailabilityIndex.recordApprovedShiftRequests(approvedShiftRequests);
+
+    Map<EmployeeCalendarWeek, Schedule> existingSchedules =
+        getSchedulesForCalendarWeeks(approvedShiftsByEmployeeWeek.keySet());
+
+    List<Schedule> affectedSchedules = new ArrayList<>();
+    approvedShiftsByEmployeeWeek.forEach(
+        (employeeWeek, approvedShifts) -> {
+          Schedule schedule = existingSchedules.get(employeeWeek);
+
+          if (schedule == null) {
+            affectedSchedules.add(
+                createNewScheduleForApprovedShifts(employeeWeek.employeeId(), approvedShifts));
+          } else {
+            if (schedule.getShifts() == null) {
+              schedule.setShifts(new ArrayList<>());
+            }
+            approvedShifts.forEach(
+                approvedShift ->
+                    schedule.getShifts().add(ShiftEntry.fromApprovedShiftEntry(approvedShift)));
+            affectedSchedules.add(schedule);
+          }
+        });
+
+    return scheduleRepository.saveAll(affectedSchedules);
   }
 
   @Override
-  public Schedule addApprovedVacationRequestToSchedule(
-      Long employeeId, VacationRequest approvedVacationRequest) {
+  @Transactional
+  public List<Schedule> addApprovedVacationRequestsToSchedules(
+      List<VacationRequest> approvedVacationRequests) {
+
+    approvedVacationRequests.forEach(this::validateVacationRequest);
+
+    Map<EmployeeCalendarWeek, List<VacationRequest>> approvedVacationsByEmployeeWeek =
+        approvedVacationRequests.stream()
+            .collect(
+                Collectors.groupingBy(
+                    vacation ->
+                        EmployeeCalendarWeek.of(vacation.getEmployeeId(), vacation.getStartDate()),
+                    LinkedHashMap::new,
+                    Collectors.toList()));
+
+    if (approvedVacationsByEmployeeWeek.isEmpty()) {
+      return List.of();
+    }
+    officeAvailabilityIndex.recordApprovedVacationRequests(approvedVacationRequests);
+
+    Map<EmployeeCalendarWeek, Schedule> existingSchedules =
+        getSchedulesForCalendarWeeks(approvedVacationsByEmployeeWeek.keySet());
+    fetchVacations(existingSchedules.values());
+
+    List<Schedule> affectedSchedules = new ArrayList<>();
+    approvedVacationsByEmployeeWeek.forEach(
+        (employeeWeek, approvedVacations) -> {
+          Schedule schedule = existingSchedules.get(employeeWeek);
+
+          if (schedule == null) {
+            affectedSchedules.add(
+                createNewScheduleForApprovedVacationRequests(
+                    employeeWeek.employeeId(), approvedVacations));
+          } else {
+            if (schedule.getVacations() == null) {
+              schedule.setVacations(new ArrayList<>());
+            }
+            approvedVacations.forEach(
+                approvedVacation ->
+                    schedule
+                        .getVacations()
+                        .add(VacationEntry.fromApprovedVacationRequest(approvedVacation)));
+            affectedSchedules.add(schedule);
+          }
+        });
+
+    return scheduleRepository.saveAll(affectedSchedules);
+  }
 
-    validateVacationRequest(approvedVacationRequest);
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<ScheduleResponse> getScheduleById(Long scheduleId) {
 
-    Optional<Schedule> scheduleInApprovedVacationCalenderWeek =
-        getScheduleForApprovedVacationCalendarWeek(employeeId, approvedVacationRequest);
+    return scheduleRepository.findById(scheduleId).map(ScheduleResponse::from);
+  }
 
-    if (scheduleInApprovedVacationCalenderWeek.isPresent()) {
+  @Override
+  @Transactional(readOnly = true)
+  public List<ScheduleResponse> getAllEmployeeSchedulesWithinGivenDateRange(
+      Long scheduleId, LocalDateTime startDate, LocalDateTime endDate) {
 
-      return addNewVacationEntryToExistingSchedule(
-          approvedVacationRequest, scheduleInApprovedVacationCalenderWeek);
+    List<Schedule> schedules =
+        scheduleRepository.findByEmployeeIdAndDateRange(scheduleId, startDate, endDate);
+    fetchVacations(schedules);
 
-    } else {
-      Schedule schedule =
-          createNewScheduleForApprovedVacationRequest(employeeId, approvedVacationRequest);
+    return schedules.stream().map(ScheduleResponse::from).toList();
+  }
 
-      return scheduleRepository.save(schedule);
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachScheduleExportEntry(
+      Long officeLocationId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      Consumer<ScheduleExportEntry> action) {
+
+    try (Stream<ScheduleExportEntry> shifts =
+        scheduleRepository.streamShiftExport(officeLocationId, startDate, endDate)) {
+      shifts.forEach(action);
+    }
+    try (Stream<ScheduleExportEntry> vacations =
+        scheduleRepository.streamVacationExport(officeLocationId, startDate, endDate)) {
+      vacations.forEach(action);
     }
   }
 
   @Override
-  public Optional<Schedule> getScheduleById(Long scheduleId) {
+  public List<VacationInterval> getScheduledVacationsWithinGivenDateRange(
+      Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
 
-    return scheduleRepository.findById(scheduleId);
+    return scheduleRepository.findVacationIntervalsInRange(employeeId, startDate, endDate);
   }
 
   @Override
-  public Optional<List<Schedule>> getAllEmployeeSchedulesWithinGivenDateRange(
-      Long scheduleId, LocalDateTime startDate, LocalDateTime endDate) {
+  public List<Long> getAvailableEmployees(
+      Long officeLocationId, LocalDate date, ShiftType shiftType) {
+
+    return officeAvailabilityIndex.getAvailableEmployees(officeLocationId, date, shiftType);
+  }
 
-    return scheduleRepository.findByEmployeeIdAndDateRange(scheduleId, startDate, endDate);
+  @Override
+  public OptimisticRetryStatistics getOptimisticRetryStatistics() {
+    return optimisticRetryExecutor.getStatistics();
   }
 
   @Override
+  @Transactional
   public void deleteSchedule(Long scheduleId) throws ScheduleNotFoundException {
 
-    if (!scheduleRepository.existsById(scheduleId)) {
-      throw new ScheduleNotFoundException(SCHEDULE_NOT_FOUND_EXCEPTION + scheduleId);
+    Schedule schedule =
+        scheduleRepository
+            .findById(scheduleId)
+            .orElseThrow(
+                () -> new ScheduleNotFoundException(SCHEDULE_NOT_FOUND_EXCEPTION + scheduleId));
+
+    workingHoursRollupService.recordShiftChanges(
+        schedule.getEmployeeId(), List.of(), shiftsOf(schedule));
+    scheduleRepository.delete(schedule);
+    officeAvailabilityIndex.refreshEmployee(schedule.getEmployeeId());
+  }
+
+  private List<Schedule> createValidSchedules(
+      List<Schedule> schedules, BiConsumer<Schedule, InvalidScheduleException> rejectedSchedules) {
+
+    Map<EmployeeCalendarWeek, Long> weeklyWorkingHours = getWeeklyWorkingHours(schedules);
+
+    List<Schedule> acceptedSchedules = new ArrayList<>();
+    Map<Long, List<ShiftEntry>> addedShiftsByEmployee = new HashMap<>();
+    for (Schedule schedule : schedules) {
+      Long employeeId = schedule.getEmployeeId();
+      try {
+        scheduleValidator.validateWeeklyWorkingHours(
+            shiftsOf(schedule),
+            List.of(),
+            weekStart ->
+                weeklyWorkingHours.getOrDefault(
+                    new EmployeeCalendarWeek(employeeId, weekStart), 0L));
+      } catch (InvalidScheduleException e) {
+        rejectedSchedules.accept(schedule, e);
+        continue;
+      }
+
+      shiftsOf(schedule)
+          .forEach(
+              shift ->
+                  weeklyWorkingHours.merge(
+                      EmployeeCalendarWeek.of(employeeId, shift.getShiftDate()),
+                      shift.getWorkingHours() == null ? 0 : shift.getWorkingHours(),
+                      Long::sum));
+      addedShiftsByEmployee
+          .computeIfAbsent(employeeId, id -> new ArrayList<>())
+          .addAll(shiftsOf(schedule));
+      acceptedSchedules.add(schedule);
+    }
+
+    if (acceptedSchedules.isEmpty()) {
+      return List.of();
     }
-    scheduleRepository.deleteById(scheduleId);
+    workingHoursRollupService.recordAddedShifts(addedShiftsByEmployee);
+    List<Schedule> createdSchedules = scheduleRepository.saveAll(acceptedSchedules);
+    officeAvailabilityIndex.recordCreatedSchedules(createdSchedules);
+
+    return createdSchedules;
   }
 
   private Schedule updateExistingEmployeeSchedule(
@@ -127,6 +345,18 @@ public class ScheduleServiceImpl implements ScheduleService {
     return existingSchedule;
   }
 
+  private void fetchVacations(Collection<Schedule> schedules) {
+
+    if (!schedules.isEmpty()) {
+      scheduleRepository.fetchVacations(schedules);
+    }
+  }
+
+  private List<ShiftEntry> shiftsOf(Schedule schedule) {
+
+    return schedule.getShifts() == null ? List.of() : schedule.getShifts();
+  }
+
   private LocalDateTime determineShiftEndDate(ShiftRequest approvedShiftRequest) {
 
     return approvedShiftRequest
@@ -142,51 +372,31 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
   }
 
-  private Schedule addNewVacationEntryToExistingSchedule(
-      VacationRequest approvedVacationRequest,
-      Optional<Schedule> scheduleInApprovedVacationCalenderWeek) {
-
-    if (scheduleInApprovedVacationCalenderWeek.isPresent()) {
-      Schedule schedule = scheduleInApprovedVacationCalenderWeek.get();
-      schedule
-          .getVacations()
-          .add(VacationEntry.fromApprovedVacationRequest(approvedVacationRequest));
-      return scheduleRepository.save(schedule);
-    } else {
-      throw new IllegalArgumentException(
-          "No schedule found for the approved vacation calendar week");
-    }
-  }
-
-  private Schedule createNewScheduleForApprovedVacationRequest(
-      Long employeeId, VacationRequest approvedVacationRequest) {
+  private Schedule createNewScheduleForApprovedVacationRequests(
+      Long employeeId, List<VacationRequest> approvedVacationRequests) {
 
     List<VacationEntry> vacationEntries = new ArrayList<>();
-
-    VacationEntry vacationEntry =
-        VacationEntry.fromApprovedVacationRequest(approvedVacationRequest);
-    vacationEntries.add(vacationEntry);
+    approvedVacationRequests.forEach(
+        approvedVacationRequest ->
+            vacationEntries.add(
+                VacationEntry.fromApprovedVacationRequest(approvedVacationRequest)));
 
     return Schedule.builder()
         .employeeId(employeeId)
-        .startDate(approvedVacationRequest.getStartDate())
-        .endDate(approvedVacationRequest.getEndDate())
+        .startDate(
+            approvedVacationRequests.stream()
+                .map(VacationRequest::getStartDate)
+                .min(Comparator.naturalOrder())
+                .orElseThrow())
+        .endDate(
+            approvedVacationRequests.stream()
+                .map(VacationRequest::getEndDate)
+                .max(Comparator.naturalOrder())
+                .orElseThrow())
         .vacations(vacationEntries)
         .build();
   }
 
-  private Optional<Schedule> getScheduleForApprovedVacationCalendarWeek(
-      Long employeeId, VacationRequest approvedVacationRequest) {
-
-    LocalDateTime startOfVacationCalendarWeek =
-        approvedVacationRequest.getStartDate().with(DayOfWeek.MONDAY);
-    LocalDateTime endOfVacationCalendarWeek =
-        approvedVacationRequest.getEndDate().with(DayOfWeek.SUNDAY);
-
-    return scheduleRepository.findByEmployeeIdAndWeekRange(
-        employeeId, startOfVacationCalendarWeek, endOfVacationCalendarWeek);
-  }
-
   private void validateShiftRequest(ShiftRequest approvedShiftRequest) {
 
     if (!ShiftRequestStatus.APPROVED.equals(approvedShiftRequest.getStatus())) {
@@ -195,44 +405,106 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
   }
 
-  private Schedule addNewShiftEntryToExistingSchedule(
-      ShiftRequest approvedShiftRequest, Optional<Schedule> scheduleInApprovedShiftCalenderWeek) {
-
-    if (scheduleInApprovedShiftCalenderWeek.isPresent()) {
-      Schedule schedule = scheduleInApprovedShiftCalenderWeek.get();
-      schedule.getShifts().add(ShiftEntry.fromApprovedShiftEntry(approvedShiftRequest));
-      return scheduleRepository.save(schedule);
-    } else {
-      throw new IllegalArgumentException("No schedule found for the approved shift calendar week");
+  private Map<EmployeeCalendarWeek, Schedule> getSchedulesForCalendarWeeks(
+      Set<EmployeeCalendarWeek> employeeWeeks) {
+
+    Set<Long> employeeIds =
+        employeeWeeks.stream().map(EmployeeCalendarWeek::employeeId).collect(Collectors.toSet());
+    LocalDate firstCalendarWeek =
+        employeeWeeks.stream()
+            .map(EmployeeCalendarWeek::weekStart)
+            .min(Comparator.naturalOrder())
+            .orElseThrow();
+    LocalDate lastCalendarWeek =
+        employeeWeeks.stream()
+            .map(EmployeeCalendarWeek::weekStart)
+            .max(Comparator.naturalOrder())
+            .orElseThrow();
+
+    Map<EmployeeCalendarWeek, Schedule> schedulesByEmployeeWeek = new HashMap<>();
+    for (Schedule schedule :
+        scheduleRepository.findByEmployeeIdsAndDateRange(
+            employeeIds, firstCalendarWeek.atStartOfDay(), endOfCalendarWeek(lastCalendarWeek))) {
+      schedulesByEmployeeWeek.putIfAbsent(
+          EmployeeCalendarWeek.of(schedule.getEmployeeId(), schedule.getStartDate()), schedule);
     }
+    return schedulesByEmployeeWeek;
   }
 
-  private Optional<Schedule> getScheduleForApprovedShiftCalendarWeek(
-      Long employeeId, ShiftRequest approvedShiftRequest) {
-
-    LocalDateTime startOfShiftCalendarWeek =
-        approvedShiftRequest.getShiftDate().with(DayOfWeek.MONDAY);
-    LocalDateTime endOfShiftCalendarWeek =
-        approvedShiftRequest.getShiftDate().with(DayOfWeek.SUNDAY);
+  private Map<EmployeeCalendarWeek, Long> getWeeklyWorkingHours(List<Schedule> schedules) {
+
+    Set<Long> employeeIds = new HashSet<>();
+    LocalDate firstCalendarWeek = null;
+    LocalDate lastCalendarWeek = null;
+    for (Schedule schedule : schedules) {
+      for (ShiftEntry shift : shiftsOf(schedule)) {
+        LocalDate calendarWeek = startOfCalendarWeek(shift.getShiftDate());
+        employeeIds.add(schedule.getEmployeeId());
+        if (firstCalendarWeek == null || calendarWeek.isBefore(firstCalendarWeek)) {
+          firstCalendarWeek = calendarWeek;
+        }
+        if (lastCalendarWeek == null || calendarWeek.isAfter(lastCalendarWeek)) {
+          lastCalendarWeek = calendarWeek;
+        }
+      }
+    }
 
-    return scheduleRepository.findByEmployeeIdAndWeekRange(
-        employeeId, startOfShiftCalendarWeek, endOfShiftCalendarWeek);
+    Map<EmployeeCalendarWeek, Long> weeklyWorkingHours = new HashMap<>();
+    if (employeeIds.isEmpty()) {
+      return weeklyWorkingHours;
+    }
+    for (WorkingHoursRollup rollup :
+        workingHoursRollupService.getWorkingHoursRollups(
+            employeeIds, firstCalendarWeek, lastCalendarWeek)) {
+      if (rollup.getPeriod() == WorkingHoursPeriod.WEEK) {
+        weeklyWorkingHours.put(
+            new EmployeeCalendarWeek(rollup.getEmployeeId(), rollup.getPeriodStart()),
+            rollup.getWorkingHours());
+      }
+    }
+    return weeklyWorkingHours;
   }
 
-  private Schedule createNewScheduleForApprovedShift(
-      Long employeeId, ShiftRequest approvedShiftRequest) {
+  private Schedule createNewScheduleForApprovedShifts(
+      Long employeeId, List<ShiftRequest> approvedShiftRequests) {
 
     List<ShiftEntry> shiftEntries = new ArrayList<>();
-
-    ShiftEntry shiftEntry = ShiftEntry.fromApprovedShiftEntry(approvedShiftRequest);
-    shiftEntries.add(shiftEntry);
+    approvedShiftRequests.forEach(
+        approvedShiftRequest ->
+            shiftEntries.add(ShiftEntry.fromApprovedShiftEntry(approvedShiftRequest)));
 
     return Schedule.builder()
         .employeeId(employeeId)
-        .startDate(approvedShiftRequest.getShiftDate())
-        .endDate(determineShiftEndDate(approvedShiftRequest))
-        .totalWorkingHours(approvedShiftRequest.getShiftLengthInHours())
+        .startDate(
+            approvedShiftRequests.stream()
+                .map(ShiftRequest::getShiftDate)
+                .min(Comparator.naturalOrder())
+                .orElseThrow())
+        .endDate(
+            approvedShiftRequests.stream()
+                .map(this::determineShiftEndDate)
+                .max(Comparator.naturalOrder())
+                .orElseThrow())
+        .totalWorkingHours(
+            approvedShiftRequests.stream().mapToLong(ShiftRequest::getShiftLengthInHours).sum())
         .shifts(shiftEntries)
         .build();
   }
+
+  private static LocalDate startOfCalendarWeek(LocalDateTime date) {
+
+    return date.toLocalDate().with(DayOfWeek.MONDAY);
+  }
+
+  private static LocalDateTime endOfCalendarWeek(LocalDate calendarWeek) {
+
+    return calendarWeek.with(DayOfWeek.SUNDAY).atTime(LocalTime.MAX);
+  }
+
+  private record EmployeeCalendarWeek(Long employeeId, LocalDate weekStart) {
+
+    static EmployeeCalendarWeek of(Long employeeId, LocalDateTime date) {
+      return new EmployeeCalendarWeek(employeeId, startOfCalendarWeek(date));
+    }
+  }
 }
@@ -1,34 +1,104 @@
 package com.project.anesu.shiftplanner.managerservice.service;
 
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
-import com.project.anesu.shiftplanner.managerservice.model.ScheduleService;
+import com.project.anesu.shiftplanner.managerservice.model.ScheduleOutboxService;
 import com.project.anesu.shiftplanner.managerservice.model.ShiftRequestService;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.DecisionResult;
+import com.project.anesu.shiftplanner.managerservice.model.dto.KeysetPage;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RejectedShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ShiftRequestSubmission;
 import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
 import com.project.anesu.shiftplanner.managerservice.service.exception.ShiftRequestNotFoundException;
+import com.project.anesu.shiftplanner.managerservice.service.util.EmployeeLocks;
+import com.project.anesu.shiftplanner.managerservice.service.util.KeysetPagination;
+import com.project.anesu.shiftplanner.managerservice.service.util.OfficeAvailabilityIndex;
+import com.project.anesu.shiftplanner.managerservice.service.util.OptimisticRetryExecutor;
 import com.project.anesu.shiftplanner.managerservice.service.util.ShiftRequestValidator;
+import io.micrometer.core.annotation.Timed;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
+@Timed("shiftplanner.service")
 public class ShiftRequestServiceImpl implements ShiftRequestService {
 
   private final ShiftRequestRepository shiftRequestRepository;
   private final ShiftRequestValidator shiftRequestValidator;
-  private final ScheduleService scheduleService;
+  private final ScheduleOutboxService scheduleOutboxService;
+  private final WorkingHoursRollupService workingHoursRollupService;
+  private final OfficeAvailabilityIndex officeAvailabilityIndex;
+  private final OptimisticRetryExecutor optimisticRetryExecutor;
+  private final EmployeeLocks employeeLocks;
 
   @Override
   public ShiftRequest sendShiftRequestToEmployee(Long employeeId, ShiftRequest shiftRequest) {
 
-    shiftRequestValidator.validateShiftRequest(shiftRequest, shiftRequestRepository);
-
     shiftRequest.setEmployeeId(employeeId);
+    shiftRequestValidator.validateShiftRequest(shiftRequest);
+
     shiftRequest.setStatus(ShiftRequestStatus.PENDING);
 
-    return shiftRequestRepository.save(shiftRequest);
+    ShiftRequest savedShiftRequest = shiftRequestRepository.save(shiftRequest);
+    officeAvailabilityIndex.recordOfficeMembership(
+        savedShiftRequest.getOfficeLocationId(), employeeId);
+
+    return savedShiftRequest;
+  }
+
+  @Override
+  public ShiftRequestSubmission sendShiftRequestsToEmployees(List<ShiftRequest> shiftRequests) {
+
+    List<RejectedShiftRequest> rejectedShiftRequests = new ArrayList<>();
+    List<ShiftRequest> completeShiftRequests = new ArrayList<>();
+    for (ShiftRequest shiftRequest : shiftRequests) {
+      if (shiftRequest.getEmployeeId() == null
+          || shiftRequest.getShiftDate() == null
+          || shiftRequest.getShiftType() == null
+          || shiftRequest.getShiftLengthInHours() == null) {
+        rejectedShiftRequests.add(
+            new RejectedShiftRequest(
+                shiftRequest,
+                "Employee ID, shift date, shift type and shift length are required."));
+        continue;
+      }
+      shiftRequest.setId(null);
+      shiftRequest.setStatus(ShiftRequestStatus.PENDING);
+      shiftRequest.setRejectionReason(null);
+      completeShiftRequests.add(shiftRequest);
+    }
+
+    List<ShiftRequest> validShiftRequests =
+        completeShiftRequests.isEmpty()
+            ? List.of()
+            : shiftRequestValidator.validateShiftRequests(
+                completeShiftRequests,
+                getWorkingHoursRollups(completeShiftRequests),
+                (shiftRequest, e) ->
+                    rejectedShiftRequests.add(
+                        new RejectedShiftRequest(shiftRequest, e.getMessage())));
+
+    List<ShiftRequest> sentShiftRequests = shiftRequestRepository.saveAll(validShiftRequests);
+    sentShiftRequests.forEach(
+        shiftRequest ->
+            officeAvailabilityIndex.recordOfficeMembership(
+                shiftRequest.getOfficeLocationId(), shiftRequest.getEmployeeId()));
+
+    return new ShiftRequestSubmission(sentShiftRequests, rejectedShiftRequests);
   }
 
   @Override
@@ -37,14 +107,22 @@ public class ShiftRequestServiceImpl implements ShiftRequestService {
     ShiftRequest shiftRequest =
         getShiftRequestByIdAndStatus(shiftRequestId, ShiftRequestStatus.PENDING);
 
-    shiftRequestValidator.validateShiftRequest(shiftRequest, shiftRequestRepository);
+    return employeeLocks.callLocked(
+        shiftRequest.getEmployeeId(),
+        () -> optimisticRetryExecutor.execute(() -> approvePendingShiftRequest(shiftRequestId)));
+  }
 
-    shiftRequest.setStatus(ShiftRequestStatus.APPROVED);
-    ShiftRequest approvedShiftRequest = shiftRequestRepository.save(shiftRequest);
+  @Override
+  public List<DecisionResult> approveShiftRequests(List<Long> shiftRequestIds) {
 
-    scheduleService.addShiftToSchedule(employeeId, approvedShiftRequest);
+    List<Long> employeeIds =
+        shiftRequestRepository.findByIdIn(shiftRequestIds).stream()
+            .map(ShiftRequest::getEmployeeId)
+            .toList();
 
-    return approvedShiftRequest;
+    return employeeLocks.callLocked(
+        employeeIds,
+        () -> optimisticRetryExecutor.execute(() -> approvePendingShiftRequests(shiftRequestIds)));
   }
 
   @Override
@@ -62,7 +140,29 @@ public class ShiftRequestServiceImpl implements ShiftRequestService {
   @Override
   public List<ShiftRequest> getShiftRequestByEmployeeId(Long employeeId) {
 
-    return shiftRequestRepository.findByEmployeeId(employeeId);
+    return KeysetPagination.readUnpaged(
+        "shift requests of employee " + employeeId,
+        limit ->
+            shiftRequestRepository.findByEmployeeIdOrderByShiftDateAscIdAsc(employeeId, limit));
+  }
+
+  @Override
+  public KeysetPage<ShiftRequest> getShiftRequestPageByEmployeeId(
+      Long employeeId, int pageSize, String pageToken) {
+
+    int size = KeysetPagination.limitPageSize(pageSize);
+    List<ShiftRequest> rows;
+    if (pageToken == null) {
+      rows =
+          shiftRequestRepository.findByEmployeeIdAndShiftDateNotNullOrderByShiftDateAscIdAsc(
+              employeeId, KeysetPagination.limitOf(size));
+    } else {
+      KeysetPagination.Position after = KeysetPagination.decodePageToken(pageToken);
+      rows =
+          shiftRequestRepository.findByEmployeeIdAfter(
+              employeeId, after.date(), after.id(), KeysetPagination.limitOf(size));
+    }
+    return KeysetPagination.toPage(rows, size, ShiftRequest::getShiftDate, ShiftRequest::getId);
   }
 
   @Override
@@ -85,6 +185,141 @@ public class ShiftRequestServiceImpl implements ShiftRequestService {
   public List<ShiftRequest> getShiftRequestByDateRange(
       LocalDateTime startDate, LocalDateTime endDate) {
 
-    return shiftRequestRepository.findByShiftDateBetween(startDate, endDate);
+    return KeysetPagination.readUnpaged(
+        "shift requests between " + startDate + " and " + endDate,
+        limit ->
+            shiftRequestRepository.findByShiftDateBetweenOrderByShiftDateAscIdAsc(
+                startDate, endDate, limit));
+  }
+
+  @Override
+  public KeysetPage<ShiftRequest> getShiftRequestPageByDateRange(
+      LocalDateTime startDate, LocalDateTime endDate, int pageSize, String pageToken) {
+
+    int size = KeysetPagination.limitPageSize(pageSize);
+    List<ShiftRequest> rows;
+    if (pageToken == null) {
+      rows =
+          shiftRequestRepository.findByShiftDateBetweenOrderByShiftDateAscIdAsc(
+              startDate, endDate, KeysetPagination.limitOf(size));
+    } else {
+      KeysetPagination.Position after = KeysetPagination.decodePageToken(pageToken);
+      rows =
+          shiftRequestRepository.findByShiftDateBetweenAfter(
+              endDate, after.date(), after.id(), KeysetPagination.limitOf(size));
+    }
+    return KeysetPagination.toPage(rows, size, ShiftRequest::getShiftDate, ShiftRequest::getId);
+  }
+
+  private ShiftRequest approvePendingShiftRequest(Long shiftRequestId) {
+
+    ShiftRequest shiftRequest =
+        getShiftRequestByIdAndStatus(shiftRequestId, ShiftRequestStatus.PENDING);
+
+    shiftRequestValidator.validateShiftRequest(shiftRequest);
+
+    shiftRequest.setStatus(ShiftRequestStatus.APPROVED);
+    ShiftRequest approvedShiftRequest = shiftRequestRepository.save(shiftRequest);
+
+    recordApprovedShiftRequests(List.of(approvedShiftRequest));
+
+    return approvedShiftRequest;
+  }
+
+  private List<DecisionResult> approvePendingShiftRequests(List<Long> shiftRequestIds) {
+
+    List<Long> distinctShiftRequestIds = shiftRequestIds.stream().distinct().toList();
+
+    Map<Long, ShiftRequest> pendingShiftRequests =
+        shiftRequestRepository.findByIdIn(distinctShiftRequestIds).stream()
+            .filter(shiftRequest -> ShiftRequestStatus.PENDING.equals(shiftRequest.getStatus()))
+            .collect(Collectors.toMap(ShiftRequest::getId, Function.identity()));
+
+    List<ShiftRequest> shiftRequestsToValidate =
+        distinctShiftRequestIds.stream()
+            .filter(pendingShiftRequests::containsKey)
+            .map(pendingShiftRequests::get)
+            .toList();
+
+    Map<Long, String> validationFailures = validateShiftRequests(shiftRequestsToValidate);
+
+    List<ShiftRequest> approvedShiftRequests = new ArrayList<>();
+    for (ShiftRequest shiftRequest : shiftRequestsToValidate) {
+      if (!validationFailures.containsKey(shiftRequest.getId())) {
+        shiftRequest.setStatus(ShiftRequestStatus.APPROVED);
+        approvedShiftRequests.add(shiftRequest);
+      }
+    }
+
+    shiftRequestRepository.saveAll(approvedShiftRequests);
+    recordApprovedShiftRequests(approvedShiftRequests);
+
+    return distinctShiftRequestIds.stream()
+        .map(
+            shiftRequestId -> {
+              if (!pendingShiftRequests.containsKey(shiftRequestId)) {
+                return DecisionResult.failed(
+                    shiftRequestId,
+                    "Could not find pending shift request with ID " + shiftRequestId);
+              }
+              String failureReason = validationFailures.get(shiftRequestId);
+              return failureReason == null
+                  ? DecisionResult.succeeded(shiftRequestId)
+                  : DecisionResult.failed(shiftRequestId, failureReason);
+            })
+        .toList();
+  }
+
+  /**
+   * Books the approved shifts into the working hours rollup right away, so the next approval is
+   * validated against them, and queues them for the schedules in the same transaction. The
+   * availability index marks the employees busy once the approval commits, without waiting for the
+   * outbox.
+   */
+  private void recordApprovedShiftRequests(List<ShiftRequest> approvedShiftRequests) {
+
+    approvedShiftRequests.stream()
+        .collect(Collectors.groupingBy(ShiftRequest::getEmployeeId))
+        .forEach(
+            (employeeId, shiftRequests) ->
+                workingHoursRollupService.recordShiftChanges(
+                    employeeId,
+                    shiftRequests.stream().map(ShiftEntry::fromApprovedShiftEntry).toList(),
+                    List.of()));
+    officeAvailabilityIndex.recordApprovedShiftRequests(approvedShiftRequests);
+    scheduleOutboxService.recordApprovedShiftRequests(approvedShiftRequests);
+  }
+
+  private Map<Long, String> validateShiftRequests(List<ShiftRequest> shiftRequestsToValidate) {
+
+    if (shiftRequestsToValidate.isEmpty()) {
+      return Map.of();
+    }
+
+    return shiftRequestValidator.validateShiftRequests(
+        shiftRequestsToValidate, getWorkingHoursRollups(shiftRequestsToValidate));
+  }
+
+  /** Loads the daily and weekly rollups of the employees and weeks of the given shift requests. */
+  private List<WorkingHoursRollup> getWorkingHoursRollups(
+      List<ShiftRequest> shiftRequestsToValidate) {
+
+    Set<Long> employeeIds =
+        shiftRequestsToValidate.stream()
+            .map(ShiftRequest::getEmployeeId)
+            .collect(Collectors.toSet());
+    LocalDate earliestShiftDay =
+        shiftRequestsToValidate.stream()
+            .map(shiftRequest -> shiftRequest.getShiftDate().toLocalDate())
+            .min(Comparator.naturalOrder())
+            .orElseThrow();
+    LocalDate latestShiftDay =
+        shiftRequestsToValidate.stream()
+            .map(shiftRequest -> shiftRequest.getShiftDate().toLocalDate())
+            .max(Comparator.naturalOrder())
+            .orElseThrow();
+
+    return workingHoursRollupService.getWorkingHoursRollups(
+        employeeIds, earliestShiftDay.with(DayOfWeek.MONDAY), latestShiftDay);
   }
 }
@@ -0,0 +1,129 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationLedger;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.VacationLedgerService;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationLedgerRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.util.EmployeeLocks;
+import com.project.anesu.shiftplanner.managerservice.service.util.OptimisticRetryExecutor;
+import com.project.anesu.shiftplanner.managerservice.service.util.VacationDayCalculator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@AllArgsConstructor
+public class VacationLedgerServiceImpl implements VacationLedgerService {
+
+  private final VacationLedgerRepository vacationLedgerRepository;
+  private final VacationRequestRepository vacationRequestRepository;
+  private final EmployeeLocks employeeLocks;
+  private final OptimisticRetryExecutor optimisticRetryExecutor;
+
+  @Override
+  public long getUsedVacationDays(Long employeeId, int year) {
+
+    return vacationLedgerRepository
+        .findByEmployeeIdAndLedgerYear(employeeId, year)
+        .map(VacationLedger::getUsedVacationDays)
+        .orElse(0L);
+  }
+
+  @Override
+  public List<VacationLedger> getVacationLedgers(
+      Collection<Long> employeeIds, int firstYear, int lastYear) {
+
+    return vacationLedgerRepository.findByEmployeeIdInAndLedgerYearBetween(
+        employeeIds, firstYear, lastYear);
+  }
+
+  @Override
+  @Transactional
+  public void recordApprovedVacationRequests(Collection<VacationRequest> approvedVacationRequests) {
+
+    calculateUsedVacationDays(approvedVacationRequests)
+        .forEach(
+            (employeeYear, days) ->
+                vacationLedgerRepository.addUsedVacationDays(
+                    employeeYear.employeeId(), employeeYear.year(), days));
+  }
+
+  @Override
+  @Scheduled(cron = "${vacation.ledger.rebuild-cron:0 0 3 * * *}")
+  public void rebuildVacationLedger() {
+
+    employeeLocks.callLockedForAll(
+        () ->
+            optimisticRetryExecutor.execute(
+                () -> {
+                  replaceVacationLedgers();
+                  return null;
+                }));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildVacationLedgerIfEmpty() {
+
+    employeeLocks.callLockedForAll(
+        () ->
+            optimisticRetryExecutor.execute(
+                () -> {
+                  if (vacationLedgerRepository.count() == 0) {
+                    replaceVacationLedgers();
+                  }
+                  return null;
+                }));
+  }
+
+  private void replaceVacationLedgers() {
+
+    List<VacationLedger> rebuiltVacationLedgers = new ArrayList<>();
+    calculateUsedVacationDays(
+            vacationRequestRepository.findByStatus(VacationRequestStatus.APPROVED))
+        .forEach(
+            (employeeYear, days) ->
+                rebuiltVacationLedgers.add(employeeYear.toVacationLedger(days)));
+
+    vacationLedgerRepository.deleteAllInBatch();
+    vacationLedgerRepository.saveAll(rebuiltVacationLedgers);
+  }
+
+  private Map<EmployeeYear, Long> calculateUsedVacationDays(
+      Collection<VacationRequest> vacationRequests) {
+
+    Map<EmployeeYear, Long> usedVacationDays = new LinkedHashMap<>();
+    for (VacationRequest vacationRequest : vacationRequests) {
+      for (int year = vacationRequest.getStartDate().getYear();
+          year <= vacationRequest.getEndDate().getYear();
+          year++) {
+        usedVacationDays.merge(
+            new EmployeeYear(vacationRequest.getEmployeeId(), year),
+            VacationDayCalculator.calculateDaysInYear(
+                vacationRequest.getStartDate(), vacationRequest.getEndDate(), year),
+            Long::sum);
+      }
+    }
+    return usedVacationDays;
+  }
+
+  private record EmployeeYear(Long employeeId, int year) {
+
+    VacationLedger toVacationLedger(long usedVacationDays) {
+      return VacationLedger.builder()
+          .employeeId(employeeId)
+          .ledgerYear(year)
+          .usedVacationDays(usedVacationDays)
+          .build();
+    }
+  }
+}
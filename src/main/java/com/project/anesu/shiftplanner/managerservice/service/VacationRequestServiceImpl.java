@@ -1,24 +1,51 @@
 package com.project.anesu.shiftplanner.managerservice.service;
 
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationLedger;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
-import com.project.anesu.shiftplanner.managerservice.model.ScheduleService;
+import com.project.anesu.shiftplanner.managerservice.model.ScheduleOutboxService;
+import com.project.anesu.shiftplanner.managerservice.model.VacationLedgerService;
 import com.project.anesu.shiftplanner.managerservice.model.VacationRequestService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.DecisionResult;
+import com.project.anesu.shiftplanner.managerservice.model.dto.KeysetPage;
+import com.project.anesu.shiftplanner.managerservice.model.dto.TeamCalendarEntry;
 import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
 import com.project.anesu.shiftplanner.managerservice.service.exception.VacationRequestNotFoundException;
+import com.project.anesu.shiftplanner.managerservice.service.util.EmployeeLocks;
+import com.project.anesu.shiftplanner.managerservice.service.util.KeysetPagination;
+import com.project.anesu.shiftplanner.managerservice.service.util.OfficeAvailabilityIndex;
+import com.project.anesu.shiftplanner.managerservice.service.util.OptimisticRetryExecutor;
+import com.project.anesu.shiftplanner.managerservice.service.util.TeamCalendarCache;
+import com.project.anesu.shiftplanner.managerservice.service.util.VacationIntervalIndex;
 import com.project.anesu.shiftplanner.managerservice.service.util.VacationRequestValidator;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
+@Timed("shiftplanner.service")
 public class VacationRequestServiceImpl implements VacationRequestService {
 
   private final VacationRequestRepository vacationRequestRepository;
   private final VacationRequestValidator vacationRequestValidator;
-  private final ScheduleService scheduleService;
+  private final VacationIntervalIndex vacationIntervalIndex;
+  private final VacationLedgerService vacationLedgerService;
+  private final ScheduleOutboxService scheduleOutboxService;
+  private final TeamCalendarCache teamCalendarCache;
+  private final OfficeAvailabilityIndex officeAvailabilityIndex;
+  private final OptimisticRetryExecutor optimisticRetryExecutor;
+  private final EmployeeLocks employeeLocks;
 
   @Override
   public VacationRequest approveVacationRequest(
@@ -26,15 +53,12 @@ public class VacationRequestServiceImpl implements VacationRequestService {
 
     VacationRequest vacationRequest =
         getVacationRequestByIdAndStatus(vacationRequestId, VacationRequestStatus.PENDING);
-    vacationRequestValidator.validateVacationRequest(vacationRequest, vacationRequestRepository);
 
-    vacationRequest.setStatus(VacationRequestStatus.APPROVED);
-    VacationRequest approvedVacationRequest = vacationRequestRepository.save(vacationRequest);
-
-    scheduleService.addApprovedVacationRequestToSchedule(
-        vacationRequest.getEmployeeId(), approvedVacationRequest);
-
-    return approvedVacationRequest;
+    return employeeLocks.callLocked(
+        vacationRequest.getEmployeeId(),
+        () ->
+            optimisticRetryExecutor.execute(
+                () -> approvePendingVacationRequest(vacationRequestId)));
   }
 
   @Override
@@ -46,13 +70,79 @@ public class VacationRequestServiceImpl implements VacationRequestService {
     vacationRequest.setStatus(VacationRequestStatus.REJECTED);
     vacationRequest.setRejectionReason(rejectionReason);
 
-    return vacationRequestRepository.save(vacationRequest);
+    VacationRequest declinedVacationRequest = vacationRequestRepository.save(vacationRequest);
+    vacationIntervalIndex.update(declinedVacationRequest);
+    teamCalendarCache.invalidate(declinedVacationRequest);
+
+    return declinedVacationRequest;
+  }
+
+  @Override
+  public List<DecisionResult> approveVacationRequests(List<Long> vacationRequestIds) {
+
+    List<Long> employeeIds =
+        vacationRequestRepository.findByIdIn(vacationRequestIds).stream()
+            .map(VacationRequest::getEmployeeId)
+            .toList();
+
+    return employeeLocks.callLocked(
+        employeeIds,
+        () ->
+            optimisticRetryExecutor.execute(
+                () -> approvePendingVacationRequests(vacationRequestIds)));
+  }
+
+  @Override
+  @Transactional
+  public List<DecisionResult> declineVacationRequests(
+      List<Long> vacationRequestIds, String rejectionReason) {
+
+    List<Long> distinctVacationRequestIds = vacationRequestIds.stream().distinct().toList();
+    Map<Long, VacationRequest> pendingVacationRequests =
+        getPendingVacationRequests(distinctVacationRequestIds);
+
+    pendingVacationRequests
+        .values()
+        .forEach(
+            vacationRequest -> {
+              vacationRequest.setStatus(VacationRequestStatus.REJECTED);
+              vacationRequest.setRejectionReason(rejectionReason);
+            });
+    vacationRequestRepository.saveAll(pendingVacationRequests.values());
+    pendingVacationRequests.values().forEach(vacationIntervalIndex::update);
+    pendingVacationRequests.values().forEach(teamCalendarCache::invalidate);
+
+    return toDecisionResults(
+        distinctVacationRequestIds, pendingVacationRequests.keySet(), Map.of());
   }
 
   @Override
   public List<VacationRequest> getVacationRequestsByEmployeeId(Long employeeId) {
 
-    return vacationRequestRepository.findByEmployeeId(employeeId);
+    return KeysetPagination.readUnpaged(
+        "vacation requests of employee " + employeeId,
+        limit ->
+            vacationRequestRepository.findByEmployeeIdOrderByStartDateAscIdAsc(employeeId, limit));
+  }
+
+  @Override
+  public KeysetPage<VacationRequest> getVacationRequestPageByEmployeeId(
+      Long employeeId, int pageSize, String pageToken) {
+
+    int size = KeysetPagination.limitPageSize(pageSize);
+    List<VacationRequest> rows;
+    if (pageToken == null) {
+      rows =
+          vacationRequestRepository.findByEmployeeIdAndStartDateNotNullOrderByStartDateAscIdAsc(
+              employeeId, KeysetPagination.limitOf(size));
+    } else {
+      KeysetPagination.Position after = KeysetPagination.decodePageToken(pageToken);
+      rows =
+          vacationRequestRepository.findByEmployeeIdAfter(
+              employeeId, after.date(), after.id(), KeysetPagination.limitOf(size));
+    }
+    return KeysetPagination.toPage(
+        rows, size, VacationRequest::getStartDate, VacationRequest::getId);
   }
 
   @Override
@@ -63,14 +153,28 @@ public class VacationRequestServiceImpl implements VacationRequestService {
   }
 
   @Override
-  public List<VacationRequest> getTeamCalendar(
+  public List<TeamCalendarEntry> getTeamCalendar(
       Long officeLocationId, LocalDateTime startDate, LocalDateTime endDate) {
 
-    return vacationRequestRepository.findByOfficeLocationIdAndStatusAndDateRange(
-        officeLocationId,
-        List.of(VacationRequestStatus.PENDING, VacationRequestStatus.APPROVED),
-        startDate,
-        endDate);
+    return teamCalendarCache.getTeamCalendar(officeLocationId, startDate, endDate);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachTeamCalendarEntry(
+      Long officeLocationId,
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      Consumer<TeamCalendarEntry> action) {
+
+    try (Stream<TeamCalendarEntry> teamCalendar =
+        vacationRequestRepository.streamTeamCalendar(
+            officeLocationId,
+            List.of(VacationRequestStatus.PENDING, VacationRequestStatus.APPROVED),
+            startDate,
+            endDate)) {
+      teamCalendar.forEach(action);
+    }
   }
 
   @Override
@@ -85,4 +189,119 @@ public class VacationRequestServiceImpl implements VacationRequestService {
                 new VacationRequestNotFoundException(
                     "Vacation request with id: " + vacationRequestId + " does not exist."));
   }
+
+  private VacationRequest approvePendingVacationRequest(Long vacationRequestId) {
+
+    VacationRequest vacationRequest =
+        getVacationRequestByIdAndStatus(vacationRequestId, VacationRequestStatus.PENDING);
+    vacationRequestValidator.validateVacationRequest(vacationRequest);
+
+    vacationRequest.setStatus(VacationRequestStatus.APPROVED);
+    VacationRequest approvedVacationRequest = vacationRequestRepository.save(vacationRequest);
+    vacationLedgerService.recordApprovedVacationRequests(List.of(approvedVacationRequest));
+    vacationIntervalIndex.update(approvedVacationRequest);
+    teamCalendarCache.invalidate(approvedVacationRequest);
+    officeAvailabilityIndex.recordApprovedVacationRequests(List.of(approvedVacationRequest));
+
+    scheduleOutboxService.recordApprovedVacationRequests(List.of(approvedVacationRequest));
+
+    return approvedVacationRequest;
+  }
+
+  private List<DecisionResult> approvePendingVacationRequests(List<Long> vacationRequestIds) {
+
+    List<Long> distinctVacationRequestIds = vacationRequestIds.stream().distinct().toList();
+    Map<Long, VacationRequest> pendingVacationRequests =
+        getPendingVacationRequests(distinctVacationRequestIds);
+
+    List<VacationRequest> vacationRequestsToValidate =
+        distinctVacationRequestIds.stream()
+            .filter(pendingVacationRequests::containsKey)
+            .map(pendingVacationRequests::get)
+            .toList();
+
+    Map<Long, String> validationFailures = validateVacationRequests(vacationRequestsToValidate);
+
+    List<VacationRequest> approvedVacationRequests = new ArrayList<>();
+    for (VacationRequest vacationRequest : vacationRequestsToValidate) {
+      if (!validationFailures.containsKey(vacationRequest.getId())) {
+        vacationRequest.setStatus(VacationRequestStatus.APPROVED);
+        approvedVacationRequests.add(vacationRequest);
+      }
+    }
+
+    vacationRequestRepository.saveAll(approvedVacationRequests);
+    vacationLedgerService.recordApprovedVacationRequests(approvedVacationRequests);
+    approvedVacationRequests.forEach(vacationIntervalIndex::update);
+    approvedVacationRequests.forEach(teamCalendarCache::invalidate);
+    officeAvailabilityIndex.recordApprovedVacationRequests(approvedVacationRequests);
+    scheduleOutboxService.recordApprovedVacationRequests(approvedVacationRequests);
+
+    return toDecisionResults(
+        distinctVacationRequestIds, pendingVacationRequests.keySet(), validationFailures);
+  }
+
+  private Map<Long, VacationRequest> getPendingVacationRequests(List<Long> vacationRequestIds) {
+
+    return vacationRequestRepository.findByIdIn(vacationRequestIds).stream()
+        .filter(
+            vacationRequest -> VacationRequestStatus.PENDING.equals(vacationRequest.getStatus()))
+        .collect(Collectors.toMap(VacationRequest::getId, Function.identity()));
+  }
+
+  private Map<Long, String> validateVacationRequests(
+      List<VacationRequest> vacationRequestsToValidate) {
+
+    if (vacationRequestsToValidate.isEmpty()) {
+      return Map.of();
+    }
+
+    Set<Long> employeeIds =
+        vacationRequestsToValidate.stream()
+            .map(VacationRequest::getEmployeeId)
+            .collect(Collectors.toSet());
+    int firstYear =
+        vacationRequestsToValidate.stream()
+            .mapToInt(vacationRequest -> vacationRequest.getStartDate().getYear())
+            .min()
+            .orElseThrow();
+    int lastYear =
+        vacationRequestsToValidate.stream()
+            .mapToInt(vacationRequest -> vacationRequest.getEndDate().getYear())
+            .max()
+            .orElseThrow();
+
+    List<VacationRequest> existingVacationRequests =
+        vacationRequestRepository.findByEmployeeIdsAndDateRange(
+            employeeIds,
+            LocalDateTime.of(firstYear, 1, 1, 0, 0),
+            LocalDateTime.of(lastYear, 12, 31, 23, 59, 59));
+
+    List<VacationLedger> vacationLedgers =
+        vacationLedgerService.getVacationLedgers(employeeIds, firstYear, lastYear);
+
+    return vacationRequestValidator.validateVacationRequests(
+        vacationRequestsToValidate, existingVacationRequests, vacationLedgers);
+  }
+
+  private List<DecisionResult> toDecisionResults(
+      List<Long> vacationRequestIds,
+      Set<Long> pendingVacationRequestIds,
+      Map<Long, String> validationFailures) {
+
+    return vacationRequestIds.stream()
+        .map(
+            vacationRequestId -> {
+              if (!pendingVacationRequestIds.contains(vacationRequestId)) {
+                return DecisionResult.failed(
+                    vacationRequestId,
+                    "Could not find pending vacation request with id: " + vacationRequestId);
+              }
+              String failureReason = validationFailures.get(vacationRequestId);
+              return failureReason == null
+                  ? DecisionResult.succeeded(vacationRequestId)
+                  : DecisionResult.failed(vacationRequestId, failureReason);
+            })
+        .toList();
+  }
 }
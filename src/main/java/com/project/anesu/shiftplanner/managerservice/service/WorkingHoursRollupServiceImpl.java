@@ -0,0 +1,201 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledShift;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.WorkingHoursRollupRepository;
+import com.project.anesu.shiftplanner.managerservice.service.util.EmployeeLocks;
+import com.project.anesu.shiftplanner.managerservice.service.util.OptimisticRetryExecutor;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@AllArgsConstructor
+public class WorkingHoursRollupServiceImpl implements WorkingHoursRollupService {
+
+  private final WorkingHoursRollupRepository workingHoursRollupRepository;
+  private final ScheduleRepository scheduleRepository;
+  private final EmployeeLocks employeeLocks;
+  private final OptimisticRetryExecutor optimisticRetryExecutor;
+
+  @Override
+  public long getDailyWorkingHours(Long employeeId, LocalDate day) {
+
+    return getWorkingHours(employeeId, WorkingHoursPeriod.DAY, day);
+  }
+
+  @Override
+  public long getWeeklyWorkingHours(Long employeeId, LocalDate dayInWeek) {
+
+    return getWorkingHours(employeeId, WorkingHoursPeriod.WEEK, dayInWeek.with(DayOfWeek.MONDAY));
+  }
+
+  @Override
+  public List<WorkingHoursRollup> getWorkingHoursRollups(
+      Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+
+    return workingHoursRollupRepository.findByEmployeeIdInAndPeriodStartBetween(
+        employeeIds, startDate, endDate);
+  }
+
+  @Override
+  @Transactional
+  public void recordShiftChanges(
+      Long employeeId, Collection<ShiftEntry> addedShifts, Collection<ShiftEntry> removedShifts) {
+
+    Map<RollupKey, Long> workingHourChanges = new LinkedHashMap<>();
+    addedShifts.forEach(
+        shift ->
+            addWorkingHours(
+                workingHourChanges,
+                employeeId,
+                shift.getShiftDate(),
+                workingHoursOf(shift.getWorkingHours())));
+    removedShifts.forEach(
+        shift ->
+            addWorkingHours(
+                workingHourChanges,
+                employeeId,
+                shift.getShiftDate(),
+                -workingHoursOf(shift.getWorkingHours())));
+
+    applyWorkingHourChanges(workingHourChanges);
+  }
+
+  @Override
+  @Transactional
+  public void recordAddedShifts(Map<Long, ? extends Collection<ShiftEntry>> addedShiftsByEmployee) {
+
+    Map<RollupKey, Long> workingHourChanges = new LinkedHashMap<>();
+    addedShiftsByEmployee.forEach(
+        (employeeId, addedShifts) ->
+            addedShifts.forEach(
+                shift ->
+                    addWorkingHours(
+                        workingHourChanges,
+                        employeeId,
+                        shift.getShiftDate(),
+                        workingHoursOf(shift.getWorkingHours()))));
+    applyWorkingHourChanges(workingHourChanges);
+  }
+
+  @Override
+  @Scheduled(cron = "${schedule.working-hours-rollup.rebuild-cron:0 30 3 * * *}")
+  public void rebuildWorkingHoursRollups() {
+
+    employeeLocks.callLockedForAll(
+        () ->
+            optimisticRetryExecutor.execute(
+                () -> {
+                  replaceWorkingHoursRollups();
+                  return null;
+                }));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildWorkingHoursRollupsIfEmpty() {
+
+    employeeLocks.callLockedForAll(
+        () ->
+            optimisticRetryExecutor.execute(
+                () -> {
+                  if (workingHoursRollupRepository.count() == 0) {
+                    replaceWorkingHoursRollups();
+                  }
+                  return null;
+                }));
+  }
+
+  private void replaceWorkingHoursRollups() {
+
+    Map<RollupKey, Long> workingHours = new LinkedHashMap<>();
+    for (ScheduledShift scheduledShift : scheduleRepository.findAllScheduledAndPendingShifts()) {
+      addWorkingHours(
+          workingHours,
+          scheduledShift.employeeId(),
+          scheduledShift.shiftDate(),
+          workingHoursOf(scheduledShift.workingHours()));
+    }
+
+    List<WorkingHoursRollup> rebuiltRollups = new ArrayList<>();
+    workingHours.forEach(
+        (rollupKey, hours) -> rebuiltRollups.add(rollupKey.toWorkingHoursRollup(hours)));
+
+    workingHoursRollupRepository.deleteAllInBatch();
+    workingHoursRollupRepository.saveAll(rebuiltRollups);
+  }
+
+  private void applyWorkingHourChanges(Map<RollupKey, Long> workingHourChanges) {
+
+    workingHourChanges.values().removeIf(hours -> hours == 0);
+    if (workingHourChanges.isEmpty()) {
+      return;
+    }
+
+    int size = workingHourChanges.size();
+    Long[] employeeIds = new Long[size];
+    String[] periods = new String[size];
+    LocalDate[] periodStarts = new LocalDate[size];
+    Long[] hours = new Long[size];
+    int index = 0;
+    for (Map.Entry<RollupKey, Long> workingHourChange : workingHourChanges.entrySet()) {
+      employeeIds[index] = workingHourChange.getKey().employeeId();
+      periods[index] = workingHourChange.getKey().period().name();
+      periodStarts[index] = workingHourChange.getKey().periodStart();
+      hours[index] = workingHourChange.getValue();
+      index++;
+    }
+    workingHoursRollupRepository.addWorkingHours(employeeIds, periods, periodStarts, hours);
+  }
+
+  private long getWorkingHours(Long employeeId, WorkingHoursPeriod period, LocalDate periodStart) {
+
+    return workingHoursRollupRepository
+        .findByEmployeeIdAndPeriodAndPeriodStart(employeeId, period, periodStart)
+        .map(WorkingHoursRollup::getWorkingHours)
+        .orElse(0L);
+  }
+
+  private void addWorkingHours(
+      Map<RollupKey, Long> workingHours, Long employeeId, LocalDateTime shiftDate, long hours) {
+
+    LocalDate day = shiftDate.toLocalDate();
+    workingHours.merge(new RollupKey(employeeId, WorkingHoursPeriod.DAY, day), hours, Long::sum);
+    workingHours.merge(
+        new RollupKey(employeeId, WorkingHoursPeriod.WEEK, day.with(DayOfWeek.MONDAY)),
+        hours,
+        Long::sum);
+  }
+
+  private long workingHoursOf(Long workingHours) {
+
+    return workingHours == null ? 0 : workingHours;
+  }
+
+  private record RollupKey(Long employeeId, WorkingHoursPeriod period, LocalDate periodStart) {
+
+    WorkingHoursRollup toWorkingHoursRollup(long workingHours) {
+      return WorkingHoursRollup.builder()
+          .employeeId(employeeId)
+          .period(period)
+          .periodStart(periodStart)
+          .workingHours(workingHours)
+          .build();
+    }
+  }
+}
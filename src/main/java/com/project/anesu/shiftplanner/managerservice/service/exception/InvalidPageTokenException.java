@@ -0,0 +1,11 @@
+package com.project.anesu.shiftplanner.managerservice.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageTokenException extends RuntimeException {
+  public InvalidPageTokenException(String message) {
+    super(message);
+  }
+}
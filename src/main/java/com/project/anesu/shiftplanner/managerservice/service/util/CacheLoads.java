@@ -0,0 +1,47 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Loads missing cache entries on the calling thread without holding a lock during the load.
+ *
+ * <p>A synchronous Caffeine cache runs its loader inside {@code ConcurrentHashMap.compute}, which
+ * holds a monitor. A virtual thread that blocks on JDBC in there stays pinned to its carrier thread
+ * until the query returns, and other virtual threads waiting for the same key block their carriers
+ * too. Here the calling thread publishes an incomplete future, loads the value outside of any lock
+ * and completes the future. Concurrent callers for the same key wait on that future, which parks
+ * them without pinning, and an invalidation during the load drops the future so the stale value is
+ * not kept.
+ */
+public final class CacheLoads {
+
+  private CacheLoads() {}
+
+  /**
+   * Returns the cached value for a key, loading it on the calling thread if it is missing.
+   *
+   * @param cache the cache
+   * @param key the key to look up
+   * @param loader loads the value of a missing key
+   * @return the cached or loaded value
+   */
+  public static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+
+    CompletableFuture<V> loading = new CompletableFuture<>();
+    CompletableFuture<V> cached = cache.asMap().putIfAbsent(key, loading);
+    if (cached != null) {
+      return cached.join();
+    }
+
+    try {
+      loading.complete(loader.apply(key));
+    } catch (RuntimeException | Error e) {
+      cache.asMap().remove(key, loading);
+      loading.completeExceptionally(e);
+      throw e;
+    }
+    return loading.join();
+  }
+}
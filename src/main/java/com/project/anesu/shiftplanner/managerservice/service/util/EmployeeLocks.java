@@ -0,0 +1,101 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes the validate-then-write sections of approvals per employee. Each employee ID maps to
+ * one of a fixed number of lock stripes, so work for the same employee runs one at a time while
+ * work for other employees, which almost always lands on other stripes, runs in parallel.
+ *
+ * <p>The lock has to be taken before the transaction starts and released after it commits.
+ * Otherwise a second approval could validate against the working hours or vacation days that the
+ * first one has written but not yet committed. Work that needs several employees takes their
+ * stripes in ascending order, so two such calls can never deadlock.
+ */
+@Component
+public class EmployeeLocks {
+
+  private final ReentrantLock[] stripes;
+
+  public EmployeeLocks(@Value("${schedule.employee-locks.stripes:256}") int stripeCount) {
+    this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * Runs the work while holding the lock of one employee.
+   *
+   * @param employeeId the ID of the employee whose data the work validates and writes
+   * @param work the work to run
+   * @return the result of the work
+   */
+  public <T> T callLocked(Long employeeId, Supplier<T> work) {
+
+    ReentrantLock lock = stripes[stripeOf(employeeId)];
+    lock.lock();
+    try {
+      return work.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Runs the work while holding the locks of several employees.
+   *
+   * @param employeeIds the IDs of the employees whose data the work validates and writes
+   * @param work the work to run
+   * @return the result of the work
+   */
+  public <T> T callLocked(Collection<Long> employeeIds, Supplier<T> work) {
+
+    return callLocked(
+        employeeIds.stream()
+            .filter(Objects::nonNull)
+            .mapToInt(this::stripeOf)
+            .distinct()
+            .sorted()
+            .toArray(),
+        work);
+  }
+
+  /**
+   * Runs the work while holding the locks of all employees, so no approval runs at the same time.
+   * Meant for rebuilds that replace data every approval reads and writes.
+   *
+   * @param work the work to run
+   * @return the result of the work
+   */
+  public <T> T callLockedForAll(Supplier<T> work) {
+
+    return callLocked(IntStream.range(0, stripes.length).toArray(), work);
+  }
+
+  private <T> T callLocked(int[] lockedStripes, Supplier<T> work) {
+
+    int locked = 0;
+    try {
+      for (int stripe : lockedStripes) {
+        stripes[stripe].lock();
+        locked++;
+      }
+      return work.get();
+    } finally {
+      for (int i = locked - 1; i >= 0; i--) {
+        stripes[lockedStripes[i]].unlock();
+      }
+    }
+  }
+
+  private int stripeOf(Long employeeId) {
+    return Math.floorMod(Long.hashCode(employeeId), stripes.length);
+  }
+}
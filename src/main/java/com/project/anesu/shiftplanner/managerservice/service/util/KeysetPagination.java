@@ -0,0 +1,125 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.project.anesu.shiftplanner.managerservice.model.dto.KeysetPage;
+import com.project.anesu.shiftplanner.managerservice.service.exception.InvalidPageTokenException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Helpers for keyset pagination over lists ordered by a date and then by ID. A page token encodes
+ * the date and ID of the last item of the previous page, so the next page is read by seeking past
+ * that position instead of skipping rows, which keeps deep pages as cheap as the first one. Rows
+ * without a date have no position to seek past, so the paged queries leave them out.
+ */
+@Slf4j
+public final class KeysetPagination {
+
+  public static final int MAX_PAGE_SIZE = 500;
+
+  private static final String POSITION_SEPARATOR = "|";
+
+  private KeysetPagination() {}
+
+  /**
+   * Caps a requested page size to the supported range.
+   *
+   * @param requestedPageSize the page size asked for
+   * @return the page size to use, between {@code 1} and {@link #MAX_PAGE_SIZE}
+   */
+  public static int limitPageSize(int requestedPageSize) {
+    return Math.max(1, Math.min(requestedPageSize, MAX_PAGE_SIZE));
+  }
+
+  /**
+   * Builds the query limit for a page, fetching one extra row to find out whether another page
+   * follows.
+   *
+   * @param pageSize the page size, as returned by {@link #limitPageSize(int)}
+   * @return the {@link Limit} to pass to the repository
+   */
+  public static Limit limitOf(int pageSize) {
+    return Limit.of(pageSize + 1);
+  }
+
+  /**
+   * Reads an unpaged listing, which predates its paged variant. It returns at most {@link
+   * #MAX_PAGE_SIZE} rows in page order, and logs a warning when it is cut off there so the clients
+   * still relying on it can be found.
+   *
+   * @param listing a description of the listing for the warning
+   * @param query the query reading the rows up to a {@link Limit}
+   * @return the first {@link #MAX_PAGE_SIZE} rows
+   */
+  public static <T> List<T> readUnpaged(String listing, Function<Limit, List<T>> query) {
+
+    List<T> rows = query.apply(Limit.of(MAX_PAGE_SIZE));
+    if (rows.size() == MAX_PAGE_SIZE) {
+      log.warn(
+          "Returned only the first {} {}, the unpaged listing is deprecated in favour of its /page"
+              + " variant",
+          MAX_PAGE_SIZE,
+          listing);
+    }
+    return rows;
+  }
+
+  /**
+   * Decodes a page token.
+   *
+   * @param pageToken the token returned with the previous page
+   * @return the position of the last item of the previous page
+   * @throws InvalidPageTokenException if the token was not issued by {@link #toPage}
+   */
+  public static Position decodePageToken(String pageToken) {
+    try {
+      String position =
+          new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+      int separator = position.lastIndexOf(POSITION_SEPARATOR);
+      return new Position(
+          LocalDateTime.parse(position.substring(0, separator)),
+          Long.parseLong(position.substring(separator + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+      throw new InvalidPageTokenException("Invalid page token: " + pageToken);
+    }
+  }
+
+  /**
+   * Turns the rows read with {@link #limitOf(int)} into a page.
+   *
+   * @param rows the rows read, at most one more than the page size
+   * @param pageSize the page size
+   * @param dateOf the date the rows are ordered by
+   * @param idOf the ID the rows are ordered by within a date
+   * @return the page, with a token for the next page if more rows follow
+   */
+  public static <T> KeysetPage<T> toPage(
+      List<T> rows, int pageSize, Function<T, LocalDateTime> dateOf, Function<T, Long> idOf) {
+
+    if (rows.size() <= pageSize) {
+      return new KeysetPage<>(rows, null);
+    }
+
+    List<T> items = rows.subList(0, pageSize);
+    T lastItem = items.get(pageSize - 1);
+    String position = dateOf.apply(lastItem) + POSITION_SEPARATOR + idOf.apply(lastItem);
+    return new KeysetPage<>(
+        List.copyOf(items),
+        Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(position.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * The position of an item in a list ordered by date and ID.
+   *
+   * @param date the date of the item
+   * @param id the ID of the item
+   */
+  public record Position(LocalDateTime date, Long id) {}
+}
@@ -0,0 +1,405 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.OfficeMembership;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledShift;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduledVacation;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index answering which employees of an office location are free for a shift type on a
+ * given day.
+ *
+ * <p>Every known employee gets a slot number. Each office keeps a bitmap of its employees' slots
+ * and each day keeps one bitmap per {@link ShiftType} of the slots that are busy, either with a
+ * scheduled shift of that type or with a scheduled vacation. The free employees are the office
+ * bitmap without the busy bitmap, which costs a few word operations per 64 employees.
+ *
+ * <p>The index is rebuilt from the database on startup and on a schedule, and kept up to date
+ * incrementally as shifts and vacations are approved in this service. Changes are only applied once
+ * the surrounding transaction commits. Changes committed while a rebuild is loading are also queued
+ * and replayed onto the rebuilt index, so the rebuild does not lose them. Days before today are
+ * evicted, so the index only answers for today onwards.
+ */
+@Component
+public class OfficeAvailabilityIndex {
+
+  private static final ShiftType[] SHIFT_TYPES = ShiftType.values();
+
+  private final ScheduleRepository scheduleRepository;
+  private final ShiftRequestRepository shiftRequestRepository;
+  private final VacationRequestRepository vacationRequestRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private Availability availability = new Availability();
+  private List<Consumer<Availability>> updatesDuringRebuild;
+
+  public OfficeAvailabilityIndex(
+      ScheduleRepository scheduleRepository,
+      ShiftRequestRepository shiftRequestRepository,
+      VacationRequestRepository vacationRequestRepository) {
+    this.scheduleRepository = scheduleRepository;
+    this.shiftRequestRepository = shiftRequestRepository;
+    this.vacationRequestRepository = vacationRequestRepository;
+  }
+
+  /**
+   * Finds the employees of an office location without a shift of the given type and without a
+   * vacation on a day.
+   *
+   * @param officeLocationId the ID of the office location
+   * @param day the day
+   * @param shiftType the type of the shift to staff
+   * @return the IDs of the free employees, in ascending order
+   */
+  public List<Long> getAvailableEmployees(
+      Long officeLocationId, LocalDate day, ShiftType shiftType) {
+
+    lock.readLock().lock();
+    try {
+      return availability.getAvailableEmployees(officeLocationId, day.toEpochDay(), shiftType);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Records an employee as working at an office location.
+   *
+   * @param officeLocationId the ID of the office location, ignored if {@code null}
+   * @param employeeId the ID of the employee
+   */
+  public void recordOfficeMembership(Long officeLocationId, Long employeeId) {
+
+    if (officeLocationId == null || employeeId == null) {
+      return;
+    }
+    afterCommit(() -> update(availability -> availability.addMember(officeLocationId, employeeId)));
+  }
+
+  /**
+   * Marks the employees of approved shift requests as busy for the shift type on the shift day.
+   *
+   * @param approvedShiftRequests the approved {@link ShiftRequest}s
+   */
+  public void recordApprovedShiftRequests(Collection<ShiftRequest> approvedShiftRequests) {
+
+    List<ShiftRequest> shiftRequests = List.copyOf(approvedShiftRequests);
+    afterCommit(() -> update(availability -> shiftRequests.forEach(availability::addShiftRequest)));
+  }
+
+  /**
+   * Marks the employees of approved vacation requests as busy for every shift type on each day of
+   * the vacation.
+   *
+   * @param approvedVacationRequests the approved {@link VacationRequest}s
+   */
+  public void recordApprovedVacationRequests(Collection<VacationRequest> approvedVacationRequests) {
+
+    List<VacationRequest> vacationRequests = List.copyOf(approvedVacationRequests);
+    afterCommit(
+        () -> update(availability -> vacationRequests.forEach(availability::addVacationRequest)));
+  }
+
+  /**
+   * Marks the employees of newly created schedules as busy for their shifts and vacations, without
+   * reloading what they had scheduled before.
+   *
+   * @param createdSchedules the created {@link Schedule}s
+   */
+  public void recordCreatedSchedules(Collection<Schedule> createdSchedules) {
+
+    List<Schedule> schedules = List.copyOf(createdSchedules);
+    afterCommit(() -> update(availability -> schedules.forEach(availability::addSchedule)));
+  }
+
+  /**
+   * Reloads the shifts and vacations of an employee, for changes that may remove them from a
+   * schedule. Approved shifts and vacations still waiting in the schedule outbox are read as well,
+   * so they stay busy until the outbox moves them into a schedule. Everything is read in the
+   * surrounding transaction, so it includes its own changes, and is applied once it commits.
+   *
+   * @param employeeId the ID of the employee
+   */
+  public void refreshEmployee(Long employeeId) {
+
+    List<ScheduledShift> shifts =
+        scheduleRepository.findScheduledAndPendingShiftsByEmployeeId(employeeId);
+    List<ScheduledVacation> vacations =
+        scheduleRepository.findScheduledAndPendingVacationsByEmployeeId(employeeId);
+
+    afterCommit(
+        () ->
+            update(
+                availability -> {
+                  availability.clearBusy(employeeId);
+                  shifts.forEach(
+                      shift ->
+                          availability.markShift(employeeId, shift.shiftDate(), shift.shiftType()));
+                  vacations.forEach(
+                      vacation ->
+                          availability.markVacation(
+                              employeeId, vacation.startDate(), vacation.endDate()));
+                }));
+  }
+
+  /**
+   * Rebuilds the whole index from the office memberships, the schedules and the approvals still
+   * waiting in the schedule outbox.
+   */
+  @Scheduled(cron = "${schedule.availability-index.rebuild-cron:0 45 3 * * *}")
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+
+    lock.writeLock().lock();
+    try {
+      updatesDuringRebuild = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    try {
+      Availability rebuiltAvailability = loadAvailability();
+
+      lock.writeLock().lock();
+      try {
+        updatesDuringRebuild.forEach(indexUpdate -> indexUpdate.accept(rebuiltAvailability));
+        rebuiltAvailability.evictDaysBefore(LocalDate.now().toEpochDay());
+        availability = rebuiltAvailability;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } finally {
+      lock.writeLock().lock();
+      try {
+        updatesDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  private Availability loadAvailability() {
+
+    Availability rebuiltAvailability = new Availability();
+    for (OfficeMembership membership : shiftRequestRepository.findOfficeMemberships()) {
+      rebuiltAvailability.addMember(membership.officeLocationId(), membership.employeeId());
+    }
+    for (OfficeMembership membership : vacationRequestRepository.findOfficeMemberships()) {
+      rebuiltAvailability.addMember(membership.officeLocationId(), membership.employeeId());
+    }
+    for (ScheduledShift shift : scheduleRepository.findAllScheduledAndPendingShifts()) {
+      rebuiltAvailability.markShift(shift.employeeId(), shift.shiftDate(), shift.shiftType());
+    }
+    for (ScheduledVacation vacation : scheduleRepository.findAllScheduledAndPendingVacations()) {
+      rebuiltAvailability.markVacation(
+          vacation.employeeId(), vacation.startDate(), vacation.endDate());
+    }
+    return rebuiltAvailability;
+  }
+
+  private void update(Consumer<Availability> indexUpdate) {
+
+    lock.writeLock().lock();
+    try {
+      availability.evictDaysBefore(LocalDate.now().toEpochDay());
+      indexUpdate.accept(availability);
+      if (updatesDuringRebuild != null) {
+        updatesDuringRebuild.add(indexUpdate);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void afterCommit(Runnable indexUpdate) {
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              indexUpdate.run();
+            }
+          });
+    } else {
+      indexUpdate.run();
+    }
+  }
+
+  /** Office and busy bitmaps over employee slots. Not thread-safe, guarded by the index lock. */
+  private static final class Availability {
+
+    private final Map<Long, Integer> slotsByEmployee = new HashMap<>();
+    private final List<Long> employeesBySlot = new ArrayList<>();
+    private final List<NavigableSet<Long>> busyDaysBySlot = new ArrayList<>();
+    private final Map<Long, BitSet> membersByOffice = new HashMap<>();
+    private final NavigableMap<Long, BitSet[]> busyByDay = new TreeMap<>();
+
+    List<Long> getAvailableEmployees(Long officeLocationId, long epochDay, ShiftType shiftType) {
+
+      BitSet members = membersByOffice.get(officeLocationId);
+      if (members == null) {
+        return List.of();
+      }
+
+      BitSet available = (BitSet) members.clone();
+      BitSet[] busy = busyByDay.get(epochDay);
+      if (busy != null) {
+        available.andNot(busy[shiftType.ordinal()]);
+      }
+
+      List<Long> availableEmployees = new ArrayList<>(available.cardinality());
+      for (int slot = available.nextSetBit(0); slot >= 0; slot = available.nextSetBit(slot + 1)) {
+        availableEmployees.add(employeesBySlot.get(slot));
+      }
+      availableEmployees.sort(null);
+      return availableEmployees;
+    }
+
+    void addShiftRequest(ShiftRequest shiftRequest) {
+      if (shiftRequest.getOfficeLocationId() != null) {
+        addMember(shiftRequest.getOfficeLocationId(), shiftRequest.getEmployeeId());
+      }
+      markShift(
+          shiftRequest.getEmployeeId(), shiftRequest.getShiftDate(), shiftRequest.getShiftType());
+    }
+
+    void addVacationRequest(VacationRequest vacationRequest) {
+      if (vacationRequest.getOfficeLocationId() != null) {
+        addMember(vacationRequest.getOfficeLocationId(), vacationRequest.getEmployeeId());
+      }
+      markVacation(
+          vacationRequest.getEmployeeId(),
+          vacationRequest.getStartDate(),
+          vacationRequest.getEndDate());
+    }
+
+    void addSchedule(Schedule schedule) {
+      if (schedule.getShifts() != null) {
+        schedule
+            .getShifts()
+            .forEach(
+                shift ->
+                    markShift(
+                        schedule.getEmployeeId(), shift.getShiftDate(), shift.getShiftType()));
+      }
+      if (schedule.getVacations() != null) {
+        schedule
+            .getVacations()
+            .forEach(
+                vacation ->
+                    markVacation(
+                        schedule.getEmployeeId(), vacation.getStartDate(), vacation.getEndDate()));
+      }
+    }
+
+    void addMember(Long officeLocationId, Long employeeId) {
+      membersByOffice.computeIfAbsent(officeLocationId, id -> new BitSet()).set(slotOf(employeeId));
+    }
+
+    void markShift(Long employeeId, LocalDateTime shiftDate, ShiftType shiftType) {
+      if (employeeId == null || shiftDate == null || shiftType == null) {
+        return;
+      }
+      int slot = slotOf(employeeId);
+      long epochDay = shiftDate.toLocalDate().toEpochDay();
+      busyOn(epochDay)[shiftType.ordinal()].set(slot);
+      busyDaysBySlot.get(slot).add(epochDay);
+    }
+
+    void markVacation(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
+      if (employeeId == null || startDate == null || endDate == null) {
+        return;
+      }
+      int slot = slotOf(employeeId);
+      for (long epochDay = startDate.toLocalDate().toEpochDay();
+          epochDay <= endDate.toLocalDate().toEpochDay();
+          epochDay++) {
+        for (BitSet busy : busyOn(epochDay)) {
+          busy.set(slot);
+        }
+        busyDaysBySlot.get(slot).add(epochDay);
+      }
+    }
+
+    void clearBusy(Long employeeId) {
+      Integer slot = slotsByEmployee.get(employeeId);
+      if (slot == null) {
+        return;
+      }
+      NavigableSet<Long> busyDays = busyDaysBySlot.get(slot);
+      for (long epochDay : busyDays) {
+        BitSet[] busy = busyByDay.get(epochDay);
+        if (busy != null) {
+          for (BitSet busyForShiftType : busy) {
+            busyForShiftType.clear(slot);
+          }
+        }
+      }
+      busyDays.clear();
+    }
+
+    void evictDaysBefore(long epochDay) {
+      Map<Long, BitSet[]> pastDays = busyByDay.headMap(epochDay);
+      for (Map.Entry<Long, BitSet[]> pastDay : pastDays.entrySet()) {
+        for (BitSet busyForShiftType : pastDay.getValue()) {
+          for (int slot = busyForShiftType.nextSetBit(0);
+              slot >= 0;
+              slot = busyForShiftType.nextSetBit(slot + 1)) {
+            busyDaysBySlot.get(slot).remove(pastDay.getKey());
+          }
+        }
+      }
+      pastDays.clear();
+    }
+
+    private int slotOf(Long employeeId) {
+      return slotsByEmployee.computeIfAbsent(
+          employeeId,
+          id -> {
+            employeesBySlot.add(id);
+            busyDaysBySlot.add(new TreeSet<>());
+            return employeesBySlot.size() - 1;
+          });
+    }
+
+    private BitSet[] busyOn(long epochDay) {
+      return busyByDay.computeIfAbsent(
+          epochDay,
+          day -> {
+            BitSet[] busy = new BitSet[SHIFT_TYPES.length];
+            for (int shiftType = 0; shiftType < busy.length; shiftType++) {
+              busy[shiftType] = new BitSet();
+            }
+            return busy;
+          });
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.model.dto.OptimisticRetryStatistics;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a unit of work in its own transaction and repeats it when the commit fails on an optimistic
+ * lock conflict, such as two approvals appending to the same weekly {@link Schedule} at once. Each
+ * attempt starts with a fresh persistence context, so it re-reads the current version and
+ * re-validates before writing again. Attempts are spaced by an exponential backoff with jitter.
+ *
+ * <p>Work called inside an existing transaction runs once, since only the outermost transaction can
+ * be repeated.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+  private final TransactionTemplate transactionTemplate;
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+
+  private final AtomicLong conflicts = new AtomicLong();
+  private final AtomicLong retries = new AtomicLong();
+  private final AtomicLong exhausted = new AtomicLong();
+
+  public OptimisticRetryExecutor(
+      PlatformTransactionManager transactionManager,
+      @Value("${schedule.optimistic-retry.max-attempts:5}") int maxAttempts,
+      @Value("${schedule.optimistic-retry.initial-backoff:10ms}") Duration initialBackoff,
+      @Value("${schedule.optimistic-retry.max-backoff:200ms}") Duration maxBackoff) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.initialBackoffMillis = Math.max(1, initialBackoff.toMillis());
+    this.maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoff.toMillis());
+  }
+
+  /**
+   * Runs the work in a transaction, retrying it on optimistic lock conflicts.
+   *
+   * @param work the work to run; it must be safe to repeat from the start
+   * @return the result of the first attempt that commits
+   * @throws OptimisticLockingFailureException if every attempt conflicted
+   */
+  public <T> T execute(Supplier<T> work) {
+
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return work.get();
+    }
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> work.get());
+      } catch (OptimisticLockingFailureException e) {
+        conflicts.incrementAndGet();
+        if (attempt >= maxAttempts) {
+          exhausted.incrementAndGet();
+          throw e;
+        }
+        retries.incrementAndGet();
+        backOff(attempt, e);
+      }
+    }
+  }
+
+  public OptimisticRetryStatistics getStatistics() {
+    return new OptimisticRetryStatistics(conflicts.get(), retries.get(), exhausted.get());
+  }
+
+  private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+
+    long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw conflict;
+    }
+  }
+}
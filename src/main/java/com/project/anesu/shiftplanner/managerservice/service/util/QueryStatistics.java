@@ -0,0 +1,126 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.Getter;
+import org.hibernate.SessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.SessionEventSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts what Hibernate does while a unit of work runs on the current thread: the SQL statements it
+ * executes, the entities it loads, the collections it fetches lazily and the time it spends
+ * flushing. Hibernate's own statistics are summed over the whole session factory, so they cannot
+ * tell one request from another; these counters are kept per thread instead and only while a
+ * recording is started, so work on background threads is not counted.
+ */
+@Component
+public class QueryStatistics implements HibernatePropertiesCustomizer {
+
+  private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+  @Override
+  public void customize(Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(
+        SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, CountingSessionListener.class.getName());
+    hibernateProperties.put(
+        EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+        (IntegratorProvider) () -> List.of(new LoadCountingIntegrator()));
+  }
+
+  /**
+   * Starts counting on the current thread, discarding the counts of an earlier recording.
+   *
+   * @return the counts of the recording, updated until {@link #stop()} is called
+   */
+  public static Counts start() {
+    Counts counts = new Counts();
+    CURRENT.set(counts);
+    return counts;
+  }
+
+  /** Stops counting on the current thread. */
+  public static void stop() {
+    CURRENT.remove();
+  }
+
+  private static void count(Consumer<Counts> update) {
+    Counts counts = CURRENT.get();
+    if (counts != null) {
+      update.accept(counts);
+    }
+  }
+
+  /** What Hibernate did during one recording. */
+  @Getter
+  public static final class Counts {
+
+    private long statements;
+    private long entityLoads;
+    private long collectionFetches;
+    private long flushNanos;
+  }
+
+  /** Registered for every session through {@code hibernate.session.events.auto}. */
+  public static class CountingSessionListener implements SessionEventListener {
+
+    private long flushStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+      count(counts -> counts.statements++);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+      count(counts -> counts.statements++);
+    }
+
+    @Override
+    public void flushStart() {
+      flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+      long flushNanos = System.nanoTime() - flushStart;
+      count(counts -> counts.flushNanos += flushNanos);
+    }
+  }
+
+  private static class LoadCountingIntegrator implements Integrator {
+
+    @Override
+    public void integrate(
+        Metadata metadata,
+        BootstrapContext bootstrapContext,
+        SessionFactoryImplementor sessionFactory) {
+
+      EventListenerRegistry eventListenerRegistry =
+          sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+      eventListenerRegistry.appendListeners(
+          EventType.POST_LOAD,
+          (PostLoadEventListener) event -> count(counts -> counts.entityLoads++));
+      eventListenerRegistry.appendListeners(
+          EventType.INIT_COLLECTION,
+          (InitializeCollectionEventListener) event -> count(counts -> counts.collectionFetches++));
+    }
+
+    @Override
+    public void disintegrate(
+        SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {}
+  }
+}
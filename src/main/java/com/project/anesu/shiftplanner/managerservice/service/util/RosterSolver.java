@@ -0,0 +1,399 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDemand;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns employees to the shifts an office needs in a week, within the working hour limits of
+ * {@link ShiftRequestValidator} and {@link ScheduleValidator}.
+ *
+ * <p>Each attempt staffs the demands with the fewest spare candidates first and gives every shift
+ * to the candidate with the fewest hours in the week. Demands left short are then repaired by
+ * moving one shift of a blocked candidate to someone else, so the candidate is free to take the
+ * short demand. Attempts differ in the tie-breaking between equal candidates and demands, and run
+ * in parallel as fork/join tasks. The roster with the fewest missing shifts wins, and among those
+ * the one that spreads the hours most evenly.
+ *
+ * <p>The search stops at its time budget. Attempts that have not started by then are skipped, and
+ * running attempts keep the repairs they made so far, so a roster is always returned.
+ */
+@Component
+public class RosterSolver {
+
+  private final ForkJoinPool pool;
+  private final long timeBudgetNanos;
+  private final int attempts;
+
+  public RosterSolver(
+      @Value("${roster.solver.time-budget:2s}") Duration timeBudget,
+      @Value("${roster.solver.attempts:64}") int attempts,
+      @Value("${roster.solver.parallelism:0}") int parallelism) {
+    this.pool =
+        new ForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    this.timeBudgetNanos = timeBudget.toNanos();
+    this.attempts = Math.max(1, attempts);
+  }
+
+  /**
+   * Assigns employees to shift demands. The demands are expected to fall into one ISO week, with
+   * shift lengths that {@link ScheduleValidator#allowsShiftWorkingHours} accepts. An employee takes
+   * at most one shift per demand and one shift per shift type and day.
+   *
+   * @param demands the shifts to staff
+   * @param availableEmployees the IDs of the employees who may take each demand, in the order of
+   *     the demands
+   * @param workingHoursRollups the daily and weekly rollups of the employees in the week
+   * @return the IDs of the assigned employees of each demand in ascending order, in the order of
+   *     the demands
+   */
+  public List<List<Long>> solve(
+      List<RosterDemand> demands,
+      List<List<Long>> availableEmployees,
+      List<WorkingHoursRollup> workingHoursRollups) {
+
+    if (demands.isEmpty()) {
+      return List.of();
+    }
+    Problem problem = new Problem(demands, availableEmployees, workingHoursRollups);
+    long deadline = System.nanoTime() + timeBudgetNanos;
+    return pool.invoke(new Search(problem, 0, attempts, deadline)).assignedEmployeeIds();
+  }
+
+  @PreDestroy
+  public void shutDown() {
+    pool.shutdownNow();
+  }
+
+  /** Splits a range of attempts in halves until each task runs one attempt. */
+  private static final class Search extends RecursiveTask<Roster> {
+
+    private final Problem problem;
+    private final int fromAttempt;
+    private final int toAttempt;
+    private final long deadline;
+
+    Search(Problem problem, int fromAttempt, int toAttempt, long deadline) {
+      this.problem = problem;
+      this.fromAttempt = fromAttempt;
+      this.toAttempt = toAttempt;
+      this.deadline = deadline;
+    }
+
+    @Override
+    protected Roster compute() {
+      if (toAttempt - fromAttempt == 1) {
+        // The first attempt always runs, so there is a roster however small the budget.
+        if (fromAttempt > 0 && System.nanoTime() - deadline >= 0) {
+          return null;
+        }
+        return Roster.attempt(problem, fromAttempt, deadline);
+      }
+
+      int middle = (fromAttempt + toAttempt) >>> 1;
+      Search second = new Search(problem, middle, toAttempt, deadline);
+      second.fork();
+      Roster first = new Search(problem, fromAttempt, middle, deadline).compute();
+      return Roster.better(first, second.join());
+    }
+  }
+
+  /** The demands, candidates and booked hours, with employees and days numbered from zero. */
+  private static final class Problem {
+
+    private final long[] employeeIds;
+    private final int days;
+    private final int[] dayOfDemand;
+    private final int[] shiftTypeOfDemand;
+    private final long[] hoursOfDemand;
+    private final int[] headcountOfDemand;
+    private final int[][] candidatesOfDemand;
+    private final long[] bookedWeeklyHours;
+    private final long[] bookedDailyHours;
+
+    Problem(
+        List<RosterDemand> demands,
+        List<List<Long>> availableEmployees,
+        List<WorkingHoursRollup> workingHoursRollups) {
+
+      TreeSet<Long> distinctEmployeeIds = new TreeSet<>();
+      availableEmployees.forEach(distinctEmployeeIds::addAll);
+      employeeIds = distinctEmployeeIds.stream().mapToLong(Long::longValue).toArray();
+      Map<Long, Integer> employeeIndex = new HashMap<>();
+      for (int employee = 0; employee < employeeIds.length; employee++) {
+        employeeIndex.put(employeeIds[employee], employee);
+      }
+
+      LocalDate firstDay =
+          demands.stream()
+              .map(demand -> demand.shiftDate().toLocalDate())
+              .min(Comparator.naturalOrder())
+              .orElseThrow();
+      LocalDate lastDay =
+          demands.stream()
+              .map(demand -> demand.shiftDate().toLocalDate())
+              .max(Comparator.naturalOrder())
+              .orElseThrow();
+      days = (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1;
+
+      int demandCount = demands.size();
+      dayOfDemand = new int[demandCount];
+      shiftTypeOfDemand = new int[demandCount];
+      hoursOfDemand = new long[demandCount];
+      headcountOfDemand = new int[demandCount];
+      candidatesOfDemand = new int[demandCount][];
+      for (int demand = 0; demand < demandCount; demand++) {
+        RosterDemand rosterDemand = demands.get(demand);
+        dayOfDemand[demand] =
+            (int) (rosterDemand.shiftDate().toLocalDate().toEpochDay() - firstDay.toEpochDay());
+        shiftTypeOfDemand[demand] = rosterDemand.shiftType().ordinal();
+        hoursOfDemand[demand] = rosterDemand.shiftLengthInHours();
+        headcountOfDemand[demand] = Math.max(0, rosterDemand.headcount());
+        candidatesOfDemand[demand] =
+            availableEmployees.get(demand).stream()
+                .distinct()
+                .mapToInt(employeeIndex::get)
+                .sorted()
+                .toArray();
+      }
+
+      bookedWeeklyHours = new long[employeeIds.length];
+      bookedDailyHours = new long[employeeIds.length * days];
+      for (WorkingHoursRollup rollup : workingHoursRollups) {
+        Integer employee = employeeIndex.get(rollup.getEmployeeId());
+        if (employee == null) {
+          continue;
+        }
+        if (rollup.getPeriod() == WorkingHoursPeriod.WEEK) {
+          bookedWeeklyHours[employee] += rollup.getWorkingHours();
+        } else {
+          long day = rollup.getPeriodStart().toEpochDay() - firstDay.toEpochDay();
+          if (day >= 0 && day < days) {
+            bookedDailyHours[employee * days + (int) day] += rollup.getWorkingHours();
+          }
+        }
+      }
+    }
+
+    int employees() {
+      return employeeIds.length;
+    }
+
+    int demands() {
+      return dayOfDemand.length;
+    }
+  }
+
+  /** The assignments of one attempt. Not thread-safe, each attempt has its own. */
+  private static final class Roster {
+
+    private final Problem problem;
+    private final int[] rank;
+    private final BitSet[] staffOfDemand;
+    private final int[] staffCountOfDemand;
+    private final long[] weeklyHours;
+    private final long[] dailyHours;
+    private final int[] shiftTypesOfDay;
+
+    private Roster(Problem problem, int[] rank) {
+      this.problem = problem;
+      this.rank = rank;
+      this.staffOfDemand = new BitSet[problem.demands()];
+      Arrays.setAll(staffOfDemand, demand -> new BitSet(problem.employees()));
+      this.staffCountOfDemand = new int[problem.demands()];
+      this.weeklyHours = problem.bookedWeeklyHours.clone();
+      this.dailyHours = problem.bookedDailyHours.clone();
+      this.shiftTypesOfDay = new int[problem.employees() * problem.days];
+    }
+
+    static Roster attempt(Problem problem, int attempt, long deadline) {
+
+      SplittableRandom random = new SplittableRandom(attempt);
+      int[] rank = new int[problem.employees()];
+      Arrays.setAll(rank, employee -> employee);
+      if (attempt > 0) {
+        shuffle(rank, random);
+      }
+
+      // Scarce demands first: few candidates for the headcount. Later attempts perturb the order.
+      double[] scarcity = new double[problem.demands()];
+      for (int demand = 0; demand < scarcity.length; demand++) {
+        scarcity[demand] =
+            (double) problem.candidatesOfDemand[demand].length
+                / Math.max(1, problem.headcountOfDemand[demand])
+                * (attempt > 0 ? 0.75 + random.nextDouble() * 0.5 : 1);
+      }
+      Integer[] order = new Integer[problem.demands()];
+      Arrays.setAll(order, demand -> demand);
+      Arrays.sort(order, Comparator.comparingDouble(demand -> scarcity[demand]));
+
+      Roster roster = new Roster(problem, rank);
+      for (int demand : order) {
+        while (roster.missing(demand) > 0) {
+          int employee = roster.bestCandidate(demand, -1);
+          if (employee < 0) {
+            break;
+          }
+          roster.assign(employee, demand);
+        }
+      }
+      roster.repair(order, deadline);
+      return roster;
+    }
+
+    static Roster better(Roster first, Roster second) {
+      if (first == null || second == null) {
+        return first == null ? second : first;
+      }
+      long firstMissing = first.totalMissing();
+      long secondMissing = second.totalMissing();
+      if (firstMissing != secondMissing) {
+        return firstMissing < secondMissing ? first : second;
+      }
+      return second.squaredWeeklyHours() < first.squaredWeeklyHours() ? second : first;
+    }
+
+    List<List<Long>> assignedEmployeeIds() {
+      List<List<Long>> assignedEmployeeIds = new ArrayList<>(problem.demands());
+      for (BitSet staff : staffOfDemand) {
+        List<Long> employeeIds = new ArrayList<>(staff.cardinality());
+        staff.stream().forEach(employee -> employeeIds.add(problem.employeeIds[employee]));
+        assignedEmployeeIds.add(employeeIds);
+      }
+      return assignedEmployeeIds;
+    }
+
+    /**
+     * Fills missing shifts by moving a shift of a candidate who cannot take the demand to another
+     * employee. Each move staffs one more shift, so the repair ends after at most as many moves as
+     * shifts are missing.
+     */
+    private void repair(Integer[] order, long deadline) {
+      boolean repaired = true;
+      while (repaired) {
+        repaired = false;
+        for (int demand : order) {
+          while (missing(demand) > 0 && moveShiftFor(demand)) {
+            repaired = true;
+          }
+          if (System.nanoTime() - deadline >= 0) {
+            return;
+          }
+        }
+      }
+    }
+
+    private boolean moveShiftFor(int demand) {
+      for (int employee : problem.candidatesOfDemand[demand]) {
+        if (staffOfDemand[demand].get(employee) || canTake(employee, demand)) {
+          continue;
+        }
+        for (int otherDemand = 0; otherDemand < problem.demands(); otherDemand++) {
+          if (!staffOfDemand[otherDemand].get(employee)) {
+            continue;
+          }
+          unassign(employee, otherDemand);
+          if (canTake(employee, demand)) {
+            assign(employee, demand);
+            int replacement = bestCandidate(otherDemand, employee);
+            if (replacement >= 0) {
+              assign(replacement, otherDemand);
+              return true;
+            }
+            unassign(employee, demand);
+          }
+          assign(employee, otherDemand);
+        }
+      }
+      return false;
+    }
+
+    /** The candidate with the fewest weekly hours who can take the demand, or {@code -1}. */
+    private int bestCandidate(int demand, int excludedEmployee) {
+      int best = -1;
+      for (int employee : problem.candidatesOfDemand[demand]) {
+        if (employee == excludedEmployee || !canTake(employee, demand)) {
+          continue;
+        }
+        if (best < 0
+            || weeklyHours[employee] < weeklyHours[best]
+            || (weeklyHours[employee] == weeklyHours[best] && rank[employee] < rank[best])) {
+          best = employee;
+        }
+      }
+      return best;
+    }
+
+    private boolean canTake(int employee, int demand) {
+      int employeeDay = employee * problem.days + problem.dayOfDemand[demand];
+      return !staffOfDemand[demand].get(employee)
+          && (shiftTypesOfDay[employeeDay] & (1 << problem.shiftTypeOfDemand[demand])) == 0
+          && ShiftRequestValidator.allowsShift(
+              dailyHours[employeeDay], weeklyHours[employee], problem.hoursOfDemand[demand]);
+    }
+
+    private void assign(int employee, int demand) {
+      int employeeDay = employee * problem.days + problem.dayOfDemand[demand];
+      staffOfDemand[demand].set(employee);
+      staffCountOfDemand[demand]++;
+      weeklyHours[employee] += problem.hoursOfDemand[demand];
+      dailyHours[employeeDay] += problem.hoursOfDemand[demand];
+      shiftTypesOfDay[employeeDay] |= 1 << problem.shiftTypeOfDemand[demand];
+    }
+
+    private void unassign(int employee, int demand) {
+      int employeeDay = employee * problem.days + problem.dayOfDemand[demand];
+      staffOfDemand[demand].clear(employee);
+      staffCountOfDemand[demand]--;
+      weeklyHours[employee] -= problem.hoursOfDemand[demand];
+      dailyHours[employeeDay] -= problem.hoursOfDemand[demand];
+      shiftTypesOfDay[employeeDay] &= ~(1 << problem.shiftTypeOfDemand[demand]);
+    }
+
+    private int missing(int demand) {
+      return problem.headcountOfDemand[demand] - staffCountOfDemand[demand];
+    }
+
+    private long totalMissing() {
+      long totalMissing = 0;
+      for (int demand = 0; demand < problem.demands(); demand++) {
+        totalMissing += missing(demand);
+      }
+      return totalMissing;
+    }
+
+    private long squaredWeeklyHours() {
+      long squaredWeeklyHours = 0;
+      for (long hours : weeklyHours) {
+        squaredWeeklyHours += hours * hours;
+      }
+      return squaredWeeklyHours;
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+      for (int index = values.length - 1; index > 0; index--) {
+        int other = random.nextInt(index + 1);
+        int value = values[index];
+        values[index] = values[other];
+        values[other] = value;
+      }
+    }
+  }
+}
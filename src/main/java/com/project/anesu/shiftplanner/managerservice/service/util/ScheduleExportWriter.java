@@ -0,0 +1,194 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleExportEntry;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link ScheduleExportEntry} rows to an output stream as they arrive, through a small
+ * buffer, so an export of any size needs the same memory. Closing the writer finishes the document
+ * and flushes it, but leaves the output stream open.
+ */
+public abstract class ScheduleExportWriter implements Closeable {
+
+  protected final Writer writer;
+
+  private ScheduleExportWriter(OutputStream outputStream) {
+    this.writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 8192);
+  }
+
+  /**
+   * Creates a writer for CSV with a header line and one line per shift or vacation.
+   *
+   * @param outputStream the stream to write to
+   * @return the {@link ScheduleExportWriter}
+   */
+  public static ScheduleExportWriter csv(OutputStream outputStream) {
+    return new Csv(outputStream);
+  }
+
+  /**
+   * Creates a writer for an iCalendar file with one event per shift or vacation. The times are
+   * written as local times, as they are stored. Entries without a start or end date are left out,
+   * since an event needs both.
+   *
+   * @param outputStream the stream to write to
+   * @return the {@link ScheduleExportWriter}
+   */
+  public static ScheduleExportWriter iCalendar(OutputStream outputStream) {
+    return new ICalendar(outputStream);
+  }
+
+  /**
+   * Writes one row.
+   *
+   * @param entry the shift or vacation to write
+   * @throws UncheckedIOException if the output stream fails, for example because the client left
+   */
+  public void write(ScheduleExportEntry entry) {
+    try {
+      writeEntry(entry);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    writeEnd();
+    writer.flush();
+  }
+
+  protected abstract void writeEntry(ScheduleExportEntry entry) throws IOException;
+
+  protected abstract void writeEnd() throws IOException;
+
+  private static String valueOf(Object value) {
+    return value == null ? "" : value.toString();
+  }
+
+  private static final class Csv extends ScheduleExportWriter {
+
+    private static final String HEADER =
+        "type,scheduleId,employeeId,scheduleStartDate,scheduleEndDate,entryId,startDate,endDate,"
+            + "shiftType,workingHours\n";
+
+    private boolean headerWritten;
+
+    Csv(OutputStream outputStream) {
+      super(outputStream);
+    }
+
+    @Override
+    protected void writeEntry(ScheduleExportEntry entry) throws IOException {
+      writeHeader();
+      writer
+          .append(entry.type().name())
+          .append(',')
+          .append(valueOf(entry.scheduleId()))
+          .append(',')
+          .append(valueOf(entry.employeeId()))
+          .append(',')
+          .append(valueOf(entry.scheduleStartDate()))
+          .append(',')
+          .append(valueOf(entry.scheduleEndDate()))
+          .append(',')
+          .append(valueOf(entry.entryId()))
+          .append(',')
+          .append(valueOf(entry.startDate()))
+          .append(',')
+          .append(valueOf(entry.endDate()))
+          .append(',')
+          .append(valueOf(entry.shiftType()))
+          .append(',')
+          .append(valueOf(entry.workingHours()))
+          .append('\n');
+    }
+
+    @Override
+    protected void writeEnd() throws IOException {
+      writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+      if (!headerWritten) {
+        writer.write(HEADER);
+        headerWritten = true;
+      }
+    }
+  }
+
+  /** Writes RFC 5545 content lines, which end with CRLF. No line is long enough to need folding. */
+  private static final class ICalendar extends ScheduleExportWriter {
+
+    private static final DateTimeFormatter LOCAL_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final String timestamp = UTC_TIME.format(Instant.now());
+    private boolean started;
+
+    ICalendar(OutputStream outputStream) {
+      super(outputStream);
+    }
+
+    @Override
+    protected void writeEntry(ScheduleExportEntry entry) throws IOException {
+      writeStart();
+      if (entry.startDate() == null || entry.endDate() == null) {
+        return;
+      }
+      String kind = entry.type() == ScheduleExportEntry.Type.SHIFT ? "shift" : "vacation";
+      line("BEGIN:VEVENT");
+      line("UID:" + kind + "-" + entry.entryId() + "@shiftplanner");
+      line("DTSTAMP:" + timestamp);
+      line("DTSTART:" + localTime(entry.startDate()));
+      line("DTEND:" + localTime(entry.endDate()));
+      line(
+          entry.type() == ScheduleExportEntry.Type.SHIFT
+              ? "SUMMARY:" + entry.shiftType() + " (" + entry.workingHours() + "h)"
+              : "SUMMARY:Vacation");
+      line("CATEGORIES:" + entry.type().name());
+      line("X-SHIFTPLANNER-EMPLOYEE-ID:" + entry.employeeId());
+      line("X-SHIFTPLANNER-SCHEDULE-ID:" + entry.scheduleId());
+      line("END:VEVENT");
+    }
+
+    @Override
+    protected void writeEnd() throws IOException {
+      writeStart();
+      line("END:VCALENDAR");
+    }
+
+    private void writeStart() throws IOException {
+      if (!started) {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//shiftplanner//manager-service//EN");
+        line("CALSCALE:GREGORIAN");
+        started = true;
+      }
+    }
+
+    private void line(String contentLine) throws IOException {
+      writer.write(contentLine);
+      writer.write("\r\n");
+    }
+
+    private static String localTime(LocalDateTime dateTime) {
+      return LOCAL_TIME.format(dateTime);
+    }
+  }
+}
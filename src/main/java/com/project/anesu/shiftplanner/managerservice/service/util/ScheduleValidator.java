@@ -1,81 +1,128 @@
 package com.project.anesu.shiftplanner.managerservice.service.util;
 
 import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduleTimeline;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
 import com.project.anesu.shiftplanner.managerservice.service.exception.InvalidScheduleException;
+import com.project.anesu.shiftplanner.managerservice.service.util.ValidationMetrics.RejectionReason;
+import io.micrometer.core.annotation.Timed;
 import java.time.DayOfWeek;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.ToLongFunction;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@AllArgsConstructor
+@Timed("shiftplanner.validation")
 public class ScheduleValidator {
 
   private static final int MAX_WORKING_HOURS_PER_SHIFT = 8;
-  private static final int MAX_WORKING_HOURS_PER_WEEK = 40;
+
+  private final WorkingHoursRollupService workingHoursRollupService;
+  private final ValidationMetrics validationMetrics;
 
   public void validateSchedule(Schedule schedule) {
     validateDates(schedule);
     validateWorkingHours(schedule);
   }
 
+  /**
+   * Checks the length of a single shift against the limit {@link #validateSchedule} enforces,
+   * without recording a rejection.
+   *
+   * @param workingHours the working hours of the shift
+   * @return whether the shift is short enough
+   */
+  public static boolean allowsShiftWorkingHours(long workingHours) {
+    return workingHours <= MAX_WORKING_HOURS_PER_SHIFT;
+  }
+
+  /**
+   * Validates that replacing shifts of an employee keeps every affected week within the weekly
+   * working hour limit, based on the hours already recorded in the working hours rollup.
+   *
+   * @param employeeId the ID of the employee
+   * @param addedShifts the {@link ShiftEntry}s to be added
+   * @param removedShifts the {@link ShiftEntry}s to be removed
+   */
+  public void validateWeeklyWorkingHours(
+      Long employeeId, Collection<ShiftEntry> addedShifts, Collection<ShiftEntry> removedShifts) {
+
+    validateWeeklyWorkingHours(
+        addedShifts,
+        removedShifts,
+        weekStart -> workingHoursRollupService.getWeeklyWorkingHours(employeeId, weekStart));
+  }
+
+  /**
+   * Validates that replacing shifts of an employee keeps every affected week within the weekly
+   * working hour limit, based on hours the caller has already looked up.
+   *
+   * @param addedShifts the {@link ShiftEntry}s to be added
+   * @param removedShifts the {@link ShiftEntry}s to be removed
+   * @param bookedWeeklyHours the hours already booked in the week starting on the given Monday
+   */
+  public void validateWeeklyWorkingHours(
+      Collection<ShiftEntry> addedShifts,
+      Collection<ShiftEntry> removedShifts,
+      ToLongFunction<LocalDate> bookedWeeklyHours) {
+
+    Map<LocalDate, Long> weeklyHourChanges = new HashMap<>();
+    addedShifts.forEach(shift -> addToWeek(weeklyHourChanges, shift, 1));
+    removedShifts.forEach(shift -> addToWeek(weeklyHourChanges, shift, -1));
+
+    weeklyHourChanges.forEach(
+        (weekStart, hourChange) -> {
+          if (hourChange > 0
+              && bookedWeeklyHours.applyAsLong(weekStart) + hourChange
+                  > ShiftRequestValidator.MAX_WORKING_HOURS_PER_WEEK) {
+            throw rejection(
+                RejectionReason.WEEKLY_HOURS, "Weekly working hours exceed maximum limit.");
+          }
+        });
+  }
+
   private void validateDates(Schedule schedule) {
     if (schedule.getStartDate() == null || schedule.getEndDate() == null) {
-      throw new InvalidScheduleException("Start date or end date is null");
+      throw rejection(RejectionReason.INVALID_DATES, "Start date or end date is null");
     }
     if (schedule.getStartDate().isAfter(schedule.getEndDate())) {
-      throw new InvalidScheduleException("Start date cannot be after end date");
+      throw rejection(RejectionReason.INVALID_DATES, "Start date cannot be after end date");
     }
 
     if (schedule.getShifts() == null && schedule.getVacations() == null) {
-      throw new InvalidScheduleException("Shifts or vacations must be provided.");
+      throw rejection(RejectionReason.MISSING_ENTRIES, "Shifts or vacations must be provided.");
     }
   }
 
   private void validateWorkingHours(Schedule schedule) {
-    for (ShiftEntry shift : schedule.getShifts()) {
-      if (shift.getWorkingHours() > MAX_WORKING_HOURS_PER_SHIFT) {
-        throw new InvalidScheduleException("Shift exceeds maximum working hours.");
-      }
+    if (schedule.getShifts() == null) {
+      return;
     }
 
-    // Validate working hours per week
+    ScheduleTimeline timeline = schedule.getTimeline();
+    if (!allowsShiftWorkingHours(timeline.getMaxShiftWorkingHours())) {
+      throw rejection(RejectionReason.SHIFT_HOURS, "Shift exceeds maximum working hours.");
+    }
 
-    Map<LocalDateTime, Long> dailyWorkingHours =
-        schedule.getShifts().stream() // list of shifts is turning into streams
-            .collect(
-                Collectors.groupingBy(
-                    ShiftEntry::getShiftDate, // grouping by shift date
-                    Collectors.summingLong(
-                        ShiftEntry::getWorkingHours))); // sum up working hours in EACH DAY
-
-    for (LocalDateTime date : dailyWorkingHours.keySet()) { // loops each day
-      long weeklyHours =
-          calculateWeeklyHours(dailyWorkingHours, date); // adds total hours worked in the week
-      if (weeklyHours > MAX_WORKING_HOURS_PER_WEEK) {
-        throw new InvalidScheduleException("Weekly working hours exceed maximum limit.");
-      }
+    // Validate working hours per week
+    if (timeline.getMaxWeeklyWorkingHours() > ShiftRequestValidator.MAX_WORKING_HOURS_PER_WEEK) {
+      throw rejection(RejectionReason.WEEKLY_HOURS, "Weekly working hours exceed maximum limit.");
     }
   }
 
-  private long calculateWeeklyHours(
-      Map<LocalDateTime, Long> dailyWorkingHours, LocalDateTime date) {
-    LocalDateTime weekStart = date.with(DayOfWeek.MONDAY);
-    LocalDateTime weekEnd = date.with(DayOfWeek.SUNDAY);
-
-    return dailyWorkingHours.entrySet().stream()
-        .filter(
-            entry ->
-                !entry.getKey().isBefore(weekStart)
-                    && !entry
-                        .getKey()
-                        .isAfter(
-                            weekEnd)) // filters days between Monday and Sunday and ignores any days
-        // after that.
-        .mapToLong(
-            Map.Entry
-                ::getValue) // extracts the number of hours from all these days and adds them up.
-        .sum();
+  private InvalidScheduleException rejection(RejectionReason reason, String message) {
+    validationMetrics.recordRejection(ScheduleValidator.class, reason);
+    return new InvalidScheduleException(message);
+  }
+
+  private long addToWeek(Map<LocalDate, Long> weeklyWorkingHours, ShiftEntry shift, int sign) {
+    LocalDate weekStart = shift.getShiftDate().toLocalDate().with(DayOfWeek.MONDAY);
+    return weeklyWorkingHours.merge(weekStart, sign * shift.getWorkingHours(), Long::sum);
   }
 }
@@ -1,38 +1,174 @@
 package com.project.anesu.shiftplanner.managerservice.service.util;
 
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
 import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
-import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
-import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
 import com.project.anesu.shiftplanner.managerservice.service.exception.ShiftValidationException;
-import java.util.Optional;
+import com.project.anesu.shiftplanner.managerservice.service.util.ValidationMetrics.RejectionReason;
+import io.micrometer.core.annotation.Timed;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@AllArgsConstructor
+@Timed("shiftplanner.validation")
 public class ShiftRequestValidator {
+  /** The most hours an employee may work in an ISO week, shared with {@link ScheduleValidator}. */
+  public static final int MAX_WORKING_HOURS_PER_WEEK = 40;
+
   private static final int MAX_LEGAL_WORKING_HOURS = 10;
 
-  public void validateShiftRequest(
-      ShiftRequest shiftRequest, ShiftRequestRepository shiftRequestRepository) {
-    Optional<ShiftRequest> shiftRequestOptional =
-        shiftRequestRepository.findByEmployeeIdAndShiftDateAndStatus(
-            shiftRequest.getEmployeeId(), shiftRequest.getShiftDate(), ShiftRequestStatus.APPROVED);
-
-    if (shiftRequestOptional.isPresent()) {
-      ShiftRequest existingShift = shiftRequestOptional.get();
-      boolean exceedsMaximumWorkingHours =
-          existingShift.getShiftLengthInHours() + shiftRequest.getShiftLengthInHours()
-              >= MAX_LEGAL_WORKING_HOURS;
-
-      if (exceedsMaximumWorkingHours) {
-        throw new ShiftValidationException(
-            "New shift request violates working hours. Employee ID: "
-                + shiftRequest.getEmployeeId()
-                + " already has "
-                + shiftRequestOptional.get().getShiftLengthInHours()
-                + " hours for this shift scheduled/recorded. Maximum working hours should not exceed : "
-                + MAX_LEGAL_WORKING_HOURS
-                + " hours.");
+  private final WorkingHoursRollupService workingHoursRollupService;
+  private final ValidationMetrics validationMetrics;
+
+  public void validateShiftRequest(ShiftRequest shiftRequest) {
+    LocalDate shiftDay = shiftRequest.getShiftDate().toLocalDate();
+
+    validateWorkingHours(
+        shiftRequest,
+        workingHoursRollupService.getDailyWorkingHours(shiftRequest.getEmployeeId(), shiftDay),
+        workingHoursRollupService.getWeeklyWorkingHours(shiftRequest.getEmployeeId(), shiftDay));
+  }
+
+  /**
+   * Validates a group of pending shift requests in memory against the working hours already
+   * scheduled for the same employees. Requests that pass are counted towards the working hours of
+   * the requests that follow them, so conflicts inside the group are detected as well.
+   *
+   * @param pendingShiftRequests the shift requests to validate, in approval order
+   * @param workingHoursRollups the daily and weekly rollups of the affected employees and dates
+   * @return the failure reason per shift request ID, empty if every request is valid
+   */
+  public Map<Long, String> validateShiftRequests(
+      List<ShiftRequest> pendingShiftRequests, List<WorkingHoursRollup> workingHoursRollups) {
+
+    Map<Long, String> failures = new LinkedHashMap<>();
+    validateShiftRequests(
+        pendingShiftRequests,
+        workingHoursRollups,
+        (shiftRequest, e) -> failures.put(shiftRequest.getId(), e.getMessage()));
+    return failures;
+  }
+
+  /**
+   * Validates a group of shift requests like {@link #validateShiftRequests(List, List)}, for
+   * requests that have no ID yet.
+   *
+   * @param shiftRequests the shift requests to validate, in order
+   * @param workingHoursRollups the daily and weekly rollups of the affected employees and dates
+   * @param rejectedShiftRequests called with every invalid shift request and the reason
+   * @return the valid shift requests, in order
+   */
+  public List<ShiftRequest> validateShiftRequests(
+      List<ShiftRequest> shiftRequests,
+      List<WorkingHoursRollup> workingHoursRollups,
+      BiConsumer<ShiftRequest, ShiftValidationException> rejectedShiftRequests) {
+
+    Map<EmployeePeriod, Long> scheduledHours = new HashMap<>();
+    for (WorkingHoursRollup workingHoursRollup : workingHoursRollups) {
+      scheduledHours.put(
+          new EmployeePeriod(
+              workingHoursRollup.getEmployeeId(),
+              workingHoursRollup.getPeriod(),
+              workingHoursRollup.getPeriodStart()),
+          workingHoursRollup.getWorkingHours());
+    }
+
+    List<ShiftRequest> validShiftRequests = new ArrayList<>(shiftRequests.size());
+    for (ShiftRequest shiftRequest : shiftRequests) {
+      EmployeePeriod day = EmployeePeriod.dayOf(shiftRequest);
+      EmployeePeriod week = EmployeePeriod.weekOf(shiftRequest);
+      try {
+        validateWorkingHours(
+            shiftRequest,
+            scheduledHours.getOrDefault(day, 0L),
+            scheduledHours.getOrDefault(week, 0L));
+        scheduledHours.merge(day, shiftRequest.getShiftLengthInHours(), Long::sum);
+        scheduledHours.merge(week, shiftRequest.getShiftLengthInHours(), Long::sum);
+        validShiftRequests.add(shiftRequest);
+      } catch (ShiftValidationException e) {
+        rejectedShiftRequests.accept(shiftRequest, e);
       }
     }
+    return validShiftRequests;
+  }
+
+  /**
+   * Checks a shift against the daily and weekly limits {@link #validateShiftRequest} enforces,
+   * without recording a rejection.
+   *
+   * @param existingDailyHours the hours the employee already works on the day of the shift
+   * @param existingWeeklyHours the hours the employee already works in the week of the shift
+   * @param shiftLengthInHours the length of the shift
+   * @return whether the shift may be added
+   */
+  public static boolean allowsShift(
+      long existingDailyHours, long existingWeeklyHours, long shiftLengthInHours) {
+    return !exceedsDailyWorkingHours(existingDailyHours, shiftLengthInHours)
+        && !exceedsWeeklyWorkingHours(existingWeeklyHours, shiftLengthInHours);
+  }
+
+  private static boolean exceedsDailyWorkingHours(
+      long existingDailyHours, long shiftLengthInHours) {
+    return existingDailyHours > 0
+        && existingDailyHours + shiftLengthInHours >= MAX_LEGAL_WORKING_HOURS;
+  }
+
+  private static boolean exceedsWeeklyWorkingHours(
+      long existingWeeklyHours, long shiftLengthInHours) {
+    return existingWeeklyHours + shiftLengthInHours > MAX_WORKING_HOURS_PER_WEEK;
+  }
+
+  private void validateWorkingHours(
+      ShiftRequest shiftRequest, long existingDailyHours, long existingWeeklyHours) {
+    if (exceedsDailyWorkingHours(existingDailyHours, shiftRequest.getShiftLengthInHours())) {
+      validationMetrics.recordRejection(ShiftRequestValidator.class, RejectionReason.DAILY_HOURS);
+      throw new ShiftValidationException(
+          "New shift request violates working hours. Employee ID: "
+              + shiftRequest.getEmployeeId()
+              + " already has "
+              + existingDailyHours
+              + " hours for this shift scheduled/recorded. Maximum working hours should not exceed : "
+              + MAX_LEGAL_WORKING_HOURS
+              + " hours.");
+    }
+
+    if (exceedsWeeklyWorkingHours(existingWeeklyHours, shiftRequest.getShiftLengthInHours())) {
+      validationMetrics.recordRejection(ShiftRequestValidator.class, RejectionReason.WEEKLY_HOURS);
+      throw new ShiftValidationException(
+          "New shift request violates weekly working hours. Employee ID: "
+              + shiftRequest.getEmployeeId()
+              + " already has "
+              + existingWeeklyHours
+              + " hours scheduled/recorded for this week. Maximum weekly working hours should not exceed : "
+              + MAX_WORKING_HOURS_PER_WEEK
+              + " hours.");
+    }
+  }
+
+  private record EmployeePeriod(Long employeeId, WorkingHoursPeriod period, LocalDate periodStart) {
+
+    static EmployeePeriod dayOf(ShiftRequest shiftRequest) {
+      return new EmployeePeriod(
+          shiftRequest.getEmployeeId(),
+          WorkingHoursPeriod.DAY,
+          shiftRequest.getShiftDate().toLocalDate());
+    }
+
+    static EmployeePeriod weekOf(ShiftRequest shiftRequest) {
+      return new EmployeePeriod(
+          shiftRequest.getEmployeeId(),
+          WorkingHoursPeriod.WEEK,
+          shiftRequest.getShiftDate().toLocalDate().with(DayOfWeek.MONDAY));
+    }
   }
 }
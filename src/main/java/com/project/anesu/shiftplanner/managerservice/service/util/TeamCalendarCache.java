@@ -0,0 +1,117 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.dto.TeamCalendarEntry;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache of the team calendar, split into slices per office location and the month the
+ * vacation starts in. A date range is answered from the slices of the months it spans.
+ *
+ * <p>A slice is dropped whenever a vacation request starting in that office and month is approved
+ * or declined through {@link #invalidate(VacationRequest)}. Requests created elsewhere become
+ * visible once the slice expires and is reloaded.
+ */
+@Component
+public class TeamCalendarCache {
+
+  private static final List<VacationRequestStatus> CALENDAR_STATUSES =
+      List.of(VacationRequestStatus.PENDING, VacationRequestStatus.APPROVED);
+
+  private final VacationRequestRepository vacationRequestRepository;
+  private final AsyncCache<OfficeMonth, List<TeamCalendarEntry>> slices;
+
+  public TeamCalendarCache(
+      VacationRequestRepository vacationRequestRepository,
+      @Value("${vacation.team-calendar-cache.maximum-slices:10000}") long maximumSlices,
+      @Value("${vacation.team-calendar-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+    this.vacationRequestRepository = vacationRequestRepository;
+    this.slices =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSlices)
+            .expireAfterWrite(expireAfterWrite)
+            .buildAsync();
+  }
+
+  /**
+   * Retrieves the approved and pending vacation requests of an office that lie completely within a
+   * date range.
+   *
+   * @param officeLocationId the ID of the office location
+   * @param startDate the start of the range
+   * @param endDate the end of the range
+   * @return the {@link TeamCalendarEntry}s, ordered by start date and ID
+   */
+  public List<TeamCalendarEntry> getTeamCalendar(
+      Long officeLocationId, LocalDateTime startDate, LocalDateTime endDate) {
+
+    List<TeamCalendarEntry> teamCalendar = new ArrayList<>();
+    YearMonth lastMonth = YearMonth.from(endDate);
+    for (YearMonth month = YearMonth.from(startDate);
+        !month.isAfter(lastMonth);
+        month = month.plusMonths(1)) {
+
+      for (TeamCalendarEntry entry :
+          CacheLoads.getOrLoad(slices, new OfficeMonth(officeLocationId, month), this::loadSlice)) {
+        if (!entry.startDate().isBefore(startDate)
+            && entry.endDate() != null
+            && !entry.endDate().isAfter(endDate)) {
+          teamCalendar.add(entry);
+        }
+      }
+    }
+    return teamCalendar;
+  }
+
+  /**
+   * Drops the slice a vacation request belongs to after its status changed. If a transaction is
+   * active, the slice is only dropped once it commits.
+   *
+   * @param vacationRequest the vacation request whose status changed
+   */
+  public void invalidate(VacationRequest vacationRequest) {
+
+    if (vacationRequest.getOfficeLocationId() == null || vacationRequest.getStartDate() == null) {
+      return;
+    }
+    OfficeMonth slice =
+        new OfficeMonth(
+            vacationRequest.getOfficeLocationId(), YearMonth.from(vacationRequest.getStartDate()));
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              slices.synchronous().invalidate(slice);
+            }
+          });
+    } else {
+      slices.synchronous().invalidate(slice);
+    }
+  }
+
+  private List<TeamCalendarEntry> loadSlice(OfficeMonth slice) {
+
+    return List.copyOf(
+        vacationRequestRepository.findTeamCalendarSlice(
+            slice.officeLocationId(),
+            CALENDAR_STATUSES,
+            slice.month().atDay(1).atStartOfDay(),
+            slice.month().plusMonths(1).atDay(1).atStartOfDay()));
+  }
+
+  private record OfficeMonth(Long officeLocationId, YearMonth month) {}
+}
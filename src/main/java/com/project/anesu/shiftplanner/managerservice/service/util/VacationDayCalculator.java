@@ -0,0 +1,33 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/** Counts vacation days per calendar year, for vacations that may span a year boundary. */
+public final class VacationDayCalculator {
+
+  private VacationDayCalculator() {}
+
+  /**
+   * Counts the days of a vacation that fall into the given year, including both the start and the
+   * end day.
+   *
+   * @param startDate the first day of the vacation
+   * @param endDate the last day of the vacation
+   * @param year the calendar year to count
+   * @return the number of vacation days in the year, or {@code 0} if the vacation lies outside it
+   */
+  public static long calculateDaysInYear(LocalDateTime startDate, LocalDateTime endDate, int year) {
+    LocalDate firstDayOfYear = LocalDate.ofYearDay(year, 1);
+    LocalDate lastDayOfYear = LocalDate.of(year, 12, 31);
+
+    LocalDate adjustedStartDate =
+        startDate.toLocalDate().isBefore(firstDayOfYear) ? firstDayOfYear : startDate.toLocalDate();
+
+    LocalDate adjustedEndDate =
+        endDate.toLocalDate().isAfter(lastDayOfYear) ? lastDayOfYear : endDate.toLocalDate();
+
+    return Math.max(0, ChronoUnit.DAYS.between(adjustedStartDate, adjustedEndDate) + 1);
+  }
+}
@@ -0,0 +1,244 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of the approved and pending vacation ranges of each employee, used to check for
+ * overlapping vacation requests without querying the database.
+ *
+ * <p>An employee's ranges are loaded from the {@link VacationRequestRepository} on first use and
+ * kept up to date by {@link #update(VacationRequest)} whenever a request changes status in this
+ * service. Pending requests are created by the employee service, so a check for a request the
+ * loaded ranges do not know yet reloads them first, which also picks up the other requests created
+ * since. Requests created elsewhere and never checked become visible once the entry expires.
+ */
+@Component
+public class VacationIntervalIndex {
+
+  private static final List<VacationRequestStatus> INDEXED_STATUSES =
+      List.of(VacationRequestStatus.APPROVED, VacationRequestStatus.PENDING);
+
+  private final Function<Long, List<VacationRequest>> indexedVacationRequestLoader;
+  private final AsyncCache<Long, EmployeeVacationIntervals> intervalsByEmployee;
+
+  @Autowired
+  public VacationIntervalIndex(
+      VacationRequestRepository vacationRequestRepository,
+      @Value("${vacation.interval-index.maximum-employees:10000}") long maximumEmployees,
+      @Value("${vacation.interval-index.expire-after-write:10m}") Duration expireAfterWrite) {
+    this(
+        employeeId ->
+            vacationRequestRepository.findByEmployeeIdAndStatusIn(employeeId, INDEXED_STATUSES),
+        maximumEmployees,
+        expireAfterWrite);
+  }
+
+  /**
+   * Creates an index that loads the ranges of an employee with the given function instead of the
+   * repository.
+   *
+   * @param indexedVacationRequestLoader returns the approved and pending vacation requests of an
+   *     employee
+   * @param maximumEmployees the number of employees whose ranges are kept
+   * @param expireAfterWrite how long the ranges of an employee are kept after loading them
+   */
+  public VacationIntervalIndex(
+      Function<Long, List<VacationRequest>> indexedVacationRequestLoader,
+      long maximumEmployees,
+      Duration expireAfterWrite) {
+    this.indexedVacationRequestLoader = indexedVacationRequestLoader;
+    this.intervalsByEmployee =
+        Caffeine.newBuilder()
+            .maximumSize(maximumEmployees)
+            .expireAfterWrite(expireAfterWrite)
+            .buildAsync();
+  }
+
+  /**
+   * Checks whether another approved or pending vacation request of the same employee overlaps the
+   * given one.
+   *
+   * @param vacationRequest the vacation request to check
+   * @return {@code true} if an overlapping request exists
+   */
+  public boolean hasOverlappingRequest(VacationRequest vacationRequest) {
+
+    Long employeeId = vacationRequest.getEmployeeId();
+    EmployeeVacationIntervals intervals =
+        CacheLoads.getOrLoad(intervalsByEmployee, employeeId, this::loadEmployeeVacationIntervals);
+    if (vacationRequest.getId() != null
+        && INDEXED_STATUSES.contains(vacationRequest.getStatus())
+        && !intervals.contains(vacationRequest.getId())) {
+      intervalsByEmployee.synchronous().invalidate(employeeId);
+      intervals =
+          CacheLoads.getOrLoad(
+              intervalsByEmployee, employeeId, this::loadEmployeeVacationIntervals);
+    }
+    return intervals.overlaps(
+        vacationRequest.getId(), vacationRequest.getStartDate(), vacationRequest.getEndDate());
+  }
+
+  /**
+   * Records the current status of a vacation request. If a transaction is active, the index is only
+   * changed once it commits.
+   *
+   * @param vacationRequest the vacation request whose status changed
+   */
+  public void update(VacationRequest vacationRequest) {
+
+    Long employeeId = vacationRequest.getEmployeeId();
+    Long vacationRequestId = vacationRequest.getId();
+    LocalDateTime startDate = vacationRequest.getStartDate();
+    LocalDateTime endDate = vacationRequest.getEndDate();
+    boolean indexed = INDEXED_STATUSES.contains(vacationRequest.getStatus());
+
+    Runnable indexUpdate =
+        () -> {
+          CompletableFuture<EmployeeVacationIntervals> cached =
+              intervalsByEmployee.getIfPresent(employeeId);
+          if (cached == null) {
+            return;
+          }
+          if (!cached.isDone()) {
+            intervalsByEmployee.synchronous().invalidate(employeeId);
+            return;
+          }
+          EmployeeVacationIntervals intervals = cached.join();
+          if (indexed) {
+            intervals.put(vacationRequestId, startDate, endDate);
+          } else {
+            intervals.remove(vacationRequestId);
+          }
+        };
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              indexUpdate.run();
+            }
+          });
+    } else {
+      indexUpdate.run();
+    }
+  }
+
+  /**
+   * Drops the indexed ranges of an employee, so they are reloaded on the next check.
+   *
+   * @param employeeId the ID of the employee
+   */
+  public void invalidate(Long employeeId) {
+    intervalsByEmployee.synchronous().invalidate(employeeId);
+  }
+
+  private EmployeeVacationIntervals loadEmployeeVacationIntervals(Long employeeId) {
+
+    EmployeeVacationIntervals intervals = new EmployeeVacationIntervals();
+    for (VacationRequest vacationRequest : indexedVacationRequestLoader.apply(employeeId)) {
+      intervals.put(
+          vacationRequest.getId(), vacationRequest.getStartDate(), vacationRequest.getEndDate());
+    }
+    return intervals;
+  }
+
+  /**
+   * Vacation ranges of one employee, sorted by start date. Since ranges may overlap each other, a
+   * lookup scans the ranges starting between {@code start - longestRange} and {@code end}, which
+   * keeps it logarithmic plus the number of nearby ranges. Removing the longest range recomputes
+   * {@code longestRange}, so one long vacation does not widen every later lookup.
+   */
+  private static final class EmployeeVacationIntervals {
+
+    private final NavigableMap<IntervalKey, LocalDateTime> endDatesByStart = new TreeMap<>();
+    private final Map<Long, IntervalKey> keysByVacationRequestId = new HashMap<>();
+    private Duration longestInterval = Duration.ZERO;
+
+    synchronized void put(Long vacationRequestId, LocalDateTime startDate, LocalDateTime endDate) {
+
+      remove(vacationRequestId);
+
+      IntervalKey key = new IntervalKey(startDate, vacationRequestId);
+      endDatesByStart.put(key, endDate);
+      keysByVacationRequestId.put(vacationRequestId, key);
+
+      Duration interval = Duration.between(startDate, endDate);
+      if (interval.compareTo(longestInterval) > 0) {
+        longestInterval = interval;
+      }
+    }
+
+    synchronized void remove(Long vacationRequestId) {
+
+      IntervalKey key = keysByVacationRequestId.remove(vacationRequestId);
+      if (key == null) {
+        return;
+      }
+      LocalDateTime endDate = endDatesByStart.remove(key);
+      if (Duration.between(key.startDate(), endDate).compareTo(longestInterval) >= 0) {
+        longestInterval = Duration.ZERO;
+        endDatesByStart.forEach(
+            (remainingKey, remainingEndDate) -> {
+              Duration interval = Duration.between(remainingKey.startDate(), remainingEndDate);
+              if (interval.compareTo(longestInterval) > 0) {
+                longestInterval = interval;
+              }
+            });
+      }
+    }
+
+    synchronized boolean contains(Long vacationRequestId) {
+
+      return keysByVacationRequestId.containsKey(vacationRequestId);
+    }
+
+    synchronized boolean overlaps(
+        Long excludedVacationRequestId, LocalDateTime startDate, LocalDateTime endDate) {
+
+      IntervalKey from = new IntervalKey(startDate.minus(longestInterval), Long.MIN_VALUE);
+      IntervalKey to = new IntervalKey(endDate, Long.MAX_VALUE);
+
+      for (Map.Entry<IntervalKey, LocalDateTime> candidate :
+          endDatesByStart.subMap(from, true, to, true).entrySet()) {
+        boolean sameRequest =
+            excludedVacationRequestId != null
+                && excludedVacationRequestId == candidate.getKey().vacationRequestId();
+        if (!sameRequest && !candidate.getValue().isBefore(startDate)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private record IntervalKey(LocalDateTime startDate, long vacationRequestId)
+      implements Comparable<IntervalKey> {
+
+    @Override
+    public int compareTo(IntervalKey other) {
+      int byStartDate = startDate.compareTo(other.startDate);
+      return byStartDate != 0
+          ? byStartDate
+          : Long.compare(vacationRequestId, other.vacationRequestId);
+    }
+  }
+}
@@ -1,49 +1,128 @@
 package com.project.anesu.shiftplanner.managerservice.service.util;
 
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationLedger;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
 import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
-import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.model.VacationLedgerService;
 import com.project.anesu.shiftplanner.managerservice.service.exception.InvalidVacationRequestException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import com.project.anesu.shiftplanner.managerservice.service.util.ValidationMetrics.RejectionReason;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntToLongFunction;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@AllArgsConstructor
+@Timed("shiftplanner.validation")
 public class VacationRequestValidator {
 
   private static final int MAX_VACATION_DAYS_EACH_YEAR = 30;
   private static final String OVERLAPPING_VACATION_REQUEST_ERROR =
       "Request could not be fulfilled because there is already an approved vacation request for this period for employee: ";
 
-  public void validateVacationRequest(
-      VacationRequest vacationRequest, VacationRequestRepository repository) {
-    validateAnyOverlappingVacationRequests(vacationRequest, repository);
-    validateTheRemainingVacationDays(vacationRequest, repository);
+  private final VacationIntervalIndex vacationIntervalIndex;
+  private final VacationLedgerService vacationLedgerService;
+  private final ValidationMetrics validationMetrics;
+
+  public void validateVacationRequest(VacationRequest vacationRequest) {
+
+    if (vacationIntervalIndex.hasOverlappingRequest(vacationRequest)) {
+      validationMetrics.recordRejection(VacationRequestValidator.class, RejectionReason.OVERLAP);
+      throw new InvalidVacationRequestException(
+          OVERLAPPING_VACATION_REQUEST_ERROR + vacationRequest.getEmployeeId());
+    }
+
+    validateTheRemainingVacationDays(
+        vacationRequest,
+        year -> vacationLedgerService.getUsedVacationDays(vacationRequest.getEmployeeId(), year));
+  }
+
+  /**
+   * Validates a group of pending vacation requests in memory. Requests that pass are treated as
+   * approved for the requests that follow them, so overlaps and the yearly limit are also checked
+   * across the group.
+   *
+   * @param vacationRequestsToValidate the vacation requests to validate, in approval order
+   * @param existingRequests the vacation requests of the affected employees overlapping the years
+   *     touched by the group
+   * @param vacationLedgers the ledger entries of the affected employees for those years
+   * @return the failure reason per vacation request ID, empty if every request is valid
+   */
+  public Map<Long, String> validateVacationRequests(
+      List<VacationRequest> vacationRequestsToValidate,
+      List<VacationRequest> existingRequests,
+      List<VacationLedger> vacationLedgers) {
+
+    Map<Long, List<VacationRequest>> existingRequestsByEmployee =
+        existingRequests.stream()
+            .collect(
+                Collectors.groupingBy(
+                    VacationRequest::getEmployeeId, Collectors.toCollection(ArrayList::new)));
+
+    Map<Long, Map<Integer, Long>> usedVacationDaysByEmployee = new HashMap<>();
+    for (VacationLedger vacationLedger : vacationLedgers) {
+      usedVacationDaysByEmployee
+          .computeIfAbsent(vacationLedger.getEmployeeId(), employeeId -> new HashMap<>())
+          .put(vacationLedger.getLedgerYear(), vacationLedger.getUsedVacationDays());
+    }
+
+    Map<Long, String> failures = new LinkedHashMap<>();
+
+    for (VacationRequest vacationRequest : vacationRequestsToValidate) {
+      List<VacationRequest> employeeRequests =
+          existingRequestsByEmployee.computeIfAbsent(
+              vacationRequest.getEmployeeId(), employeeId -> new ArrayList<>());
+      Map<Integer, Long> usedVacationDays =
+          usedVacationDaysByEmployee.computeIfAbsent(
+              vacationRequest.getEmployeeId(), employeeId -> new HashMap<>());
+      try {
+        validateAnyOverlappingVacationRequests(vacationRequest, employeeRequests);
+        validateTheRemainingVacationDays(
+            vacationRequest, year -> usedVacationDays.getOrDefault(year, 0L));
+
+        for (int year = vacationRequest.getStartDate().getYear();
+            year <= vacationRequest.getEndDate().getYear();
+            year++) {
+          usedVacationDays.merge(
+              year,
+              VacationDayCalculator.calculateDaysInYear(
+                  vacationRequest.getStartDate(), vacationRequest.getEndDate(), year),
+              Long::sum);
+        }
+        if (employeeRequests.stream().noneMatch(other -> isSameRequest(other, vacationRequest))) {
+          employeeRequests.add(vacationRequest);
+        }
+      } catch (InvalidVacationRequestException e) {
+        failures.put(vacationRequest.getId(), e.getMessage());
+      }
+    }
+    return failures;
   }
 
   private void validateAnyOverlappingVacationRequests(
-      VacationRequest vacationRequest, VacationRequestRepository repository) {
-    if (isOverlappingWithExistingRequest(vacationRequest, repository)) {
+      VacationRequest vacationRequest, List<VacationRequest> existingRequests) {
+    if (isOverlappingWithExistingRequest(vacationRequest, existingRequests)) {
+      validationMetrics.recordRejection(VacationRequestValidator.class, RejectionReason.OVERLAP);
       throw new InvalidVacationRequestException(
           OVERLAPPING_VACATION_REQUEST_ERROR + vacationRequest.getEmployeeId());
     }
   }
 
   private boolean isOverlappingWithExistingRequest(
-      VacationRequest vacationRequest, VacationRequestRepository repository) {
-
-    Long employeeId = vacationRequest.getEmployeeId();
-
-    List<VacationRequest> existingRequests =
-        repository.findByEmployeeIdAndDateRange(
-            employeeId, vacationRequest.getStartDate(), vacationRequest.getEndDate());
+      VacationRequest vacationRequest, List<VacationRequest> existingRequests) {
 
     for (VacationRequest existingRequest : existingRequests) {
-      if (existingRequest.getStatus().equals(VacationRequestStatus.APPROVED)
-          || existingRequest.getStatus().equals(VacationRequestStatus.PENDING)
-              && isOverlapping(existingRequest, vacationRequest)) {
+      if (!isSameRequest(existingRequest, vacationRequest)
+          && (existingRequest.getStatus().equals(VacationRequestStatus.APPROVED)
+              || existingRequest.getStatus().equals(VacationRequestStatus.PENDING))
+          && isOverlapping(existingRequest, vacationRequest)) {
         return true;
       }
     }
@@ -55,66 +134,39 @@ public class VacationRequestValidator {
         || existing.getStartDate().isAfter(newRequest.getEndDate()));
   }
 
-  private void validateTheRemainingVacationDays(
-      VacationRequest vacationRequest, VacationRequestRepository repository) {
-
-    List<VacationRequest> usedVacationDaysInTheCurrentYear =
-        getAllVacationRequestsForCurrentYear(vacationRequest, repository);
-
-    long existingUsedVacationDays =
-        calculatedTotalOfUsedVacationDays(usedVacationDaysInTheCurrentYear);
-
-    int newVacationRequestDays = calculateNewRequestedVacationRequest(vacationRequest);
-
-    long totalVacationDays = existingUsedVacationDays + newVacationRequestDays;
-
-    if (totalVacationDays > MAX_VACATION_DAYS_EACH_YEAR) {
-      throw new InvalidVacationRequestException(
-          "Vacation request exceeds yearly limit. Employee ID: "
-              + vacationRequest.getEmployeeId()
-              + " already has "
-              + existingUsedVacationDays
-              + " days. New request adds "
-              + newVacationRequestDays
-              + " days, exceeding the maximum of "
-              + MAX_VACATION_DAYS_EACH_YEAR
-              + " days.");
-    }
-  }
-
-  private List<VacationRequest> getAllVacationRequestsForCurrentYear(
-      VacationRequest vacationRequest, VacationRequestRepository repository) {
-
-    int currentYear = LocalDateTime.now().getYear();
-    LocalDateTime startOfTheYear = LocalDateTime.of(currentYear, 1, 1, 0, 0);
-    LocalDateTime endOfTheYear = LocalDateTime.of(currentYear, 12, 31, 0, 0);
-
-    return repository.findByEmployeeIdAndOverlappingIntoNewYear(
-        vacationRequest.getEmployeeId(), startOfTheYear, endOfTheYear);
-  }
-
-  private long calculateDaysInRange(LocalDateTime startDate, LocalDateTime endDate) {
-    LocalDate firstDayOfYear = LocalDate.now().withDayOfYear(1);
-    LocalDate lastDayOfYear = LocalDate.now().withMonth(12).withDayOfMonth(31);
-
-    LocalDate adjustedStartDate =
-        startDate.toLocalDate().isBefore(firstDayOfYear) ? firstDayOfYear : startDate.toLocalDate();
-
-    LocalDate adjustedEndDate =
-        endDate.toLocalDate().isAfter(lastDayOfYear) ? lastDayOfYear : endDate.toLocalDate();
-
-    return ChronoUnit.DAYS.between(adjustedStartDate, adjustedEndDate) + 1;
+  private boolean isSameRequest(VacationRequest existing, VacationRequest newRequest) {
+    return newRequest.getId() != null && Objects.equals(existing.getId(), newRequest.getId());
   }
 
-  private long calculatedTotalOfUsedVacationDays(List<VacationRequest> vacationRequests) {
-    return vacationRequests.stream()
-        .mapToLong(vacation -> calculateDaysInRange(vacation.getStartDate(), vacation.getEndDate()))
-        .sum();
-  }
-
-  private int calculateNewRequestedVacationRequest(VacationRequest vacationRequest) {
-    return (int)
-            ChronoUnit.DAYS.between(vacationRequest.getStartDate(), vacationRequest.getEndDate())
-        + 1;
+  private void validateTheRemainingVacationDays(
+      VacationRequest vacationRequest, IntToLongFunction usedVacationDaysInYear) {
+
+    for (int year = vacationRequest.getStartDate().getYear();
+        year <= vacationRequest.getEndDate().getYear();
+        year++) {
+
+      long existingUsedVacationDays = usedVacationDaysInYear.applyAsLong(year);
+
+      long newVacationRequestDays =
+          VacationDayCalculator.calculateDaysInYear(
+              vacationRequest.getStartDate(), vacationRequest.getEndDate(), year);
+
+      long totalVacationDays = existingUsedVacationDays + newVacationRequestDays;
+
+      if (totalVacationDays > MAX_VACATION_DAYS_EACH_YEAR) {
+        validationMetrics.recordRejection(
+            VacationRequestValidator.class, RejectionReason.YEARLY_LIMIT);
+        throw new InvalidVacationRequestException(
+            "Vacation request exceeds yearly limit. Employee ID: "
+                + vacationRequest.getEmployeeId()
+                + " already has "
+                + existingUsedVacationDays
+                + " days. New request adds "
+                + newVacationRequestDays
+                + " days, exceeding the maximum of "
+                + MAX_VACATION_DAYS_EACH_YEAR
+                + " days.");
+      }
+    }
   }
 }
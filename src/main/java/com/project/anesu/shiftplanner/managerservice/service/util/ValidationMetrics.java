@@ -0,0 +1,47 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the requests and schedules the validators reject, tagged with the validator and the rule
+ * that failed. Single and bulk validation share the rule checks, so both are counted the same way.
+ */
+@Component
+@AllArgsConstructor
+public class ValidationMetrics {
+
+  private static final String REJECTIONS = "shiftplanner.validation.rejections";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Counts one rejection.
+   *
+   * @param validator the validator that rejected
+   * @param reason the rule that failed
+   */
+  public void recordRejection(Class<?> validator, RejectionReason reason) {
+    meterRegistry
+        .counter(
+            REJECTIONS,
+            "validator",
+            validator.getSimpleName(),
+            "reason",
+            reason.name().toLowerCase(Locale.ROOT))
+        .increment();
+  }
+
+  /** The validation rules a rejection is tagged with. */
+  public enum RejectionReason {
+    OVERLAP,
+    YEARLY_LIMIT,
+    DAILY_HOURS,
+    WEEKLY_HOURS,
+    SHIFT_HOURS,
+    INVALID_DATES,
+    MISSING_ENTRIES
+  }
+}
@@ -0,0 +1,103 @@
+-- Schema of the entity mappings at the point Flyway took over from hibernate.ddl-auto=update, with
+-- shift entries referencing their schedule through shift_entry.schedule_id and with the keyset
+-- pagination indexes. It is not the schema ddl-auto created before that: there, shift entries were
+-- linked through a schedule_shifts join table. No such database needs migrating, as the datasource
+-- is an in-memory H2 database that starts empty, so V1 creates the schema rather than adopting one.
+
+create table manager (
+    birth_date date not null,
+    id bigint generated by default as identity,
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table schedule (
+    employee_id bigint,
+    end_date timestamp(6),
+    id bigint generated by default as identity,
+    start_date timestamp(6),
+    total_working_hours bigint,
+    rejection_reason varchar(255),
+    primary key (id)
+);
+
+create table shift_entry (
+    shift_type tinyint check (shift_type between 0 and 2),
+    schedule_id bigint,
+    shift_date timestamp(6),
+    shift_id bigint generated by default as identity,
+    working_hours bigint,
+    primary key (shift_id)
+);
+
+create table shift_request (
+    employee_id bigint,
+    id bigint generated by default as identity,
+    office_location_id bigint,
+    shift_date timestamp(6),
+    shift_length_in_hours bigint,
+    rejection_reason varchar(255),
+    shift_type enum ('AFTERNOON_SHIFT','MORNING_SHIFT','NIGHT_SHIFT'),
+    status enum ('APPROVED','PENDING','REJECTED'),
+    primary key (id)
+);
+
+create table vacation_ledger (
+    ledger_year integer not null,
+    employee_id bigint not null,
+    id bigint generated by default as identity,
+    used_vacation_days bigint not null,
+    primary key (id),
+    constraint uk_vacation_ledger_employee_year unique (employee_id, ledger_year)
+);
+
+create table vacation_entry (
+    end_date timestamp(6),
+    id bigint generated by default as identity,
+    schedule_id bigint,
+    start_date timestamp(6),
+    vacation_duration bigint,
+    vacation_request_id bigint not null,
+    primary key (id)
+);
+
+create table vacation_request (
+    employee_id bigint,
+    end_date timestamp(6),
+    id bigint generated by default as identity,
+    manager_id bigint,
+    office_location_id bigint,
+    start_date timestamp(6),
+    rejection_reason varchar(255),
+    status enum ('APPROVED','PENDING','REJECTED'),
+    primary key (id)
+);
+
+create table working_hours_rollup (
+    period_start date not null,
+    employee_id bigint not null,
+    id bigint generated by default as identity,
+    working_hours bigint not null,
+    period enum ('DAY','WEEK') not null,
+    primary key (id),
+    constraint uk_working_hours_rollup_employee_period unique (employee_id, period, period_start)
+);
+
+create index idx_shift_request_employee_date on shift_request (employee_id, shift_date, id);
+create index idx_shift_request_date on shift_request (shift_date, id);
+create index idx_vacation_request_employee_date on vacation_request (employee_id, start_date, id);
+
+alter table shift_entry
+    add constraint fk_shift_entry_schedule foreign key (schedule_id) references schedule;
+
+alter table vacation_entry
+    add constraint fk_vacation_entry_vacation_request foreign key (vacation_request_id) references vacation_request;
+
+alter table vacation_entry
+    add constraint fk_vacation_entry_schedule foreign key (schedule_id) references schedule;
+
+alter table vacation_request
+    add constraint fk_vacation_request_manager foreign key (manager_id) references manager;
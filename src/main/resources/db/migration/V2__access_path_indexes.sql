@@ -0,0 +1,23 @@
+-- One index per access path of the repository queries. Foreign key columns are indexed explicitly
+-- so joins from a schedule to its entries do not depend on the database creating them implicitly.
+
+-- ScheduleRepository: schedules of one or more employees starting within a range or week.
+create index idx_schedule_employee_start on schedule (employee_id, start_date);
+
+-- ScheduleRepository: shifts and vacations of a schedule, joined from the schedule.
+create index idx_shift_entry_schedule on shift_entry (schedule_id, shift_date);
+create index idx_vacation_entry_schedule on vacation_entry (schedule_id, start_date);
+create index idx_vacation_entry_vacation_request on vacation_entry (vacation_request_id);
+
+-- VacationRequestRepository: pending approvals by status.
+create index idx_vacation_request_status on vacation_request (status, start_date);
+
+-- VacationRequestRepository: team calendar of an office, by status and start date.
+create index idx_vacation_request_office_status_start
+    on vacation_request (office_location_id, status, start_date, id);
+
+create index idx_vacation_request_manager on vacation_request (manager_id);
+
+-- WorkingHoursRollupRepository: rollups of several employees within a date range.
+create index idx_working_hours_rollup_employee_start
+    on working_hours_rollup (employee_id, period_start);
@@ -0,0 +1,2 @@
+-- Version column for optimistic locking of schedules.
+alter table schedule add column version bigint default 0 not null;
@@ -0,0 +1,14 @@
+-- Approved shift and vacation requests waiting to be added to their employees' schedules. Rows are
+-- written in the approval transaction and deleted once the outbox worker has applied them.
+create table schedule_outbox (
+    id bigint generated by default as identity,
+    request_type varchar(255) not null check (request_type in ('SHIFT_REQUEST','VACATION_REQUEST')),
+    request_id bigint not null,
+    employee_id bigint not null,
+    week_start date not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+-- ScheduleOutboxRepository: pending entries of one employee, oldest first.
+create index idx_schedule_outbox_employee on schedule_outbox (employee_id, id);
@@ -0,0 +1,41 @@
+-- Ids come from sequences instead of identity columns, so Hibernate can assign them before the
+-- insert and send inserts as JDBC batches. Every sequence steps by the allocation size of 50 and
+-- Hibernate's pooled optimizer treats each value it reads as the top of a block of 50 ids, so a
+-- sequence restarts 50 above the highest existing id to keep new ids clear of the rows inserted
+-- through the identity columns of V1.
+
+create sequence manager_seq start with 50 increment by 50;
+alter sequence manager_seq restart with (select coalesce(max(id), 0) + 50 from manager);
+alter table manager alter column id drop identity;
+
+create sequence schedule_seq start with 50 increment by 50;
+alter sequence schedule_seq restart with (select coalesce(max(id), 0) + 50 from schedule);
+alter table schedule alter column id drop identity;
+
+create sequence shift_entry_seq start with 50 increment by 50;
+alter sequence shift_entry_seq restart with (select coalesce(max(shift_id), 0) + 50 from shift_entry);
+alter table shift_entry alter column shift_id drop identity;
+
+create sequence shift_request_seq start with 50 increment by 50;
+alter sequence shift_request_seq restart with (select coalesce(max(id), 0) + 50 from shift_request);
+alter table shift_request alter column id drop identity;
+
+create sequence vacation_ledger_seq start with 50 increment by 50;
+alter sequence vacation_ledger_seq restart with (select coalesce(max(id), 0) + 50 from vacation_ledger);
+alter table vacation_ledger alter column id drop identity;
+
+create sequence vacation_entry_seq start with 50 increment by 50;
+alter sequence vacation_entry_seq restart with (select coalesce(max(id), 0) + 50 from vacation_entry);
+alter table vacation_entry alter column id drop identity;
+
+create sequence vacation_request_seq start with 50 increment by 50;
+alter sequence vacation_request_seq restart with (select coalesce(max(id), 0) + 50 from vacation_request);
+alter table vacation_request alter column id drop identity;
+
+create sequence working_hours_rollup_seq start with 50 increment by 50;
+alter sequence working_hours_rollup_seq restart with (select coalesce(max(id), 0) + 50 from working_hours_rollup);
+alter table working_hours_rollup alter column id drop identity;
+
+create sequence schedule_outbox_seq start with 50 increment by 50;
+alter sequence schedule_outbox_seq restart with (select coalesce(max(id), 0) + 50 from schedule_outbox);
+alter table schedule_outbox alter column id drop identity;
@@ -0,0 +1,3 @@
+-- ScheduleRepository: the schedule export finds the employees of an office from their shift and
+-- vacation requests. Vacation requests are covered by idx_vacation_request_office_status_start.
+create index idx_shift_request_office_employee on shift_request (office_location_id, employee_id);
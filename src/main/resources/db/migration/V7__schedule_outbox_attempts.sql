@@ -0,0 +1,10 @@
+-- ScheduleOutboxServiceImpl: entries that fail to apply are retried on their own with a growing
+-- delay, and left in place for an operator once they run out of attempts. Nothing reads the week
+-- an entry starts in, so the column is dropped.
+alter table schedule_outbox drop column week_start;
+alter table schedule_outbox add column attempts integer default 0 not null;
+alter table schedule_outbox add column next_attempt_at timestamp(6);
+alter table schedule_outbox add column last_error varchar(1000);
+
+-- ScheduleOutboxRepository: the entries that ran out of attempts.
+create index idx_schedule_outbox_attempts on schedule_outbox (attempts);
@@ -0,0 +1,12 @@
+-- ScheduleRepository: the scheduled and pending shift queries read shift_entry and shift_request
+-- in one UNION ALL, so both have to store the shift type the same way. shift_entry kept ordinals,
+-- which H2 cannot combine with the names in shift_request; they are converted to names here.
+alter table shift_entry add column shift_type_name enum ('AFTERNOON_SHIFT','MORNING_SHIFT','NIGHT_SHIFT');
+update shift_entry
+set shift_type_name = case shift_type
+    when 0 then 'NIGHT_SHIFT'
+    when 1 then 'MORNING_SHIFT'
+    when 2 then 'AFTERNOON_SHIFT'
+end;
+alter table shift_entry drop column shift_type;
+alter table shift_entry alter column shift_type_name rename to shift_type;
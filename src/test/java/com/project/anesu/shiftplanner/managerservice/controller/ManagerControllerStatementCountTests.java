@@ -0,0 +1,329 @@
+package com.project.anesu.shiftplanner.managerservice.controller;
+
+import static com.project.anesu.shiftplanner.managerservice.controller.StatementCountAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.ScheduleOutboxServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.ScheduleServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.ShiftRequestServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.VacationRequestServiceImpl;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Calls every {@link ManagerController} endpoint against the local H2 database and checks that it
+ * stays within its SQL statement budget. Each employee gets several weeks of approved shifts and
+ * vacations first, so an endpoint that queries once per schedule, shift or vacation exceeds its
+ * budget. Endpoints that insert rows may run one more statement per table they insert into, to
+ * fetch the next block of IDs from the table's sequence. The streaming team calendar and the
+ * schedule exports write their bodies after the request has been counted and are not checked.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ManagerControllerStatementCountTests {
+
+  private static final long OFFICE_LOCATION_ID = 93;
+  private static final LocalDateTime FIRST_WEEK = LocalDateTime.of(2034, 1, 2, 8, 0);
+  private static final int WEEKS = 4;
+  private static final String RANGE =
+      "?startDate=" + FIRST_WEEK.minusDays(1) + "&endDate=" + FIRST_WEEK.plusWeeks(WEEKS);
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ShiftRequestRepository shiftRequestRepository;
+  @Autowired private VacationRequestRepository vacationRequestRepository;
+  @Autowired private ShiftRequestServiceImpl shiftRequestService;
+  @Autowired private VacationRequestServiceImpl vacationRequestService;
+  @Autowired private ScheduleServiceImpl scheduleService;
+  @Autowired private ScheduleOutboxServiceImpl scheduleOutboxService;
+
+  @Test
+  void scheduleEndpointsStayWithinTheirStatementBudget() throws Exception {
+    long employeeId = 9_300;
+    approveWeeksOfShiftsAndVacations(employeeId);
+    Schedule schedule = scheduleService.createSchedule(scheduleOf(employeeId + 1));
+    String scheduleJson =
+        """
+        {"employeeId": %d, "startDate": "%s", "endDate": "%s", "shifts": [{"shiftDate": "%s", \
+        "shiftType": "MORNING_SHIFT", "workingHours": 8}]}"""
+            .formatted(employeeId + 2, FIRST_WEEK, FIRST_WEEK.plusHours(8), FIRST_WEEK);
+
+    assertMaxStatements(
+        mockMvc,
+        12,
+        post("/schedules").contentType(MediaType.APPLICATION_JSON).content(scheduleJson));
+    assertMaxStatements(
+        mockMvc,
+        12,
+        post("/schedules/import")
+            .contentType("text/csv")
+            .content(csvOfWeeksOfShifts(employeeId + 3, 2)));
+    assertMaxStatements(
+        mockMvc,
+        10,
+        put("/schedules/" + schedule.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(scheduleJson));
+    assertMaxStatements(mockMvc, 2, get("/schedules/" + schedule.getId()));
+    assertMaxStatements(mockMvc, 2, get("/schedules/" + employeeId + "/range" + RANGE));
+    assertMaxStatements(
+        mockMvc, 1, get("/employees/" + employeeId + "/schedules/vacations" + RANGE));
+    assertMaxStatements(mockMvc, 7, delete("/schedules/" + schedule.getId()));
+    assertMaxStatements(mockMvc, 0, get("/schedules/conflicts"));
+    assertMaxStatements(mockMvc, 3, get("/schedules/sync-status?employeeId=" + employeeId));
+  }
+
+  @Test
+  void shiftRequestEndpointsStayWithinTheirStatementBudget() throws Exception {
+    long employeeId = 9_310;
+    approveWeeksOfShiftsAndVacations(employeeId);
+    List<ShiftRequest> pending = savePendingShiftRequests(employeeId + 1, 4);
+    String shiftRequestJson =
+        """
+        {"officeLocationId": %d, "shiftDate": "%s", "shiftLengthInHours": 8, \
+        "shiftType": "MORNING_SHIFT"}"""
+            .formatted(OFFICE_LOCATION_ID, FIRST_WEEK);
+
+    assertMaxStatements(
+        mockMvc,
+        4,
+        post("/employees/" + (employeeId + 2) + "/shifts")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(shiftRequestJson));
+    assertMaxStatements(
+        mockMvc,
+        3,
+        post("/shifts")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                [{"employeeId": %d, "officeLocationId": %d, "shiftDate": "%s", \
+                "shiftLengthInHours": 8, "shiftType": "MORNING_SHIFT"}, \
+                {"employeeId": %d, "officeLocationId": %d, "shiftDate": "%s", \
+                "shiftLengthInHours": 8, "shiftType": "MORNING_SHIFT"}]"""
+                    .formatted(
+                        employeeId + 3,
+                        OFFICE_LOCATION_ID,
+                        FIRST_WEEK,
+                        employeeId + 3,
+                        OFFICE_LOCATION_ID,
+                        FIRST_WEEK.plusDays(1))));
+    assertMaxStatements(
+        mockMvc,
+        11,
+        put("/employees/" + (employeeId + 1) + "/shifts/" + pending.get(0).getId() + "/approve"));
+    assertMaxStatements(
+        mockMvc,
+        12,
+        post("/shifts/approve")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(idsOf(pending.subList(1, 3).stream().map(ShiftRequest::getId).toList())));
+    assertMaxStatements(
+        mockMvc,
+        2,
+        put("/shifts/" + pending.get(3).getId() + "/decline")
+            .contentType(MediaType.TEXT_PLAIN)
+            .content("Office closed"));
+    assertMaxStatements(mockMvc, 1, get("/employees/" + employeeId + "/shifts"));
+    assertMaxStatements(mockMvc, 1, get("/employees/" + employeeId + "/shifts/page"));
+    assertMaxStatements(mockMvc, 1, get("/shifts/range" + RANGE));
+    assertMaxStatements(mockMvc, 1, get("/shifts/range/page" + RANGE));
+  }
+
+  @Test
+  void vacationRequestEndpointsStayWithinTheirStatementBudget() throws Exception {
+    long employeeId = 9_320;
+    approveWeeksOfShiftsAndVacations(employeeId);
+    List<VacationRequest> pending = savePendingVacationRequests(employeeId + 1, 6);
+
+    assertMaxStatements(
+        mockMvc,
+        10,
+        put("/vacations/" + pending.get(0).getId() + "/approve").param("status", "APPROVED"));
+    assertMaxStatements(
+        mockMvc,
+        2,
+        put("/vacations/" + pending.get(1).getId() + "/decline")
+            .param("rejectionReason", "Busy week"));
+    assertMaxStatements(
+        mockMvc,
+        9,
+        post("/vacations/approve")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(idsOf(pending.subList(2, 4).stream().map(VacationRequest::getId).toList())));
+    assertMaxStatements(
+        mockMvc,
+        2,
+        post("/vacations/decline")
+            .param("rejectionReason", "Busy week")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(idsOf(pending.subList(4, 6).stream().map(VacationRequest::getId).toList())));
+    assertMaxStatements(mockMvc, 1, get("/employees/" + employeeId + "/vacations"));
+    assertMaxStatements(mockMvc, 1, get("/employees/" + employeeId + "/vacations/page"));
+    assertMaxStatements(mockMvc, 1, get("/employees/" + employeeId + "/vacations/range" + RANGE));
+  }
+
+  @Test
+  void officeAndStatisticsEndpointsStayWithinTheirStatementBudget() throws Exception {
+    approveWeeksOfShiftsAndVacations(9_330);
+    approveWeeksOfShiftsAndVacations(9_331);
+
+    assertMaxStatements(mockMvc, 1, get("/offices/" + OFFICE_LOCATION_ID + "/vacations" + RANGE));
+    assertMaxStatements(
+        mockMvc,
+        1,
+        post("/offices/" + OFFICE_LOCATION_ID + "/roster")
+            .param("weekStart", FIRST_WEEK.toLocalDate().toString())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                [{"shiftDate": "%s", "shiftType": "NIGHT_SHIFT", "headcount": 2, \
+                "shiftLengthInHours": 8}, {"shiftDate": "%s", "shiftType": "MORNING_SHIFT", \
+                "headcount": 2, "shiftLengthInHours": 8}]"""
+                    .formatted(FIRST_WEEK.plusDays(2), FIRST_WEEK.plusDays(4))));
+    assertMaxStatements(
+        mockMvc,
+        0,
+        get("/offices/" + OFFICE_LOCATION_ID + "/availability")
+            .param("date", FIRST_WEEK.toLocalDate().toString())
+            .param("shiftType", "NIGHT_SHIFT"));
+    assertThat(
+            assertMaxStatements(mockMvc, 0, get("/cache/statistics"))
+                .getResponse()
+                .getContentAsString())
+        .contains("\"region\":\"schedule\"")
+        .doesNotContain("query-results");
+  }
+
+  /**
+   * Approves two shifts and one vacation in each of {@link #WEEKS} weeks for the employee and waits
+   * until they are in the employee's schedules.
+   */
+  private void approveWeeksOfShiftsAndVacations(long employeeId) throws InterruptedException {
+    List<ShiftRequest> shiftRequests = new ArrayList<>();
+    List<VacationRequest> vacationRequests = new ArrayList<>();
+    for (int week = 0; week < WEEKS; week++) {
+      LocalDateTime monday = FIRST_WEEK.plusWeeks(week);
+      shiftRequests.add(shiftRequestRepository.save(pendingShiftRequest(employeeId, monday)));
+      shiftRequests.add(
+          shiftRequestRepository.save(pendingShiftRequest(employeeId, monday.plusDays(1))));
+      vacationRequests.add(
+          vacationRequestRepository.save(pendingVacationRequest(employeeId, monday.plusDays(3))));
+    }
+    shiftRequestService.approveShiftRequests(
+        shiftRequests.stream().map(ShiftRequest::getId).toList());
+    vacationRequestService.approveVacationRequests(
+        vacationRequests.stream().map(VacationRequest::getId).toList());
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (!scheduleOutboxService.getSyncStatus(employeeId).caughtUp()) {
+      assertThat(System.nanoTime()).as("schedule outbox caught up").isLessThan(deadline);
+      Thread.sleep(20);
+    }
+  }
+
+  private List<ShiftRequest> savePendingShiftRequests(long employeeId, int count) {
+    List<ShiftRequest> shiftRequests = new ArrayList<>();
+    for (int day = 0; day < count; day++) {
+      shiftRequests.add(
+          shiftRequestRepository.save(
+              pendingShiftRequest(employeeId, FIRST_WEEK.plusWeeks(WEEKS).plusDays(day))));
+    }
+    return shiftRequests;
+  }
+
+  private List<VacationRequest> savePendingVacationRequests(long employeeId, int count) {
+    List<VacationRequest> vacationRequests = new ArrayList<>();
+    for (int week = 0; week < count; week++) {
+      vacationRequests.add(
+          vacationRequestRepository.save(
+              pendingVacationRequest(employeeId, FIRST_WEEK.plusWeeks(WEEKS + week))));
+    }
+    return vacationRequests;
+  }
+
+  private static ShiftRequest pendingShiftRequest(long employeeId, LocalDateTime shiftDate) {
+    ShiftRequest shiftRequest = new ShiftRequest();
+    shiftRequest.setEmployeeId(employeeId);
+    shiftRequest.setOfficeLocationId(OFFICE_LOCATION_ID);
+    shiftRequest.setShiftDate(shiftDate);
+    shiftRequest.setShiftType(ShiftType.MORNING_SHIFT);
+    shiftRequest.setShiftLengthInHours(8L);
+    shiftRequest.setStatus(ShiftRequestStatus.PENDING);
+    return shiftRequest;
+  }
+
+  private static VacationRequest pendingVacationRequest(long employeeId, LocalDateTime startDate) {
+    VacationRequest vacationRequest = new VacationRequest();
+    vacationRequest.setEmployeeId(employeeId);
+    vacationRequest.setOfficeLocationId(OFFICE_LOCATION_ID);
+    vacationRequest.setStartDate(startDate);
+    vacationRequest.setEndDate(startDate.plusDays(1));
+    vacationRequest.setStatus(VacationRequestStatus.PENDING);
+    return vacationRequest;
+  }
+
+  private static Schedule scheduleOf(long employeeId) {
+    List<ShiftEntry> shifts = new ArrayList<>();
+    shifts.add(
+        ShiftEntry.builder()
+            .shiftDate(FIRST_WEEK)
+            .shiftType(ShiftType.MORNING_SHIFT)
+            .workingHours(8L)
+            .build());
+    return Schedule.builder()
+        .employeeId(employeeId)
+        .startDate(FIRST_WEEK)
+        .endDate(FIRST_WEEK.plusHours(8))
+        .shifts(shifts)
+        .build();
+  }
+
+  private static String csvOfWeeksOfShifts(long firstEmployeeId, int employees) {
+    StringBuilder csv =
+        new StringBuilder("employeeId,startDate,endDate,shiftDate,shiftType,workingHours\n");
+    for (long employeeId = firstEmployeeId;
+        employeeId < firstEmployeeId + employees;
+        employeeId++) {
+      for (int week = 0; week < WEEKS; week++) {
+        LocalDateTime weekStart = FIRST_WEEK.plusWeeks(week);
+        for (int day = 0; day < 5; day++) {
+          csv.append(
+              String.join(
+                  ",",
+                  String.valueOf(employeeId),
+                  weekStart.toString(),
+                  weekStart.plusDays(4).plusHours(8).toString(),
+                  weekStart.plusDays(day).toString(),
+                  ShiftType.MORNING_SHIFT.name(),
+                  "8\n"));
+        }
+      }
+    }
+    return csv.toString();
+  }
+
+  private static String idsOf(List<Long> ids) {
+    return ids.toString();
+  }
+}
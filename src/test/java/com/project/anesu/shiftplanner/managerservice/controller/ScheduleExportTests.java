@@ -0,0 +1,179 @@
+package com.project.anesu.shiftplanner.managerservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleExportEntry;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.ScheduleServiceImpl;
+import com.project.anesu.shiftplanner.managerservice.service.util.ScheduleExportWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Exports the schedule of an office employee with a shift and a vacation, and checks the CSV rows,
+ * the iCalendar events and that a gzip export decompresses to the same file.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScheduleExportTests {
+
+  private static final long OFFICE_LOCATION_ID = 98;
+  private static final long EMPLOYEE_ID = 9_800;
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2035, 3, 5, 8, 0);
+  private static final String RANGE =
+      "?startDate=" + MONDAY.minusDays(1) + "&endDate=" + MONDAY.plusDays(6);
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ScheduleServiceImpl scheduleService;
+  @Autowired private VacationRequestRepository vacationRequestRepository;
+
+  private static Schedule schedule;
+
+  @BeforeEach
+  void createSchedule() {
+    if (schedule != null) {
+      return;
+    }
+    VacationRequest vacationRequest = new VacationRequest();
+    vacationRequest.setEmployeeId(EMPLOYEE_ID);
+    vacationRequest.setOfficeLocationId(OFFICE_LOCATION_ID);
+    vacationRequest.setStartDate(MONDAY.plusDays(3).withHour(0));
+    vacationRequest.setEndDate(MONDAY.plusDays(4).withHour(23).withMinute(59));
+    vacationRequest.setStatus(VacationRequestStatus.APPROVED);
+    vacationRequestRepository.save(vacationRequest);
+
+    List<ShiftEntry> shifts = new ArrayList<>();
+    shifts.add(
+        ShiftEntry.builder()
+            .shiftDate(MONDAY)
+            .shiftType(ShiftType.MORNING_SHIFT)
+            .workingHours(8L)
+            .build());
+    List<VacationEntry> vacations = new ArrayList<>();
+    vacations.add(VacationEntry.fromApprovedVacationRequest(vacationRequest));
+    schedule =
+        scheduleService.createSchedule(
+            Schedule.builder()
+                .employeeId(EMPLOYEE_ID)
+                .startDate(MONDAY.withHour(0))
+                .endDate(MONDAY.plusDays(6).withHour(23).withMinute(59))
+                .shifts(shifts)
+                .vacations(vacations)
+                .build());
+  }
+
+  @Test
+  void csvExportHasAHeaderAndOneRowPerShiftAndVacation() throws Exception {
+    MvcResult result = export(get("/offices/" + OFFICE_LOCATION_ID + "/schedules.csv" + RANGE));
+
+    assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+    assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n"))
+        .containsExactly(
+            "type,scheduleId,employeeId,scheduleStartDate,scheduleEndDate,entryId,startDate,"
+                + "endDate,shiftType,workingHours",
+            "SHIFT,%d,9800,2035-03-05T00:00,2035-03-11T23:59,%d,2035-03-05T08:00,2035-03-05T16:00,MORNING_SHIFT,8"
+                .formatted(schedule.getId(), schedule.getShifts().get(0).getShiftId()),
+            "VACATION,%d,9800,2035-03-05T00:00,2035-03-11T23:59,%d,2035-03-08T00:00,2035-03-09T23:59,,"
+                .formatted(schedule.getId(), schedule.getVacations().get(0).getId()));
+  }
+
+  @Test
+  void iCalendarExportHasOneEventPerShiftAndVacationWithCrlfLines() throws Exception {
+    MvcResult result = export(get("/offices/" + OFFICE_LOCATION_ID + "/schedules.ics" + RANGE));
+
+    assertThat(result.getResponse().getContentType()).startsWith("text/calendar");
+    String calendar = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    assertThat(calendar).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+    assertThat(calendar.replace("\r\n", "")).doesNotContain("\n", "\r");
+
+    List<String> lines = List.of(calendar.split("\r\n"));
+    assertThat(lines).filteredOn("BEGIN:VEVENT"::equals).hasSize(2);
+    assertThat(lines).filteredOn("END:VEVENT"::equals).hasSize(2);
+    assertThat(lines)
+        .contains(
+            "UID:shift-" + schedule.getShifts().get(0).getShiftId() + "@shiftplanner",
+            "DTSTART:20350305T080000",
+            "DTEND:20350305T160000",
+            "SUMMARY:MORNING_SHIFT (8h)",
+            "UID:vacation-" + schedule.getVacations().get(0).getId() + "@shiftplanner",
+            "DTSTART:20350308T000000",
+            "DTEND:20350309T235900",
+            "SUMMARY:Vacation");
+  }
+
+  @Test
+  void gzipExportDecompressesToThePlainExport() throws Exception {
+    String path = "/offices/" + OFFICE_LOCATION_ID + "/schedules.csv" + RANGE;
+
+    MvcResult plain = export(get(path));
+    MvcResult compressed = export(get(path).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"));
+    MvcResult refused = export(get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"));
+
+    assertThat(compressed.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    assertThat(compressed.getResponse().getHeader(HttpHeaders.VARY))
+        .isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    assertThat(gunzip(compressed.getResponse().getContentAsByteArray()))
+        .isEqualTo(plain.getResponse().getContentAsByteArray());
+    assertThat(refused.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    assertThat(refused.getResponse().getContentAsByteArray())
+        .isEqualTo(plain.getResponse().getContentAsByteArray());
+  }
+
+  @Test
+  void iCalendarLeavesOutEntriesWithoutDates() throws IOException {
+    ByteArrayOutputStream calendar = new ByteArrayOutputStream();
+    try (ScheduleExportWriter writer = ScheduleExportWriter.iCalendar(calendar)) {
+      writer.write(new ScheduleExportEntry(1L, EMPLOYEE_ID, MONDAY, MONDAY, 2L, MONDAY, null));
+      writer.write(new ScheduleExportEntry(1L, EMPLOYEE_ID, MONDAY, MONDAY, 3L, null, null));
+    }
+
+    assertThat(calendar.toString(StandardCharsets.UTF_8))
+        .doesNotContain("BEGIN:VEVENT", "DTSTART:", "DTEND:")
+        .endsWith("END:VCALENDAR\r\n");
+  }
+
+  /** Waits for the streamed body, which is written on an async dispatch. */
+  private MvcResult export(MockHttpServletRequestBuilder exportRequest) throws Exception {
+    MvcResult started =
+        mockMvc.perform(exportRequest).andExpect(request().asyncStarted()).andReturn();
+    started.getAsyncResult();
+    return mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+        .andReturn();
+  }
+
+  private static byte[] gunzip(byte[] compressed) throws IOException {
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return gzip.readAllBytes();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.project.anesu.shiftplanner.managerservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.service.util.QueryStatistics;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Performs requests through {@link MockMvc} and checks how many SQL statements they ran, as counted
+ * by the {@link QueryStatisticsFilter}. A budget that grows with the size of the test data instead
+ * of staying fixed points to a query run once per row.
+ */
+final class StatementCountAssertions {
+
+  private StatementCountAssertions() {}
+
+  /**
+   * Performs the request and fails if it ran more SQL statements than allowed.
+   *
+   * @param mockMvc the {@link MockMvc} to perform the request with
+   * @param maxStatements the most SQL statements the request may run
+   * @param request the request to perform
+   * @return the result of the request
+   */
+  static MvcResult assertMaxStatements(MockMvc mockMvc, long maxStatements, RequestBuilder request)
+      throws Exception {
+
+    MvcResult result = mockMvc.perform(request).andReturn();
+    QueryStatistics.Counts counts =
+        (QueryStatistics.Counts)
+            result.getRequest().getAttribute(QueryStatisticsFilter.QUERY_STATISTICS);
+
+    assertThat(result.getResponse().getStatus()).as("HTTP status").isLessThan(400);
+    assertThat(counts.getStatements())
+        .as("SQL statements of %s", result.getRequest().getRequestURI())
+        .isLessThanOrEqualTo(maxStatements);
+    return result;
+  }
+}
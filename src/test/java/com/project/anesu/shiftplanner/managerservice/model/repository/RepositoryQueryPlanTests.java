@@ -0,0 +1,205 @@
+package com.project.anesu.shiftplanner.managerservice.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs every repository query against the migrated H2 schema, captures the SQL Hibernate sends and
+ * fails if H2 plans a full table scan for any of it. The whole-table reads used by the nightly
+ * rebuild jobs ({@code findAllScheduledAndPendingShifts}, {@code
+ * findAllScheduledAndPendingVacations} and {@code findOfficeMemberships}) scan by design and are
+ * not checked.
+ */
+@DataJpaTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.project.anesu.shiftplanner.managerservice.model.repository"
+            + ".RepositoryQueryPlanTests$RecordingStatementInspector")
+class RepositoryQueryPlanTests {
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 0, 0);
+  private static final LocalDateTime END = START.plusWeeks(1);
+  private static final List<Long> EMPLOYEE_IDS = List.of(1L, 2L);
+
+  @Autowired private ShiftRequestRepository shiftRequestRepository;
+  @Autowired private VacationRequestRepository vacationRequestRepository;
+  @Autowired private ScheduleRepository scheduleRepository;
+  @Autowired private VacationLedgerRepository vacationLedgerRepository;
+  @Autowired private WorkingHoursRollupRepository workingHoursRollupRepository;
+  @Autowired private ScheduleOutboxRepository scheduleOutboxRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void clearRecordedStatements() {
+    RecordingStatementInspector.STATEMENTS.clear();
+  }
+
+  @Test
+  void shiftRequestQueriesUseIndexes() {
+    assertNoTableScan(
+        () ->
+            shiftRequestRepository.findByEmployeeIdAndShiftDateAndStatus(
+                1L, START, ShiftRequestStatus.PENDING));
+    assertNoTableScan(() -> shiftRequestRepository.findByEmployeeId(1L));
+    assertNoTableScan(
+        () -> shiftRequestRepository.findByEmployeeIdOrderByShiftDateAscIdAsc(1L, Limit.of(10)));
+    assertNoTableScan(
+        () ->
+            shiftRequestRepository.findByEmployeeIdAndShiftDateNotNullOrderByShiftDateAscIdAsc(
+                1L, Limit.of(10)));
+    assertNoTableScan(
+        () -> shiftRequestRepository.findByEmployeeIdAfter(1L, START, 1L, Limit.of(10)));
+    assertNoTableScan(
+        () ->
+            shiftRequestRepository.findByShiftDateBetweenOrderByShiftDateAscIdAsc(
+                START, END, Limit.of(10)));
+    assertNoTableScan(
+        () -> shiftRequestRepository.findByShiftDateBetweenAfter(END, START, 1L, Limit.of(10)));
+    assertNoTableScan(
+        () -> shiftRequestRepository.findByIdAndStatus(1L, ShiftRequestStatus.PENDING));
+    assertNoTableScan(() -> shiftRequestRepository.findByIdIn(EMPLOYEE_IDS));
+  }
+
+  @Test
+  void vacationRequestQueriesUseIndexes() {
+    List<VacationRequestStatus> statuses =
+        List.of(VacationRequestStatus.PENDING, VacationRequestStatus.APPROVED);
+
+    assertNoTableScan(() -> vacationRequestRepository.findByEmployeeId(1L));
+    assertNoTableScan(
+        () -> vacationRequestRepository.findByEmployeeIdOrderByStartDateAscIdAsc(1L, Limit.of(10)));
+    assertNoTableScan(
+        () ->
+            vacationRequestRepository.findByEmployeeIdAndStartDateNotNullOrderByStartDateAscIdAsc(
+                1L, Limit.of(10)));
+    assertNoTableScan(
+        () -> vacationRequestRepository.findByEmployeeIdAfter(1L, START, 1L, Limit.of(10)));
+    assertNoTableScan(() -> vacationRequestRepository.findByStatus(VacationRequestStatus.PENDING));
+    assertNoTableScan(() -> vacationRequestRepository.findByEmployeeIdAndStatusIn(1L, statuses));
+    assertNoTableScan(() -> vacationRequestRepository.findByEmployeeIdAndDateRange(1L, START, END));
+    assertNoTableScan(
+        () -> vacationRequestRepository.findByEmployeeIdsAndDateRange(EMPLOYEE_IDS, START, END));
+    assertNoTableScan(
+        () -> vacationRequestRepository.findByIdAndStatus(1L, VacationRequestStatus.PENDING));
+    assertNoTableScan(() -> vacationRequestRepository.findByIdIn(EMPLOYEE_IDS));
+    assertNoTableScan(
+        () -> vacationRequestRepository.findByEmployeeIdAndOverlappingIntoNewYear(1L, START, END));
+    assertNoTableScan(
+        () -> vacationRequestRepository.findTeamCalendarSlice(1L, statuses, START, END));
+    assertNoTableScan(
+        () -> {
+          try (Stream<?> teamCalendar =
+              vacationRequestRepository.streamTeamCalendar(1L, statuses, START, END)) {
+            teamCalendar.forEach(entry -> {});
+          }
+        });
+  }
+
+  @Test
+  void scheduleQueriesUseIndexes() {
+    assertNoTableScan(() -> scheduleRepository.findById(1L));
+    assertNoTableScan(() -> scheduleRepository.findByEmployeeIdAndDateRange(1L, START, END));
+    assertNoTableScan(
+        () -> scheduleRepository.findByEmployeeIdsAndDateRange(EMPLOYEE_IDS, START, END));
+    assertNoTableScan(
+        () ->
+            scheduleRepository.fetchVacations(
+                List.of(Schedule.builder().id(1L).version(0L).build())));
+    assertNoTableScan(() -> scheduleRepository.findScheduledAndPendingShiftsByEmployeeId(1L));
+    assertNoTableScan(() -> scheduleRepository.findScheduledAndPendingVacationsByEmployeeId(1L));
+    assertNoTableScan(() -> scheduleRepository.findVacationIntervalsInRange(1L, START, END));
+    assertNoTableScan(
+        () -> {
+          try (Stream<?> shifts = scheduleRepository.streamShiftExport(1L, START, END)) {
+            shifts.forEach(entry -> {});
+          }
+        });
+    assertNoTableScan(
+        () -> {
+          try (Stream<?> vacations = scheduleRepository.streamVacationExport(1L, START, END)) {
+            vacations.forEach(entry -> {});
+          }
+        });
+  }
+
+  @Test
+  void rollupAndLedgerQueriesUseIndexes() {
+    LocalDate day = START.toLocalDate();
+
+    assertNoTableScan(() -> vacationLedgerRepository.findByEmployeeIdAndLedgerYear(1L, 2025));
+    assertNoTableScan(
+        () ->
+            vacationLedgerRepository.findByEmployeeIdInAndLedgerYearBetween(
+                EMPLOYEE_IDS, 2025, 2026));
+    assertNoTableScan(() -> vacationLedgerRepository.addUsedVacationDays(1L, 2025, 1L));
+    assertNoTableScan(
+        () ->
+            workingHoursRollupRepository.findByEmployeeIdAndPeriodAndPeriodStart(
+                1L, WorkingHoursPeriod.DAY, day));
+    assertNoTableScan(
+        () ->
+            workingHoursRollupRepository.findByEmployeeIdInAndPeriodStartBetween(
+                EMPLOYEE_IDS, day, day.plusDays(6)));
+    assertNoTableScan(
+        () ->
+            workingHoursRollupRepository.addWorkingHours(
+                new Long[] {1L},
+                new String[] {WorkingHoursPeriod.DAY.name()},
+                new LocalDate[] {day},
+                new Long[] {1L}));
+  }
+
+  @Test
+  void scheduleOutboxQueriesUseIndexes() {
+    assertNoTableScan(
+        () -> scheduleOutboxRepository.findOldestDue(5, LocalDateTime.now(), Limit.of(10)));
+    assertNoTableScan(() -> scheduleOutboxRepository.findLockedById(1L));
+    assertNoTableScan(() -> scheduleOutboxRepository.findFirstByOrderByIdAsc());
+    assertNoTableScan(() -> scheduleOutboxRepository.findFirstByEmployeeIdOrderByIdAsc(1L));
+    assertNoTableScan(() -> scheduleOutboxRepository.countByEmployeeId(1L));
+    assertNoTableScan(() -> scheduleOutboxRepository.countByAttemptsGreaterThanEqual(5));
+    assertNoTableScan(
+        () -> scheduleOutboxRepository.countByEmployeeIdAndAttemptsGreaterThanEqual(1L, 5));
+  }
+
+  private void assertNoTableScan(Runnable query) {
+    RecordingStatementInspector.STATEMENTS.clear();
+    query.run();
+
+    List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+    assertThat(statements).isNotEmpty();
+    for (String sql : statements) {
+      Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+      String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+      assertThat(plan).as(sql).doesNotContainIgnoringCase("tableScan");
+    }
+  }
+
+  /** Records the SQL of every statement Hibernate prepares. */
+  public static class RecordingStatementInspector implements StatementInspector {
+
+    static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+}
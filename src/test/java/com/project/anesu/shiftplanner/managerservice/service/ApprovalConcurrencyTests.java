@@ -0,0 +1,238 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.VacationLedgerService;
+import com.project.anesu.shiftplanner.managerservice.model.WorkingHoursRollupService;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleResponse;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.exception.InvalidVacationRequestException;
+import com.project.anesu.shiftplanner.managerservice.service.exception.ShiftValidationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Approves many conflicting requests of a few employees from many threads at once, mixing single
+ * and bulk approvals that span several employees, and checks that no employee ends up with more
+ * working hours or vacation days than the validators allow.
+ */
+@SpringBootTest
+class ApprovalConcurrencyTests {
+
+  private static final int THREADS = 32;
+  private static final int EMPLOYEES = 16;
+  private static final long SHIFT_HOURS = 8;
+  private static final int SHIFT_DAYS_PER_WEEK = 6;
+  private static final int REQUESTS_PER_SHIFT_DAY = 2;
+  private static final long MAX_WORKING_HOURS_PER_WEEK = 40;
+  private static final int VACATION_WEEKS = 10;
+  private static final long VACATION_DAYS_PER_WEEK = 5;
+  private static final long MAX_VACATION_DAYS_EACH_YEAR = 30;
+
+  @Autowired private ShiftRequestServiceImpl shiftRequestService;
+  @Autowired private VacationRequestServiceImpl vacationRequestService;
+  @Autowired private ScheduleServiceImpl scheduleService;
+  @Autowired private ScheduleOutboxServiceImpl scheduleOutboxService;
+  @Autowired private WorkingHoursRollupService workingHoursRollupService;
+  @Autowired private VacationLedgerService vacationLedgerService;
+  @Autowired private ShiftRequestRepository shiftRequestRepository;
+  @Autowired private VacationRequestRepository vacationRequestRepository;
+
+  @Test
+  void concurrentShiftApprovalsNeverExceedTheWeeklyWorkingHours() throws Exception {
+    LocalDateTime weekStart = LocalDateTime.of(2030, 1, 7, 8, 0);
+    List<Long> employeeIds = LongStream.range(9_000, 9_000 + EMPLOYEES).boxed().toList();
+
+    List<ShiftRequest> pendingShiftRequests = new ArrayList<>();
+    for (Long employeeId : employeeIds) {
+      for (int day = 0; day < SHIFT_DAYS_PER_WEEK; day++) {
+        for (int i = 0; i < REQUESTS_PER_SHIFT_DAY; i++) {
+          pendingShiftRequests.add(
+              shiftRequestRepository.save(
+                  pendingShiftRequest(employeeId, weekStart.plusDays(day))));
+        }
+      }
+    }
+
+    List<Callable<?>> approvals = new ArrayList<>();
+    List<ShiftRequest> shuffled = shuffle(pendingShiftRequests);
+    for (int i = 0; i < shuffled.size(); ) {
+      if (i % 2 == 0) {
+        ShiftRequest shiftRequest = shuffled.get(i++);
+        approvals.add(
+            () ->
+                shiftRequestService.approveShiftRequest(
+                    shiftRequest.getEmployeeId(), shiftRequest.getId()));
+      } else {
+        List<Long> shiftRequestIds =
+            shuffled.subList(i, Math.min(i + 3, shuffled.size())).stream()
+                .map(ShiftRequest::getId)
+                .toList();
+        i += shiftRequestIds.size();
+        approvals.add(() -> shiftRequestService.approveShiftRequests(shiftRequestIds));
+      }
+    }
+    runConcurrently(approvals);
+    awaitScheduleSync();
+
+    for (Long employeeId : employeeIds) {
+      List<ShiftRequest> approved =
+          shiftRequestRepository.findByEmployeeId(employeeId).stream()
+              .filter(shiftRequest -> ShiftRequestStatus.APPROVED.equals(shiftRequest.getStatus()))
+              .toList();
+      List<ScheduleResponse> schedules =
+          scheduleService.getAllEmployeeSchedulesWithinGivenDateRange(
+              employeeId, weekStart.minusDays(1), weekStart.plusDays(7));
+
+      assertThat(approved).hasSize((int) (MAX_WORKING_HOURS_PER_WEEK / SHIFT_HOURS));
+      assertThat(approved.stream().map(shiftRequest -> shiftRequest.getShiftDate().toLocalDate()))
+          .doesNotHaveDuplicates();
+      assertThat(
+              workingHoursRollupService.getWeeklyWorkingHours(employeeId, weekStart.toLocalDate()))
+          .isEqualTo(MAX_WORKING_HOURS_PER_WEEK);
+      assertThat(
+              schedules.stream()
+                  .flatMap(schedule -> schedule.shifts().stream())
+                  .mapToLong(ScheduleResponse.Shift::workingHours)
+                  .sum())
+          .isEqualTo(MAX_WORKING_HOURS_PER_WEEK);
+    }
+  }
+
+  @Test
+  void concurrentVacationApprovalsNeverExceedTheYearlyVacationDays() throws Exception {
+    LocalDateTime firstWeek = LocalDateTime.of(2031, 3, 3, 0, 0);
+    List<Long> employeeIds = LongStream.range(9_100, 9_100 + EMPLOYEES).boxed().toList();
+
+    List<VacationRequest> pendingVacationRequests = new ArrayList<>();
+    for (Long employeeId : employeeIds) {
+      for (int week = 0; week < VACATION_WEEKS; week++) {
+        pendingVacationRequests.add(
+            vacationRequestRepository.save(
+                pendingVacationRequest(employeeId, firstWeek.plusWeeks(week))));
+      }
+    }
+
+    List<Callable<?>> approvals = new ArrayList<>();
+    List<VacationRequest> shuffled = shuffle(pendingVacationRequests);
+    for (int i = 0; i < shuffled.size(); ) {
+      if (i % 2 == 0) {
+        Long vacationRequestId = shuffled.get(i++).getId();
+        approvals.add(
+            () ->
+                vacationRequestService.approveVacationRequest(
+                    vacationRequestId, VacationRequestStatus.APPROVED));
+      } else {
+        List<Long> vacationRequestIds =
+            shuffled.subList(i, Math.min(i + 3, shuffled.size())).stream()
+                .map(VacationRequest::getId)
+                .toList();
+        i += vacationRequestIds.size();
+        approvals.add(() -> vacationRequestService.approveVacationRequests(vacationRequestIds));
+      }
+    }
+    runConcurrently(approvals);
+
+    for (Long employeeId : employeeIds) {
+      long approved =
+          vacationRequestRepository.findByEmployeeId(employeeId).stream()
+              .filter(
+                  vacationRequest ->
+                      VacationRequestStatus.APPROVED.equals(vacationRequest.getStatus()))
+              .count();
+
+      assertThat(approved).isEqualTo(MAX_VACATION_DAYS_EACH_YEAR / VACATION_DAYS_PER_WEEK);
+      assertThat(vacationLedgerService.getUsedVacationDays(employeeId, firstWeek.getYear()))
+          .isEqualTo(MAX_VACATION_DAYS_EACH_YEAR);
+    }
+  }
+
+  private static ShiftRequest pendingShiftRequest(Long employeeId, LocalDateTime shiftDate) {
+    ShiftRequest shiftRequest = new ShiftRequest();
+    shiftRequest.setEmployeeId(employeeId);
+    shiftRequest.setOfficeLocationId(1L);
+    shiftRequest.setShiftDate(shiftDate);
+    shiftRequest.setShiftType(ShiftType.MORNING_SHIFT);
+    shiftRequest.setShiftLengthInHours(SHIFT_HOURS);
+    shiftRequest.setStatus(ShiftRequestStatus.PENDING);
+    return shiftRequest;
+  }
+
+  private static VacationRequest pendingVacationRequest(Long employeeId, LocalDateTime monday) {
+    VacationRequest vacationRequest = new VacationRequest();
+    vacationRequest.setEmployeeId(employeeId);
+    vacationRequest.setOfficeLocationId(1L);
+    vacationRequest.setStartDate(monday);
+    vacationRequest.setEndDate(monday.plusDays(VACATION_DAYS_PER_WEEK - 1));
+    vacationRequest.setStatus(VacationRequestStatus.PENDING);
+    return vacationRequest;
+  }
+
+  private static <T> List<T> shuffle(List<T> values) {
+    List<T> shuffled = new ArrayList<>(values);
+    Collections.shuffle(shuffled, new Random(42));
+    return shuffled;
+  }
+
+  /** Waits until the schedule outbox has moved every approved shift into its schedule. */
+  private void awaitScheduleSync() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+    while (!scheduleOutboxService.getSyncStatus(null).caughtUp()) {
+      assertThat(System.nanoTime()).as("schedule outbox caught up").isLessThan(deadline);
+      Thread.sleep(50);
+    }
+  }
+
+  /**
+   * Starts all approvals at the same time and waits for them. Approvals rejected by validation are
+   * expected; a deadlock shows up as a timeout.
+   */
+  private static void runConcurrently(List<Callable<?>> approvals) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (Callable<?> approval : approvals) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return approval.call();
+                }));
+      }
+      start.countDown();
+
+      for (Future<?> result : results) {
+        try {
+          result.get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+          assertThat(e.getCause())
+              .isInstanceOfAny(
+                  ShiftValidationException.class, InvalidVacationRequestException.class);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
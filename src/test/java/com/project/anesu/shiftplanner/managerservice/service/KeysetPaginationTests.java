@@ -0,0 +1,90 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.model.dto.KeysetPage;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.util.KeysetPagination;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Pages through the shift requests of an employee that include one without a shift date, and checks
+ * that every page token can be followed, and that the unpaged listing stops at {@link
+ * KeysetPagination#MAX_PAGE_SIZE}.
+ */
+@SpringBootTest
+class KeysetPaginationTests {
+
+  private static final long EMPLOYEE_ID = 9_970;
+  private static final long UNPAGED_EMPLOYEE_ID = 9_971;
+  private static final LocalDateTime FIRST_SHIFT = LocalDateTime.of(2038, 2, 1, 8, 0);
+
+  @Autowired private ShiftRequestServiceImpl shiftRequestService;
+  @Autowired private ShiftRequestRepository shiftRequestRepository;
+
+  @Test
+  void pagesSkipShiftRequestsWithoutADate() {
+    List<ShiftRequest> shiftRequests =
+        shiftRequestRepository.saveAll(
+            List.of(
+                shiftRequest(EMPLOYEE_ID, null),
+                shiftRequest(EMPLOYEE_ID, FIRST_SHIFT),
+                shiftRequest(EMPLOYEE_ID, FIRST_SHIFT.plusDays(1))));
+
+    try {
+      KeysetPage<ShiftRequest> firstPage =
+          shiftRequestService.getShiftRequestPageByEmployeeId(EMPLOYEE_ID, 1, null);
+      KeysetPage<ShiftRequest> secondPage =
+          shiftRequestService.getShiftRequestPageByEmployeeId(
+              EMPLOYEE_ID, 1, firstPage.nextPageToken());
+
+      assertThat(firstPage.items())
+          .extracting(ShiftRequest::getShiftDate)
+          .containsExactly(FIRST_SHIFT);
+      assertThat(secondPage.items())
+          .extracting(ShiftRequest::getShiftDate)
+          .containsExactly(FIRST_SHIFT.plusDays(1));
+      assertThat(secondPage.nextPageToken()).isNull();
+      assertThat(shiftRequestService.getShiftRequestByEmployeeId(EMPLOYEE_ID)).hasSize(3);
+    } finally {
+      shiftRequestRepository.deleteAll(shiftRequests);
+    }
+  }
+
+  @Test
+  void unpagedListingStopsAtTheMaximumPageSize() {
+    List<ShiftRequest> shiftRequests = new ArrayList<>();
+    for (int day = 0; day <= KeysetPagination.MAX_PAGE_SIZE; day++) {
+      shiftRequests.add(shiftRequest(UNPAGED_EMPLOYEE_ID, FIRST_SHIFT.plusDays(day)));
+    }
+    shiftRequests = shiftRequestRepository.saveAll(shiftRequests);
+
+    try {
+      assertThat(shiftRequestService.getShiftRequestByEmployeeId(UNPAGED_EMPLOYEE_ID))
+          .hasSize(KeysetPagination.MAX_PAGE_SIZE)
+          .last()
+          .extracting(ShiftRequest::getShiftDate)
+          .isEqualTo(FIRST_SHIFT.plusDays(KeysetPagination.MAX_PAGE_SIZE - 1));
+    } finally {
+      shiftRequestRepository.deleteAllInBatch(shiftRequests);
+    }
+  }
+
+  private static ShiftRequest shiftRequest(Long employeeId, LocalDateTime shiftDate) {
+    ShiftRequest shiftRequest = new ShiftRequest();
+    shiftRequest.setEmployeeId(employeeId);
+    shiftRequest.setShiftDate(shiftDate);
+    shiftRequest.setShiftType(ShiftType.MORNING_SHIFT);
+    shiftRequest.setShiftLengthInHours(8L);
+    shiftRequest.setStatus(ShiftRequestStatus.PENDING);
+    return shiftRequest;
+  }
+}
@@ -0,0 +1,138 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduleOutboxEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduleOutboxRequestType;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleOutboxRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.util.OfficeAvailabilityIndex;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Approves a shift and a vacation that are still waiting in the schedule outbox next to a shift
+ * that is already scheduled, and checks that rebuilding the {@link OfficeAvailabilityIndex} or
+ * refreshing those employees keeps all of them busy.
+ */
+@SpringBootTest
+class OfficeAvailabilityIndexTests {
+
+  private static final long OFFICE_LOCATION_ID = 9_960;
+  private static final long SCHEDULED_EMPLOYEE_ID = 9_960;
+  private static final long PENDING_SHIFT_EMPLOYEE_ID = 9_961;
+  private static final long PENDING_VACATION_EMPLOYEE_ID = 9_962;
+  private static final long FREE_EMPLOYEE_ID = 9_963;
+
+  @Autowired private OfficeAvailabilityIndex officeAvailabilityIndex;
+  @Autowired private ScheduleRepository scheduleRepository;
+  @Autowired private ScheduleOutboxRepository scheduleOutboxRepository;
+  @Autowired private ShiftRequestRepository shiftRequestRepository;
+  @Autowired private VacationRequestRepository vacationRequestRepository;
+
+  @Test
+  void approvalsWaitingInTheOutboxStayBusyAcrossRebuildsAndRefreshes() {
+    LocalDate day = LocalDate.now().plusDays(30);
+    LocalDateTime shiftDate = day.atTime(8, 0);
+
+    List<ShiftRequest> shiftRequests =
+        shiftRequestRepository.saveAll(
+            List.of(
+                shiftRequest(SCHEDULED_EMPLOYEE_ID, shiftDate, ShiftRequestStatus.APPROVED),
+                shiftRequest(PENDING_SHIFT_EMPLOYEE_ID, shiftDate, ShiftRequestStatus.APPROVED),
+                shiftRequest(FREE_EMPLOYEE_ID, shiftDate, ShiftRequestStatus.PENDING)));
+    VacationRequest vacationRequest = vacationRequestRepository.save(approvedVacationRequest(day));
+    Schedule schedule = scheduleRepository.save(schedule(shiftRequests.getFirst()));
+    List<ScheduleOutboxEntry> outboxEntries =
+        scheduleOutboxRepository.saveAll(
+            List.of(
+                outboxEntry(
+                    ScheduleOutboxRequestType.SHIFT_REQUEST,
+                    shiftRequests.get(1).getId(),
+                    PENDING_SHIFT_EMPLOYEE_ID),
+                outboxEntry(
+                    ScheduleOutboxRequestType.VACATION_REQUEST,
+                    vacationRequest.getId(),
+                    PENDING_VACATION_EMPLOYEE_ID)));
+
+    try {
+      officeAvailabilityIndex.rebuild();
+      assertThat(
+              officeAvailabilityIndex.getAvailableEmployees(
+                  OFFICE_LOCATION_ID, day, ShiftType.MORNING_SHIFT))
+          .containsExactly(FREE_EMPLOYEE_ID);
+
+      officeAvailabilityIndex.refreshEmployee(PENDING_SHIFT_EMPLOYEE_ID);
+      officeAvailabilityIndex.refreshEmployee(PENDING_VACATION_EMPLOYEE_ID);
+      assertThat(
+              officeAvailabilityIndex.getAvailableEmployees(
+                  OFFICE_LOCATION_ID, day, ShiftType.MORNING_SHIFT))
+          .containsExactly(FREE_EMPLOYEE_ID);
+    } finally {
+      scheduleOutboxRepository.deleteAll(outboxEntries);
+      scheduleRepository.delete(schedule);
+      vacationRequestRepository.delete(vacationRequest);
+      shiftRequestRepository.deleteAll(shiftRequests);
+    }
+  }
+
+  private static Schedule schedule(ShiftRequest scheduledShiftRequest) {
+    LocalDateTime weekStart = scheduledShiftRequest.getShiftDate().toLocalDate().atStartOfDay();
+    List<ShiftEntry> shifts = new ArrayList<>();
+    shifts.add(ShiftEntry.fromApprovedShiftEntry(scheduledShiftRequest));
+    return Schedule.builder()
+        .employeeId(SCHEDULED_EMPLOYEE_ID)
+        .startDate(weekStart)
+        .endDate(weekStart.plusDays(6))
+        .totalWorkingHours(scheduledShiftRequest.getShiftLengthInHours())
+        .shifts(shifts)
+        .vacations(new ArrayList<>())
+        .build();
+  }
+
+  private static ScheduleOutboxEntry outboxEntry(
+      ScheduleOutboxRequestType requestType, Long requestId, Long employeeId) {
+    return ScheduleOutboxEntry.builder()
+        .requestType(requestType)
+        .requestId(requestId)
+        .employeeId(employeeId)
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  private static ShiftRequest shiftRequest(
+      Long employeeId, LocalDateTime shiftDate, ShiftRequestStatus status) {
+    ShiftRequest shiftRequest = new ShiftRequest();
+    shiftRequest.setEmployeeId(employeeId);
+    shiftRequest.setOfficeLocationId(OFFICE_LOCATION_ID);
+    shiftRequest.setShiftDate(shiftDate);
+    shiftRequest.setShiftType(ShiftType.MORNING_SHIFT);
+    shiftRequest.setShiftLengthInHours(8L);
+    shiftRequest.setStatus(status);
+    return shiftRequest;
+  }
+
+  private static VacationRequest approvedVacationRequest(LocalDate day) {
+    VacationRequest vacationRequest = new VacationRequest();
+    vacationRequest.setEmployeeId(PENDING_VACATION_EMPLOYEE_ID);
+    vacationRequest.setOfficeLocationId(OFFICE_LOCATION_ID);
+    vacationRequest.setStartDate(day.atStartOfDay());
+    vacationRequest.setEndDate(day.plusDays(1).atStartOfDay());
+    vacationRequest.setStatus(VacationRequestStatus.APPROVED);
+    return vacationRequest;
+  }
+}
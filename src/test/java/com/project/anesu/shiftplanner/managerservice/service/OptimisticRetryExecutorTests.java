@@ -0,0 +1,126 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.Schedule;
+import com.project.anesu.shiftplanner.managerservice.model.dto.OptimisticRetryStatistics;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleRepository;
+import com.project.anesu.shiftplanner.managerservice.service.util.OptimisticRetryExecutor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Updates a {@link Schedule} from a second transaction while an attempt of the {@link
+ * OptimisticRetryExecutor} holds an older version of it, and checks that the conflict is retried
+ * and counted, and that an operation conflicting on every attempt gives up.
+ */
+@SpringBootTest
+class OptimisticRetryExecutorTests {
+
+  private static final long EMPLOYEE_ID = 9_950;
+  private static final int MAX_ATTEMPTS = 5;
+
+  @Autowired private OptimisticRetryExecutor optimisticRetryExecutor;
+  @Autowired private ScheduleRepository scheduleRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private Long scheduleId;
+
+  @BeforeEach
+  void createSchedule() {
+    LocalDateTime monday = LocalDateTime.of(2037, 1, 5, 0, 0);
+    scheduleId =
+        scheduleRepository
+            .save(
+                Schedule.builder()
+                    .employeeId(EMPLOYEE_ID)
+                    .startDate(monday)
+                    .endDate(monday.plusDays(6))
+                    .totalWorkingHours(0L)
+                    .shifts(new ArrayList<>())
+                    .vacations(new ArrayList<>())
+                    .build())
+            .getId();
+  }
+
+  @AfterEach
+  void deleteSchedule() {
+    scheduleRepository.deleteById(scheduleId);
+  }
+
+  @Test
+  void conflictingAttemptIsRetriedAndTheNextOneCommits() {
+    OptimisticRetryStatistics before = optimisticRetryExecutor.getStatistics();
+    AtomicInteger attempts = new AtomicInteger();
+
+    Schedule updatedSchedule =
+        optimisticRetryExecutor.execute(
+            () -> updateSchedule(attempts.incrementAndGet() == 1 ? "Updated concurrently" : null));
+
+    assertThat(attempts).hasValue(2);
+    assertThat(updatedSchedule.getTotalWorkingHours()).isEqualTo(8);
+    assertThat(scheduleRepository.findById(scheduleId).orElseThrow())
+        .satisfies(
+            schedule -> {
+              assertThat(schedule.getTotalWorkingHours()).isEqualTo(8);
+              assertThat(schedule.getRejectionReason()).isEqualTo("Updated concurrently");
+            });
+    assertThat(optimisticRetryExecutor.getStatistics())
+        .isEqualTo(
+            new OptimisticRetryStatistics(
+                before.conflicts() + 1, before.retries() + 1, before.exhausted()));
+  }
+
+  @Test
+  void operationConflictingOnEveryAttemptGivesUp() {
+    OptimisticRetryStatistics before = optimisticRetryExecutor.getStatistics();
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                optimisticRetryExecutor.execute(
+                    () -> updateSchedule("Updated concurrently " + attempts.incrementAndGet())))
+        .isInstanceOf(OptimisticLockingFailureException.class);
+
+    assertThat(attempts).hasValue(MAX_ATTEMPTS);
+    assertThat(scheduleRepository.findById(scheduleId).orElseThrow().getTotalWorkingHours())
+        .isZero();
+    assertThat(optimisticRetryExecutor.getStatistics())
+        .isEqualTo(
+            new OptimisticRetryStatistics(
+                before.conflicts() + MAX_ATTEMPTS,
+                before.retries() + MAX_ATTEMPTS - 1,
+                before.exhausted() + 1));
+  }
+
+  /**
+   * Reads the schedule, lets another transaction set its rejection reason unless that is {@code
+   * null}, then writes it back.
+   */
+  private Schedule updateSchedule(String concurrentRejectionReason) {
+    Schedule schedule = scheduleRepository.findById(scheduleId).orElseThrow();
+    if (concurrentRejectionReason != null) {
+      TransactionTemplate concurrentTransaction = new TransactionTemplate(transactionManager);
+      concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+      concurrentTransaction.executeWithoutResult(
+          status ->
+              scheduleRepository
+                  .findById(scheduleId)
+                  .orElseThrow()
+                  .setRejectionReason(concurrentRejectionReason));
+    }
+    schedule.setTotalWorkingHours(8L);
+    return scheduleRepository.saveAndFlush(schedule);
+  }
+}
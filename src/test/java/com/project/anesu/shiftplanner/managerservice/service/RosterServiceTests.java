@@ -0,0 +1,71 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDemand;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDraft;
+import com.project.anesu.shiftplanner.managerservice.service.exception.ShiftValidationException;
+import com.project.anesu.shiftplanner.managerservice.service.util.OfficeAvailabilityIndex;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Proposes rosters for an office whose employees are known to the availability index, and checks
+ * that employees on vacation are left out and that demands the office cannot staff are reported.
+ */
+@SpringBootTest
+class RosterServiceTests {
+
+  private static final long OFFICE_LOCATION_ID = 9_700;
+  private static final LocalDate MONDAY = LocalDate.of(2033, 2, 7);
+
+  @Autowired private RosterServiceImpl rosterService;
+  @Autowired private OfficeAvailabilityIndex officeAvailabilityIndex;
+
+  @Test
+  void employeesOnVacationAreLeftOutAndShortDemandsAreReported() {
+    officeAvailabilityIndex.recordOfficeMembership(OFFICE_LOCATION_ID, 9_701L);
+    officeAvailabilityIndex.recordOfficeMembership(OFFICE_LOCATION_ID, 9_702L);
+    VacationRequest vacationRequest = new VacationRequest();
+    vacationRequest.setEmployeeId(9_701L);
+    vacationRequest.setOfficeLocationId(OFFICE_LOCATION_ID);
+    vacationRequest.setStartDate(MONDAY.atStartOfDay());
+    vacationRequest.setEndDate(MONDAY.atTime(23, 59));
+    officeAvailabilityIndex.recordApprovedVacationRequests(List.of(vacationRequest));
+
+    RosterDemand mondayDemand =
+        new RosterDemand(MONDAY.atTime(8, 0), ShiftType.MORNING_SHIFT, 2, 8);
+    RosterDemand tuesdayDemand =
+        new RosterDemand(MONDAY.plusDays(1).atTime(8, 0), ShiftType.MORNING_SHIFT, 2, 8);
+
+    RosterDraft rosterDraft =
+        rosterService.proposeRoster(
+            OFFICE_LOCATION_ID, MONDAY, List.of(mondayDemand, tuesdayDemand));
+
+    assertThat(rosterDraft.weekStart()).isEqualTo(MONDAY);
+    assertThat(rosterDraft.shiftRequests())
+        .extracting(ShiftRequest::getShiftDate, ShiftRequest::getEmployeeId)
+        .containsExactly(
+            tuple(mondayDemand.shiftDate(), 9_702L),
+            tuple(tuesdayDemand.shiftDate(), 9_701L),
+            tuple(tuesdayDemand.shiftDate(), 9_702L));
+    assertThat(rosterDraft.unfilledDemands()).containsExactly(mondayDemand.withHeadcount(1));
+  }
+
+  @Test
+  void demandsLongerThanAShiftMayBeAreRejected() {
+    RosterDemand demand = new RosterDemand(MONDAY.atTime(8, 0), ShiftType.NIGHT_SHIFT, 1, 9);
+
+    assertThatThrownBy(
+            () -> rosterService.proposeRoster(OFFICE_LOCATION_ID, MONDAY, List.of(demand)))
+        .isInstanceOf(ShiftValidationException.class);
+  }
+}
@@ -0,0 +1,102 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleImportError;
+import com.project.anesu.shiftplanner.managerservice.model.dto.ScheduleImportResult;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Imports files that mix valid schedules with lines that cannot be read or fail validation, and
+ * checks that the valid schedules are created and every other schedule is reported on its line.
+ */
+@SpringBootTest
+class ScheduleImportTests {
+
+  @Autowired private ScheduleImportServiceImpl scheduleImportService;
+
+  @Test
+  void csvImportReportsEveryInvalidScheduleOnItsLine() throws Exception {
+    String csv =
+        """
+        employeeId,startDate,endDate,shiftDate,shiftType,workingHours
+        9501,2031-03-03T00:00,2031-03-09T23:59,2031-03-03T08:00,MORNING_SHIFT,8
+        9501,2031-03-03T00:00,2031-03-09T23:59,2031-03-04T08:00,MORNING_SHIFT,8
+        9502,2031-03-03T00:00,2031-03-09T23:59,2031-03-03T08:00,EARLY_SHIFT,8
+        9503,2031-03-03T00:00,2031-03-09T23:59,2031-03-03T08:00
+
+        9504,2031-03-03T00:00,2031-03-09T23:59,2031-03-03T08:00,NIGHT_SHIFT,99999999999
+        9505,2031-03-03T00:00,2031-03-09T23:59,2031-03-03T08:00,NIGHT_SHIFT,8
+        9506,2031-03-03T00:00,2031-03-09T23:59,2031-03-03T08:00,AFTERNOON_SHIFT,8
+        9506,2031-03-03T00:00,2031-03-09T23:59,2031-03-04T08:00,AFTERNOON_SHIFT,8
+        9506,2031-03-03T00:00,2031-03-09T23:59,2031-03-05T08:00,AFTERNOON_SHIFT,8
+        9506,2031-03-03T00:00,2031-03-09T23:59,2031-03-06T08:00,AFTERNOON_SHIFT,8
+        9506,2031-03-03T00:00,2031-03-09T23:59,2031-03-07T08:00,AFTERNOON_SHIFT,8
+        9506,2031-03-03T00:00,2031-03-08T23:59,2031-03-08T08:00,AFTERNOON_SHIFT,8
+        """;
+
+    ScheduleImportResult result = scheduleImportService.importCsv(streamOf(csv));
+
+    assertThat(result.importedSchedules()).isEqualTo(3);
+    assertThat(result.importedShifts()).isEqualTo(8);
+    assertThat(result.errors())
+        .extracting(ScheduleImportError::line)
+        .containsExactly(4L, 5L, 7L, 14L);
+    assertThat(result.errors())
+        .extracting(ScheduleImportError::message)
+        .containsExactly(
+            "Invalid shift: No enum constant "
+                + "com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType.EARLY_SHIFT",
+            "Expected 6 columns.",
+            "Shift working hours are missing or out of range.",
+            "Weekly working hours exceed maximum limit.");
+  }
+
+  @Test
+  void ndjsonImportReportsEveryInvalidScheduleOnItsLine() throws Exception {
+    String ndjson =
+        """
+        {"employeeId":9511,"startDate":"2031-03-03T00:00","endDate":"2031-03-09T23:59",\
+        "shifts":[{"shiftDate":"2031-03-03T08:00","shiftType":"MORNING_SHIFT","workingHours":8}]}
+        {"employeeId":9512,"startDate":
+        {"employeeId":9513,"startDate":"2031-03-03T00:00","endDate":"2031-03-09T23:59",\
+        "shifts":[{"shiftDate":"2031-03-03T08:00","shiftType":"MORNING_SHIFT"}]}
+        {"employeeId":9514,"startDate":"2031-03-03T00:00","endDate":"2031-03-09T23:59",\
+        "shifts":[{"shiftDate":"2031-03-03T08:00","workingHours":8}]}
+
+        null
+        {"startDate":"2031-03-03T00:00","endDate":"2031-03-09T23:59","shifts":[]}
+        {"employeeId":9518,"startDate":"2031-03-09T00:00","endDate":"2031-03-03T23:59",\
+        "shifts":[{"shiftDate":"2031-03-03T08:00","shiftType":"NIGHT_SHIFT","workingHours":8}]}
+        {"employeeId":9519,"startDate":"2031-03-03T00:00","endDate":"2031-03-09T23:59",\
+        "shifts":[{"shiftDate":"2031-03-03T08:00","shiftType":"NIGHT_SHIFT","workingHours":6},\
+        {"shiftDate":"2031-03-04T08:00","shiftType":"NIGHT_SHIFT","workingHours":6}]}
+        """;
+
+    ScheduleImportResult result = scheduleImportService.importNdjson(streamOf(ndjson));
+
+    assertThat(result.importedSchedules()).isEqualTo(2);
+    assertThat(result.importedShifts()).isEqualTo(3);
+    assertThat(result.errors())
+        .extracting(ScheduleImportError::line)
+        .containsExactly(2L, 3L, 4L, 6L, 7L, 8L);
+    assertThat(result.errors().get(0).message()).startsWith("Invalid JSON: ");
+    assertThat(result.errors().subList(1, result.errors().size()))
+        .extracting(ScheduleImportError::message)
+        .containsExactly(
+            "Shift working hours are missing or out of range.",
+            "Shift type is missing.",
+            "Expected a schedule object.",
+            "Employee ID is missing.",
+            "Start date cannot be after end date");
+  }
+
+  private static InputStream streamOf(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
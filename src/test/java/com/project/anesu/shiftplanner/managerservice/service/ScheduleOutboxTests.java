@@ -0,0 +1,100 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.ScheduleOutboxEntry;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ScheduleOutboxRepository;
+import com.project.anesu.shiftplanner.managerservice.model.repository.ShiftRequestRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Queues an outbox entry that cannot be applied next to one that can, and checks that the good
+ * entry is applied while the bad one is retried later and finally left for an operator.
+ */
+@SpringBootTest
+class ScheduleOutboxTests {
+
+  private static final long POISON_EMPLOYEE_ID = 9_601;
+  private static final long EMPLOYEE_ID = 9_602;
+  private static final int MAX_ATTEMPTS = 5;
+
+  @Autowired private ScheduleOutboxServiceImpl scheduleOutboxService;
+  @Autowired private ScheduleOutboxRepository scheduleOutboxRepository;
+  @Autowired private ShiftRequestRepository shiftRequestRepository;
+
+  @Test
+  void failingEntryDoesNotBlockTheOthersAndIsGivenUpAfterItsAttempts() {
+    ShiftRequest poisonShiftRequest =
+        shiftRequestRepository.save(approvedShiftRequest(POISON_EMPLOYEE_ID, null));
+    ShiftRequest shiftRequest =
+        shiftRequestRepository.save(
+            approvedShiftRequest(EMPLOYEE_ID, LocalDateTime.of(2032, 5, 3, 8, 0)));
+
+    try {
+      scheduleOutboxService.recordApprovedShiftRequests(List.of(poisonShiftRequest, shiftRequest));
+      scheduleOutboxService.applyPendingEntries();
+
+      assertThat(scheduleOutboxService.getSyncStatus(EMPLOYEE_ID).caughtUp()).isTrue();
+      ScheduleOutboxEntry poisonEntry = poisonEntry();
+      assertThat(poisonEntry.getAttempts()).isEqualTo(1);
+      assertThat(poisonEntry.getNextAttemptAt()).isAfter(LocalDateTime.now());
+      assertThat(poisonEntry.getLastError()).contains("NullPointerException");
+      assertThat(scheduleOutboxService.getSyncStatus(POISON_EMPLOYEE_ID).failedEntries()).isZero();
+
+      // Not due yet, so another run leaves it alone.
+      scheduleOutboxService.applyPendingEntries();
+      assertThat(poisonEntry().getAttempts()).isEqualTo(1);
+
+      poisonEntry.setAttempts(MAX_ATTEMPTS - 1);
+      poisonEntry.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+      scheduleOutboxRepository.save(poisonEntry);
+      scheduleOutboxService.applyPendingEntries();
+
+      assertThat(poisonEntry().getAttempts()).isEqualTo(MAX_ATTEMPTS);
+      assertThat(scheduleOutboxService.getSyncStatus(POISON_EMPLOYEE_ID))
+          .satisfies(
+              syncStatus -> {
+                assertThat(syncStatus.caughtUp()).isFalse();
+                assertThat(syncStatus.pendingEntries()).isEqualTo(1);
+                assertThat(syncStatus.failedEntries()).isEqualTo(1);
+              });
+
+      // Out of attempts, so even a due entry is not tried again.
+      ScheduleOutboxEntry failedEntry = poisonEntry();
+      failedEntry.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+      scheduleOutboxRepository.save(failedEntry);
+      scheduleOutboxService.applyPendingEntries();
+      assertThat(poisonEntry().getAttempts()).isEqualTo(MAX_ATTEMPTS);
+    } finally {
+      scheduleOutboxRepository.deleteAll(
+          scheduleOutboxRepository.findAll().stream()
+              .filter(outboxEntry -> outboxEntry.getEmployeeId() == POISON_EMPLOYEE_ID)
+              .toList());
+      shiftRequestRepository.delete(poisonShiftRequest);
+    }
+  }
+
+  private ScheduleOutboxEntry poisonEntry() {
+    return scheduleOutboxRepository
+        .findFirstByEmployeeIdOrderByIdAsc(POISON_EMPLOYEE_ID)
+        .orElseThrow();
+  }
+
+  private static ShiftRequest approvedShiftRequest(Long employeeId, LocalDateTime shiftDate) {
+    ShiftRequest shiftRequest = new ShiftRequest();
+    shiftRequest.setEmployeeId(employeeId);
+    shiftRequest.setOfficeLocationId(1L);
+    shiftRequest.setShiftDate(shiftDate);
+    shiftRequest.setShiftType(ShiftType.MORNING_SHIFT);
+    shiftRequest.setShiftLengthInHours(8L);
+    shiftRequest.setStatus(ShiftRequestStatus.APPROVED);
+    return shiftRequest;
+  }
+}
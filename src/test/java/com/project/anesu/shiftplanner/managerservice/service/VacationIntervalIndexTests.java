@@ -0,0 +1,61 @@
+package com.project.anesu.shiftplanner.managerservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequest;
+import com.project.anesu.shiftplanner.managerservice.entity.vacation.VacationRequestStatus;
+import com.project.anesu.shiftplanner.managerservice.model.repository.VacationRequestRepository;
+import com.project.anesu.shiftplanner.managerservice.service.util.VacationIntervalIndex;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Creates pending vacation requests behind the back of an already loaded {@link
+ * VacationIntervalIndex}, as the employee service does, and checks that an overlap check for one of
+ * them still sees the other.
+ */
+@SpringBootTest
+class VacationIntervalIndexTests {
+
+  private static final long EMPLOYEE_ID = 9_900;
+  private static final LocalDateTime MARCH_FIRST = LocalDateTime.of(2036, 3, 1, 0, 0);
+
+  @Autowired private VacationIntervalIndex vacationIntervalIndex;
+  @Autowired private VacationRequestRepository vacationRequestRepository;
+
+  @Test
+  void requestCreatedAfterTheRangesWereLoadedIsCheckedAgainstTheOthersCreatedSince() {
+    assertThat(
+            vacationIntervalIndex.hasOverlappingRequest(
+                pendingVacationRequest(MARCH_FIRST.minusMonths(1), MARCH_FIRST.minusMonths(1))))
+        .isFalse();
+
+    VacationRequest firstVacationRequest =
+        vacationRequestRepository.save(
+            pendingVacationRequest(MARCH_FIRST, MARCH_FIRST.plusDays(4)));
+    VacationRequest overlappingVacationRequest =
+        vacationRequestRepository.save(
+            pendingVacationRequest(MARCH_FIRST.plusDays(2), MARCH_FIRST.plusDays(3)));
+
+    try {
+      assertThat(vacationIntervalIndex.hasOverlappingRequest(overlappingVacationRequest)).isTrue();
+    } finally {
+      vacationRequestRepository.deleteAll(
+          List.of(firstVacationRequest, overlappingVacationRequest));
+      vacationIntervalIndex.invalidate(EMPLOYEE_ID);
+    }
+  }
+
+  private static VacationRequest pendingVacationRequest(
+      LocalDateTime startDate, LocalDateTime endDate) {
+    VacationRequest vacationRequest = new VacationRequest();
+    vacationRequest.setEmployeeId(EMPLOYEE_ID);
+    vacationRequest.setStartDate(startDate);
+    vacationRequest.setEndDate(endDate);
+    vacationRequest.setStatus(VacationRequestStatus.PENDING);
+    return vacationRequest;
+  }
+}
@@ -0,0 +1,163 @@
+package com.project.anesu.shiftplanner.managerservice.service.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursPeriod;
+import com.project.anesu.shiftplanner.managerservice.entity.schedule.WorkingHoursRollup;
+import com.project.anesu.shiftplanner.managerservice.entity.shift.ShiftType;
+import com.project.anesu.shiftplanner.managerservice.model.dto.RosterDemand;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the rosters of {@link RosterSolver} stay within the working hour limits, never give
+ * an employee the same shift type twice on a day, and report what they could not staff.
+ */
+class RosterSolverTests {
+
+  private static final LocalDate MONDAY = LocalDate.of(2033, 1, 3);
+  private static final long EMPLOYEE_ID = 1;
+
+  private final RosterSolver rosterSolver = new RosterSolver(Duration.ofSeconds(2), 16, 2);
+
+  @AfterEach
+  void shutDown() {
+    rosterSolver.shutDown();
+  }
+
+  @Test
+  void employeeIsNotRosteredBeyondTheWeeklyWorkingHours() {
+    List<RosterDemand> demands =
+        IntStream.range(0, 6).mapToObj(day -> demand(day, ShiftType.MORNING_SHIFT, 1, 8)).toList();
+
+    List<List<Long>> assigned = rosterSolver.solve(demands, everyDemand(demands, 1), List.of());
+
+    assertThat(totalShifts(assigned)).isEqualTo(5);
+  }
+
+  @Test
+  void bookedWeeklyHoursCountTowardsTheLimit() {
+    List<RosterDemand> demands =
+        IntStream.range(0, 3).mapToObj(day -> demand(day, ShiftType.MORNING_SHIFT, 1, 8)).toList();
+    List<WorkingHoursRollup> rollups = List.of(rollup(WorkingHoursPeriod.WEEK, MONDAY, 32));
+
+    List<List<Long>> assigned = rosterSolver.solve(demands, everyDemand(demands, 1), rollups);
+
+    assertThat(totalShifts(assigned)).isEqualTo(1);
+  }
+
+  @Test
+  void employeeIsNotRosteredBeyondTheDailyWorkingHours() {
+    List<RosterDemand> demands =
+        List.of(
+            demand(0, ShiftType.MORNING_SHIFT, 1, 6), demand(0, ShiftType.AFTERNOON_SHIFT, 1, 4));
+
+    List<List<Long>> assigned = rosterSolver.solve(demands, everyDemand(demands, 1), List.of());
+
+    assertThat(totalShifts(assigned)).isEqualTo(1);
+  }
+
+  @Test
+  void shortShiftsOfDifferentTypesShareADay() {
+    List<RosterDemand> demands =
+        List.of(
+            demand(0, ShiftType.MORNING_SHIFT, 1, 4), demand(0, ShiftType.AFTERNOON_SHIFT, 1, 5));
+
+    List<List<Long>> assigned = rosterSolver.solve(demands, everyDemand(demands, 1), List.of());
+
+    assertThat(assigned).containsExactly(List.of(EMPLOYEE_ID), List.of(EMPLOYEE_ID));
+  }
+
+  @Test
+  void employeeGetsEachShiftTypeOnlyOncePerDay() {
+    List<RosterDemand> demands =
+        List.of(demand(0, ShiftType.NIGHT_SHIFT, 1, 2), demand(0, ShiftType.NIGHT_SHIFT, 1, 2));
+
+    List<List<Long>> assigned = rosterSolver.solve(demands, everyDemand(demands, 1), List.of());
+
+    assertThat(totalShifts(assigned)).isEqualTo(1);
+  }
+
+  @Test
+  void demandsBeyondTheCandidatesAreLeftShort() {
+    List<RosterDemand> demands = List.of(demand(0, ShiftType.MORNING_SHIFT, 3, 8));
+
+    List<List<Long>> assigned = rosterSolver.solve(demands, everyDemand(demands, 2), List.of());
+
+    assertThat(assigned).containsExactly(List.of(1L, 2L));
+  }
+
+  @Test
+  void onlyAvailableEmployeesAreRostered() {
+    List<RosterDemand> demands =
+        List.of(demand(0, ShiftType.MORNING_SHIFT, 2, 8), demand(1, ShiftType.MORNING_SHIFT, 2, 8));
+
+    List<List<Long>> assigned =
+        rosterSolver.solve(demands, List.of(List.of(1L, 3L), List.of(2L, 3L)), List.of());
+
+    assertThat(assigned).containsExactly(List.of(1L, 3L), List.of(2L, 3L));
+  }
+
+  @Test
+  void exhaustedTimeBudgetStillReturnsAValidRoster() {
+    RosterSolver hurriedRosterSolver = new RosterSolver(Duration.ZERO, 64, 2);
+    try {
+      List<RosterDemand> demands = new ArrayList<>();
+      for (int day = 0; day < 7; day++) {
+        for (ShiftType shiftType : ShiftType.values()) {
+          demands.add(demand(day, shiftType, 3, 8));
+        }
+      }
+
+      List<List<Long>> assigned =
+          hurriedRosterSolver.solve(demands, everyDemand(demands, 10), List.of());
+
+      assertThat(assigned).hasSameSizeAs(demands);
+      assertThat(totalShifts(assigned)).isPositive();
+      for (long employeeId = 1; employeeId <= 10; employeeId++) {
+        Long employee = employeeId;
+        List<LocalDate> shiftDays =
+            IntStream.range(0, demands.size())
+                .filter(demand -> assigned.get(demand).contains(employee))
+                .mapToObj(demand -> demands.get(demand).shiftDate().toLocalDate())
+                .toList();
+        // Two 8 hour shifts exceed the daily limit, and five exhaust the weekly one.
+        assertThat(shiftDays).doesNotHaveDuplicates().hasSizeLessThanOrEqualTo(5);
+      }
+    } finally {
+      hurriedRosterSolver.shutDown();
+    }
+  }
+
+  private static RosterDemand demand(
+      int day, ShiftType shiftType, int headcount, long shiftLengthInHours) {
+    return new RosterDemand(
+        MONDAY.plusDays(day).atTime(8, 0), shiftType, headcount, shiftLengthInHours);
+  }
+
+  private static List<List<Long>> everyDemand(List<RosterDemand> demands, int employees) {
+    List<Long> employeeIds = LongStream.rangeClosed(1, employees).boxed().toList();
+    return Collections.nCopies(demands.size(), employeeIds);
+  }
+
+  private static WorkingHoursRollup rollup(
+      WorkingHoursPeriod period, LocalDate periodStart, long workingHours) {
+    return WorkingHoursRollup.builder()
+        .employeeId(EMPLOYEE_ID)
+        .period(period)
+        .periodStart(periodStart)
+        .workingHours(workingHours)
+        .build();
+  }
+
+  private static long totalShifts(List<List<Long>> assigned) {
+    return assigned.stream().mapToLong(List::size).sum();
+  }
+}